@@ -0,0 +1,147 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.benchmarks;
+
+import com.github.chhorz.openapi.benchmarks.SyntheticSourceTree.DtoGraph;
+import com.github.chhorz.openapi.benchmarks.SyntheticSourceTree.Framework;
+import com.github.chhorz.openapi.common.OpenAPIConstants;
+import com.sun.source.util.JavacTask;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.processing.Processor;
+import javax.tools.Diagnostic;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Base class for all processor benchmarks. Every invocation runs a new processor instance through an in-process
+ * compilation of a {@link SyntheticSourceTree} with {@code -proc:only}.
+ *
+ * @author chhorz
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public abstract class AbstractProcessorBenchmark {
+
+	@Param({ "100", "1000", "10000" })
+	public int endpoints;
+
+	@Param({ "DEEP", "WIDE", "GENERIC" })
+	public DtoGraph dtoGraph;
+
+	private JavaCompiler javaCompiler;
+	private StandardJavaFileManager fileManager;
+	private List<JavaFileObject> sources;
+	private List<String> options;
+	private Path outputDirectory;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		javaCompiler = ToolProvider.getSystemJavaCompiler();
+		fileManager = javaCompiler.getStandardFileManager(null, Locale.US, StandardCharsets.UTF_8);
+		sources = SyntheticSourceTree.generate(getFramework(), dtoGraph, endpoints).getSources();
+
+		outputDirectory = Files.createTempDirectory("oas-generator-benchmark");
+		Path propertiesFile = outputDirectory.resolve("oas-generator.yml");
+		Files.write(propertiesFile, Arrays.asList(
+			"parser:",
+			"  logLevel: ERROR",
+			"  outputDir: '" + outputDirectory.resolve("openapi") + "'",
+			"  schemaDir: '" + outputDirectory.resolve("openapi") + "'"), StandardCharsets.UTF_8);
+
+		options = new ArrayList<>();
+		options.add("-proc:only");
+		options.add("-classpath");
+		options.add(System.getProperty("java.class.path"));
+		options.add(String.format("-A%s=%s", OpenAPIConstants.OPTION_PROPERTIES_PATH, propertiesFile));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		fileManager.close();
+
+		try (Stream<Path> files = Files.walk(outputDirectory)) {
+			files.sorted(Comparator.reverseOrder())
+				.forEach(path -> path.toFile().delete());
+		}
+	}
+
+	/**
+	 * Returns the framework of the controllers in the generated source tree.
+	 *
+	 * @return the framework of the benchmarked processor
+	 */
+	protected abstract Framework getFramework();
+
+	/**
+	 * Runs the given processor for the generated source tree.
+	 *
+	 * @param processor a new processor instance
+	 * @param phaseTimings the secondary results of the benchmark
+	 * @return the result of the compilation
+	 */
+	protected boolean compile(final Processor processor, final PhaseTimings phaseTimings) {
+		List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+
+		JavacTask task = (JavacTask) javaCompiler.getTask(null, fileManager, diagnostic -> {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+				errors.add(diagnostic);
+			}
+		}, options, null, sources);
+		task.setProcessors(Collections.singletonList(processor));
+		task.addTaskListener(phaseTimings.createTaskListener());
+
+		boolean result = task.call();
+		phaseTimings.compilationFinished();
+
+		if (!result) {
+			throw new IllegalStateException(String.format("Compilation of the synthetic sources failed: %s",
+				errors.isEmpty() ? "unknown error" : errors.get(0).getMessage(Locale.US)));
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.benchmarks;
+
+import com.sun.source.util.TaskEvent;
+import com.sun.source.util.TaskListener;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Secondary benchmark results with the duration of the compiler phases. The counters are reported as the average
+ * duration in milliseconds per compilation of the measured iteration.
+ * <p>
+ * The annotation processing phase contains the work of the oas-generator processors including the writing of the
+ * output files.
+ *
+ * @author chhorz
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class PhaseTimings {
+
+	private final Map<TaskEvent.Kind, Long> started = new EnumMap<>(TaskEvent.Kind.class);
+	private final Map<TaskEvent.Kind, Long> durations = new EnumMap<>(TaskEvent.Kind.class);
+
+	private long compilations;
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		started.clear();
+		durations.clear();
+		compilations = 0;
+	}
+
+	// JMH reports all public methods of the state as counters, so the listener is not implemented by the state itself
+	TaskListener createTaskListener() {
+		return new TaskListener() {
+			@Override
+			public void started(final TaskEvent event) {
+				started.put(event.getKind(), System.nanoTime());
+			}
+
+			@Override
+			public void finished(final TaskEvent event) {
+				Long start = started.remove(event.getKind());
+				if (start != null) {
+					durations.merge(event.getKind(), System.nanoTime() - start, Long::sum);
+				}
+			}
+		};
+	}
+
+	void compilationFinished() {
+		compilations++;
+	}
+
+	public double parseMs() {
+		return average(TaskEvent.Kind.PARSE);
+	}
+
+	public double enterMs() {
+		return average(TaskEvent.Kind.ENTER);
+	}
+
+	public double processingMs() {
+		return average(TaskEvent.Kind.ANNOTATION_PROCESSING);
+	}
+
+	private double average(final TaskEvent.Kind kind) {
+		if (compilations == 0) {
+			return 0;
+		}
+		return (double) durations.getOrDefault(kind, 0L) / compilations / TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+}
@@ -0,0 +1,40 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.benchmarks;
+
+import com.github.chhorz.openapi.benchmarks.SyntheticSourceTree.Framework;
+import com.github.chhorz.openapi.schema.SchemaOpenApiProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmark of the {@link SchemaOpenApiProcessor} for synthetic types annotated with {@code @OpenAPISchema}.
+ *
+ * @author chhorz
+ */
+public class SchemaProcessorBenchmark extends AbstractProcessorBenchmark {
+
+	@Override
+	protected Framework getFramework() {
+		return Framework.SCHEMA;
+	}
+
+	@Benchmark
+	public boolean generate(final PhaseTimings phaseTimings) {
+		return compile(new SchemaOpenApiProcessor(), phaseTimings);
+	}
+
+}
@@ -0,0 +1,338 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.benchmarks;
+
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Generator for in-memory source trees that are compiled by the benchmarks. The tree consists of one controller per
+ * {@value #ENDPOINTS_PER_CONTROLLER} endpoints and one domain model per controller. The shape of the domain model is
+ * defined by the {@link DtoGraph}.
+ *
+ * @author chhorz
+ */
+public final class SyntheticSourceTree {
+
+	static final int ENDPOINTS_PER_CONTROLLER = 10;
+
+	private static final int DEEP_GRAPH_LEVELS = 10;
+	private static final int WIDE_GRAPH_FIELDS = 48;
+
+	private static final String API_PACKAGE = "benchmark.api";
+	private static final String MODEL_PACKAGE = "benchmark.model";
+
+	private static final String[] WIDE_FIELD_TYPES = {
+		"String", "Integer", "long", "boolean", "Double", "java.math.BigDecimal", "java.time.LocalDate",
+		"java.time.OffsetDateTime", "java.util.List<String>", "java.util.Map<String, Integer>", "Status",
+		"java.util.Set<Long>"
+	};
+
+	/**
+	 * The framework of the generated controllers.
+	 */
+	public enum Framework {
+		/** Spring Web controllers */
+		SPRING_WEB,
+		/** JaxRS resources */
+		JAX_RS,
+		/** no controllers, all models are annotated with {@code @OpenAPISchema} */
+		SCHEMA
+	}
+
+	/**
+	 * The shape of the domain model of every controller.
+	 */
+	public enum DtoGraph {
+		/** a chain of nested types */
+		DEEP,
+		/** a single type with many fields of different types */
+		WIDE,
+		/** a type hierarchy with generic super classes and generic containers */
+		GENERIC
+	}
+
+	private final List<JavaFileObject> sources;
+
+	private SyntheticSourceTree(final List<JavaFileObject> sources) {
+		this.sources = Collections.unmodifiableList(sources);
+	}
+
+	/**
+	 * Generates a new source tree.
+	 *
+	 * @param framework the framework of the controllers
+	 * @param dtoGraph the shape of the domain model
+	 * @param endpoints the total number of endpoints
+	 * @return the generated source tree
+	 */
+	public static SyntheticSourceTree generate(final Framework framework, final DtoGraph dtoGraph, final int endpoints) {
+		List<JavaFileObject> sources = new ArrayList<>();
+
+		sources.add(source(MODEL_PACKAGE, "Status", "public enum Status {\n\tACTIVE, INACTIVE, DELETED\n}\n"));
+		if (dtoGraph == DtoGraph.GENERIC) {
+			sources.add(source(MODEL_PACKAGE, "Entity", genericEntity()));
+			sources.add(source(MODEL_PACKAGE, "NamedEntity", genericNamedEntity()));
+			sources.add(source(MODEL_PACKAGE, "Page", genericPage()));
+		}
+
+		int controllers = Math.max(1, endpoints / ENDPOINTS_PER_CONTROLLER);
+		for (int controller = 0; controller < controllers; controller++) {
+			sources.addAll(model(framework, dtoGraph, controller));
+
+			int controllerEndpoints = Math.min(ENDPOINTS_PER_CONTROLLER, endpoints - controller * ENDPOINTS_PER_CONTROLLER);
+			if (framework == Framework.SPRING_WEB) {
+				sources.add(source(API_PACKAGE, "Resource" + controller + "Controller",
+					springWebController(dtoGraph, controller, controllerEndpoints)));
+			} else if (framework == Framework.JAX_RS) {
+				sources.add(source(API_PACKAGE, "Resource" + controller + "Endpoint",
+					jaxRsResource(dtoGraph, controller, controllerEndpoints)));
+			}
+		}
+
+		return new SyntheticSourceTree(sources);
+	}
+
+	/**
+	 * Returns all compilation units of the tree.
+	 *
+	 * @return the compilation units
+	 */
+	public List<JavaFileObject> getSources() {
+		return sources;
+	}
+
+	private static List<JavaFileObject> model(final Framework framework, final DtoGraph dtoGraph, final int controller) {
+		String annotation = framework == Framework.SCHEMA ? "@com.github.chhorz.openapi.common.annotation.OpenAPISchema\n" : "";
+		String resource = "Resource" + controller;
+
+		List<JavaFileObject> model = new ArrayList<>();
+		switch (dtoGraph) {
+			case DEEP:
+				model.add(source(MODEL_PACKAGE, resource, annotation + deepType(resource, resource + "Level1")));
+				for (int level = 1; level < DEEP_GRAPH_LEVELS; level++) {
+					String next = level + 1 < DEEP_GRAPH_LEVELS ? resource + "Level" + (level + 1) : null;
+					model.add(source(MODEL_PACKAGE, resource + "Level" + level, deepType(resource + "Level" + level, next)));
+				}
+				break;
+			case WIDE:
+				model.add(source(MODEL_PACKAGE, resource, annotation + wideType(resource)));
+				break;
+			case GENERIC:
+				model.add(source(MODEL_PACKAGE, resource, annotation + genericType(resource, resource + "Item")));
+				model.add(source(MODEL_PACKAGE, resource + "Item", genericItemType(resource + "Item")));
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown dto graph: " + dtoGraph);
+		}
+		return model;
+	}
+
+	private static String deepType(final String name, final String next) {
+		StringBuilder type = new StringBuilder();
+		type.append("public class ").append(name).append(" {\n");
+		appendField(type, "Long", "id");
+		appendField(type, "String", "name");
+		appendField(type, "Status", "status");
+		if (next != null) {
+			appendField(type, next, "child");
+			appendField(type, "java.util.List<" + next + ">", "children");
+		}
+		return type.append("}\n").toString();
+	}
+
+	private static String wideType(final String name) {
+		StringBuilder type = new StringBuilder();
+		type.append("public class ").append(name).append(" {\n");
+		for (int field = 0; field < WIDE_GRAPH_FIELDS; field++) {
+			appendField(type, WIDE_FIELD_TYPES[field % WIDE_FIELD_TYPES.length], "field" + field);
+		}
+		return type.append("}\n").toString();
+	}
+
+	private static String genericEntity() {
+		StringBuilder type = new StringBuilder();
+		type.append("public abstract class Entity<ID> {\n");
+		appendField(type, "ID", "id");
+		appendField(type, "java.time.Instant", "created");
+		appendField(type, "java.time.Instant", "modified");
+		return type.append("}\n").toString();
+	}
+
+	private static String genericNamedEntity() {
+		StringBuilder type = new StringBuilder();
+		type.append("public abstract class NamedEntity<ID> extends Entity<ID> {\n");
+		appendField(type, "String", "name");
+		appendField(type, "Status", "status");
+		return type.append("}\n").toString();
+	}
+
+	private static String genericPage() {
+		StringBuilder type = new StringBuilder();
+		type.append("public class Page<T> {\n");
+		appendField(type, "java.util.List<T>", "content");
+		appendField(type, "long", "totalElements");
+		appendField(type, "int", "number");
+		return type.append("}\n").toString();
+	}
+
+	private static String genericType(final String name, final String item) {
+		StringBuilder type = new StringBuilder();
+		type.append("public class ").append(name).append(" extends NamedEntity<Long> {\n");
+		appendField(type, item, "item");
+		appendField(type, "java.util.List<" + item + ">", "items");
+		appendField(type, "java.util.Map<String, " + item + ">", "itemsByName");
+		return type.append("}\n").toString();
+	}
+
+	private static String genericItemType(final String name) {
+		StringBuilder type = new StringBuilder();
+		type.append("public class ").append(name).append(" extends Entity<String> {\n");
+		appendField(type, "java.math.BigDecimal", "price");
+		appendField(type, "java.util.Optional<String>", "description");
+		return type.append("}\n").toString();
+	}
+
+	private static void appendField(final StringBuilder type, final String fieldType, final String fieldName) {
+		type.append("\t/** The ").append(fieldName).append(" of the type. */\n")
+			.append("\tprivate ").append(fieldType).append(' ').append(fieldName).append(";\n");
+	}
+
+	private static String springWebController(final DtoGraph dtoGraph, final int controller, final int endpoints) {
+		String resource = "Resource" + controller;
+		String list = dtoGraph == DtoGraph.GENERIC ? "Page<" + resource + ">" : "java.util.List<" + resource + ">";
+
+		StringBuilder type = new StringBuilder();
+		type.append("import ").append(MODEL_PACKAGE).append(".*;\n")
+			.append("import org.springframework.web.bind.annotation.*;\n\n")
+			.append("/**\n * Controller for the ").append(resource).append(".\n */\n")
+			.append("@RestController\n")
+			.append("@RequestMapping(\"/resource").append(controller).append("\")\n")
+			.append("public class ").append(resource).append("Controller {\n");
+
+		for (int endpoint = 0; endpoint < endpoints; endpoint++) {
+			appendJavaDoc(type, resource, endpoint);
+			switch (endpoint % 5) {
+				case 0:
+					type.append("\t@GetMapping(\"/{id}/operation").append(endpoint).append("\")\n")
+						.append("\tpublic ").append(resource).append(" operation").append(endpoint)
+						.append("(@PathVariable(\"id\") Long id) {\n\t\treturn null;\n\t}\n\n");
+					break;
+				case 1:
+					type.append("\t@GetMapping(\"/operation").append(endpoint).append("\")\n")
+						.append("\tpublic ").append(list).append(" operation").append(endpoint)
+						.append("(@RequestParam(name = \"page\", required = false) Integer page, @RequestParam(\"status\") Status status) {\n\t\treturn null;\n\t}\n\n");
+					break;
+				case 2:
+					type.append("\t@PostMapping(path = \"/operation").append(endpoint).append("\", consumes = \"application/json\")\n")
+						.append("\tpublic ").append(resource).append(" operation").append(endpoint)
+						.append("(@RequestBody ").append(resource).append(" body) {\n\t\treturn null;\n\t}\n\n");
+					break;
+				case 3:
+					type.append("\t@PutMapping(\"/{id}/operation").append(endpoint).append("\")\n")
+						.append("\tpublic ").append(resource).append(" operation").append(endpoint)
+						.append("(@PathVariable(\"id\") Long id, @RequestHeader(\"X-Version\") String version, @RequestBody ")
+						.append(resource).append(" body) {\n\t\treturn null;\n\t}\n\n");
+					break;
+				default:
+					type.append("\t@DeleteMapping(\"/{id}/operation").append(endpoint).append("\")\n")
+						.append("\tpublic void operation").append(endpoint)
+						.append("(@PathVariable(\"id\") Long id) {\n\t}\n\n");
+					break;
+			}
+		}
+
+		return type.append("}\n").toString();
+	}
+
+	private static String jaxRsResource(final DtoGraph dtoGraph, final int controller, final int endpoints) {
+		String resource = "Resource" + controller;
+		String list = dtoGraph == DtoGraph.GENERIC ? "Page<" + resource + ">" : "java.util.List<" + resource + ">";
+
+		StringBuilder type = new StringBuilder();
+		type.append("import ").append(MODEL_PACKAGE).append(".*;\n")
+			.append("import javax.ws.rs.*;\n\n")
+			.append("/**\n * Endpoint for the ").append(resource).append(".\n */\n")
+			.append("@Path(\"/resource").append(controller).append("\")\n")
+			.append("@Produces(\"application/json\")\n")
+			.append("public class ").append(resource).append("Endpoint {\n");
+
+		for (int endpoint = 0; endpoint < endpoints; endpoint++) {
+			appendJavaDoc(type, resource, endpoint);
+			switch (endpoint % 5) {
+				case 0:
+					type.append("\t@GET\n\t@Path(\"/{id}/operation").append(endpoint).append("\")\n")
+						.append("\tpublic ").append(resource).append(" operation").append(endpoint)
+						.append("(@PathParam(\"id\") Long id) {\n\t\treturn null;\n\t}\n\n");
+					break;
+				case 1:
+					type.append("\t@GET\n\t@Path(\"/operation").append(endpoint).append("\")\n")
+						.append("\tpublic ").append(list).append(" operation").append(endpoint)
+						.append("(@QueryParam(\"page\") Integer page, @QueryParam(\"status\") Status status) {\n\t\treturn null;\n\t}\n\n");
+					break;
+				case 2:
+					type.append("\t@POST\n\t@Path(\"/operation").append(endpoint).append("\")\n")
+						.append("\t@Consumes(\"application/json\")\n")
+						.append("\tpublic ").append(resource).append(" operation").append(endpoint)
+						.append("(").append(resource).append(" body) {\n\t\treturn null;\n\t}\n\n");
+					break;
+				case 3:
+					type.append("\t@PUT\n\t@Path(\"/{id}/operation").append(endpoint).append("\")\n")
+						.append("\t@Consumes(\"application/json\")\n")
+						.append("\tpublic ").append(resource).append(" operation").append(endpoint)
+						.append("(@PathParam(\"id\") Long id, @HeaderParam(\"X-Version\") String version, ")
+						.append(resource).append(" body) {\n\t\treturn null;\n\t}\n\n");
+					break;
+				default:
+					type.append("\t@DELETE\n\t@Path(\"/{id}/operation").append(endpoint).append("\")\n")
+						.append("\tpublic void operation").append(endpoint)
+						.append("(@PathParam(\"id\") Long id) {\n\t}\n\n");
+					break;
+			}
+		}
+
+		return type.append("}\n").toString();
+	}
+
+	private static void appendJavaDoc(final StringBuilder type, final String resource, final int endpoint) {
+		type.append("\t/**\n")
+			.append("\t * Operation ").append(endpoint).append(" of the ").append(resource).append(".\n")
+			.append("\t *\n")
+			.append("\t * @param id the id of the resource\n")
+			.append("\t * @param body the resource\n")
+			.append("\t * @return the resource\n")
+			.append("\t * @tag ").append(resource).append('\n')
+			.append("\t */\n");
+	}
+
+	private static JavaFileObject source(final String packageName, final String typeName, final String body) {
+		String content = "package " + packageName + ";\n\n" + body;
+		String path = packageName.replace('.', '/') + '/' + typeName + JavaFileObject.Kind.SOURCE.extension;
+
+		return new SimpleJavaFileObject(URI.create("string:///" + path), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+				return content;
+			}
+		};
+	}
+
+}
@@ -17,20 +17,19 @@ package com.github.chhorz.openapi.common;
 
 import com.github.chhorz.javadoc.JavaDoc;
 import com.github.chhorz.javadoc.JavaDocParser;
-import com.github.chhorz.javadoc.JavaDocParserBuilder;
-import com.github.chhorz.javadoc.OutputType;
 import com.github.chhorz.javadoc.tags.CategoryTag;
 import com.github.chhorz.openapi.common.annotation.OpenAPIExclusion;
 import com.github.chhorz.openapi.common.domain.*;
-import com.github.chhorz.openapi.common.javadoc.ResponseTag;
 import com.github.chhorz.openapi.common.javadoc.SecurityTag;
 import com.github.chhorz.openapi.common.javadoc.TagTag;
 import com.github.chhorz.openapi.common.properties.GeneratorPropertyLoader;
 import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
 import com.github.chhorz.openapi.common.spi.OpenAPIPostProcessor;
-import com.github.chhorz.openapi.common.spi.PostProcessorProvider;
 import com.github.chhorz.openapi.common.spi.PostProcessorType;
 import com.github.chhorz.openapi.common.util.*;
+import com.github.chhorz.openapi.common.util.FingerprintUtils.FingerprintIndex;
+import com.github.chhorz.openapi.common.util.FingerprintUtils.OperationLocation;
+import com.github.chhorz.openapi.common.util.FingerprintUtils.TypeFingerprint;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 import javax.annotation.processing.AbstractProcessor;
@@ -38,24 +37,32 @@ import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import java.lang.annotation.Annotation;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 import static com.github.chhorz.openapi.common.OpenAPIConstants.OPEN_API_VERSION;
 import static com.github.chhorz.openapi.common.OpenAPIConstants.X_GENERATED_FIELD;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonMap;
-import static java.util.Comparator.comparing;
-import static java.util.ServiceLoader.load;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 /**
@@ -73,14 +80,32 @@ public abstract class OpenAPIProcessor extends AbstractProcessor {
 	protected ParserProperties parserProperties;
 
 	protected LogUtils logUtils;
+	protected GenerationMetrics metrics;
+	protected ProcessingContext processingContext;
 	protected SchemaUtils schemaUtils;
 	protected ProcessingUtils processingUtils;
 	protected ResponseUtils responseUtils;
 
 	protected JavaDocParser javaDocParser;
+	protected JavaDocCache javaDocCache;
+	private ExecutorService javaDocExecutor;
+	private ThreadLocal<JavaDocParser> javaDocParsers;
 
 	protected OpenAPI openApi;
 
+	private List<OpenAPIPostProcessor> domainPostProcessors;
+
+	private Map<String, String> processorOptions;
+	private FingerprintUtils fingerprintUtils;
+	private String fingerprintContext;
+	private Optional<FingerprintIndex> previousIndex;
+	private boolean previousGenerationLoaded;
+	private Map<String, TypeFingerprint> previousFingerprints = emptyMap();
+	private OpenAPI previousOpenApi;
+	private final Map<String, TypeFingerprint> currentFingerprints = new TreeMap<>();
+	private final Map<String, List<String>> currentOperationIds = new HashMap<>();
+	private final List<Operation> restoredOperations = new ArrayList<>();
+
 	/**
 	 *
 	 *
@@ -92,15 +117,21 @@ public abstract class OpenAPIProcessor extends AbstractProcessor {
 		Messager messager = processingEnv.getMessager();
 
 		// initialize property loader
-		propertyLoader = new GeneratorPropertyLoader(messager, processingEnv.getOptions());
+		processorOptions = processingEnv.getOptions();
+		propertyLoader = new GeneratorPropertyLoader(messager, processorOptions);
 		parserProperties = propertyLoader.getParserProperties();
 
-		logUtils = new LogUtils(messager, parserProperties);
-		schemaUtils = new SchemaUtils(elements, types, parserProperties, logUtils, baseClasses);
-		processingUtils = new ProcessingUtils(elements, types, logUtils);
-		responseUtils = new ResponseUtils(elements, types, parserProperties, logUtils);
+		metrics = new GenerationMetrics(parserProperties.getWriteMetrics());
+		logUtils = new LogUtils(messager, parserProperties, "", metrics);
 
 		javaDocParser = createJavadocParser();
+		javaDocCache = new JavaDocCache(elements, javaDocParser);
+
+		processingContext = ProcessingContext.create(elements, types, parserProperties, logUtils, javaDocCache);
+		schemaUtils = new SchemaUtils(processingContext, baseClasses);
+		processingUtils = processingContext.getProcessingUtils();
+		responseUtils = new ResponseUtils(processingContext, schemaUtils);
+		fingerprintUtils = new FingerprintUtils(elements, parserProperties, logUtils);
 
 		openApi = initializeFromProperties(propertyLoader);
 	}
@@ -176,12 +207,334 @@ public abstract class OpenAPIProcessor extends AbstractProcessor {
 	 * @return a new instance of the JavaDocParser
 	 */
 	protected JavaDocParser createJavadocParser() {
-		return JavaDocParserBuilder.withAllKnownTags()
-			.withTag(new ResponseTag())
-			.withTag(new SecurityTag())
-			.withTag(new TagTag())
-			.withOutputType(OutputType.MARKDOWN)
-			.build();
+		return JavaDocCache.createMarkdownParser();
+	}
+
+	/**
+	 * Parses the Javadoc comments of all given elements. The comments are always read on the processing thread,
+	 * because the compiler model is not thread-safe. If parallel processing is enabled, all comments that are not
+	 * cached yet are parsed on a bounded worker pool. The result is the same in both modes.
+	 *
+	 * @see ParserProperties#getParallelProcessing()
+	 *
+	 * @param documentedElements the elements (e.g. the operation methods of a round)
+	 * @return a map from each element to its parsed Javadoc
+	 */
+	protected Map<Element, JavaDoc> parseJavaDocs(final Collection<? extends Element> documentedElements) {
+		try (GenerationMetrics.Timer timer = metrics.startTimer(GenerationMetrics.PHASE_JAVADOC)) {
+			Map<Element, JavaDoc> javaDocs = new HashMap<>();
+			Map<Element, String> docComments = new LinkedHashMap<>();
+			documentedElements.stream()
+				.filter(element -> !javaDocCache.hasMarkdown(element))
+				.forEach(element -> docComments.putIfAbsent(element, javaDocCache.getDocComment(element)));
+
+			metrics.add(GenerationMetrics.COUNTER_JAVADOCS_PARSED, docComments.size());
+			metrics.add(GenerationMetrics.COUNTER_JAVADOC_CACHE_HITS, documentedElements.size() - docComments.size());
+
+			if (parserProperties.getParallelProcessing() && docComments.size() > 1) {
+				parseJavaDocsInParallel(docComments).forEach(javaDocCache::putMarkdown);
+			}
+
+			documentedElements.forEach(element -> javaDocs.put(element, javaDocCache.getMarkdown(element)));
+			return javaDocs;
+		}
+	}
+
+	private Map<Element, JavaDoc> parseJavaDocsInParallel(final Map<Element, String> docComments) {
+		Map<Element, JavaDoc> javaDocs = new LinkedHashMap<>();
+
+		// the worker threads and their parsers are kept for all rounds and released in completeGeneration()
+		if (javaDocExecutor == null) {
+			javaDocExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+				Thread thread = new Thread(runnable, "oas-generator-javadoc");
+				thread.setDaemon(true);
+				return thread;
+			});
+			javaDocParsers = ThreadLocal.withInitial(this::createJavadocParser);
+		}
+		logUtils.logDebug("Parsing %d doc comments in parallel", docComments.size());
+
+		try {
+			Map<Element, Future<JavaDoc>> futures = new LinkedHashMap<>();
+			docComments.forEach((element, docComment) -> futures.put(element, javaDocExecutor.submit(() -> javaDocParsers.get().parse(docComment))));
+			for (Map.Entry<Element, Future<JavaDoc>> future : futures.entrySet()) {
+				javaDocs.put(future.getKey(), future.getValue().get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Parsing of doc comments was interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Parsing of doc comments failed", e.getCause());
+		}
+
+		return javaDocs;
+	}
+
+	private void shutdownJavaDocExecutor() {
+		if (javaDocExecutor != null) {
+			javaDocExecutor.shutdownNow();
+			javaDocExecutor = null;
+			javaDocParsers = null;
+		}
+	}
+
+	/**
+	 * Maps all given operation methods with the given operation mapper.
+	 * <p>
+	 * If incremental generation is enabled, the methods are grouped by their enclosing type. The operations of a type
+	 * with the same fingerprint as in the previous generation are reused from the previously generated file, only the
+	 * methods of new or changed types are passed to the operation mapper.
+	 *
+	 * @see ParserProperties#getIncremental()
+	 *
+	 * @param operationMethods the operation methods of the current round
+	 * @param operationMapper the framework specific mapping of a single method with its parsed Javadoc
+	 */
+	protected void mapOperationMethods(final List<ExecutableElement> operationMethods, final BiConsumer<ExecutableElement, JavaDoc> operationMapper) {
+		List<ExecutableElement> mappedOperationMethods = operationMethods;
+
+		if (parserProperties.getIncremental()) {
+			loadPreviousGeneration();
+
+			Map<TypeElement, List<ExecutableElement>> operationMethodsByType = operationMethods.stream()
+				.collect(groupingBy(method -> (TypeElement) method.getEnclosingElement(), LinkedHashMap::new, toList()));
+
+			mappedOperationMethods = new ArrayList<>();
+			for (Map.Entry<TypeElement, List<ExecutableElement>> entry : operationMethodsByType.entrySet()) {
+				String typeName = entry.getKey().getQualifiedName().toString();
+				String fingerprint = fingerprintUtils.createFingerprint(entry.getKey());
+
+				TypeFingerprint previousFingerprint = previousFingerprints.get(typeName);
+				if (previousFingerprint != null && previousFingerprint.fingerprint().equals(fingerprint) && restoreOperations(typeName, previousFingerprint)) {
+					currentFingerprints.put(typeName, previousFingerprint);
+				} else {
+					currentFingerprints.put(typeName, new TypeFingerprint(fingerprint, fingerprintUtils.createSignature(entry.getKey()), new ArrayList<>()));
+					mappedOperationMethods.addAll(entry.getValue());
+				}
+			}
+		}
+
+		Map<Element, JavaDoc> javaDocs = parseJavaDocs(mappedOperationMethods);
+		try (GenerationMetrics.Timer timer = metrics.startTimer(GenerationMetrics.PHASE_OPERATIONS)) {
+			mappedOperationMethods.forEach(operationMethod -> operationMapper.accept(operationMethod, javaDocs.get(operationMethod)));
+		}
+		metrics.add(GenerationMetrics.COUNTER_OPERATIONS, mappedOperationMethods.size());
+
+		// resolve the locations of all operations that were generated for the types of this round
+		currentOperationIds.forEach((typeName, operationIds) -> {
+			TypeFingerprint typeFingerprint = currentFingerprints.get(typeName);
+			if (typeFingerprint != null) {
+				operationIds.stream()
+					.distinct()
+					.forEach(operationId -> openApi.findOperationPath(operationId)
+						.ifPresent(path -> FingerprintUtils.getOperationMethods(openApi.getPaths().get(path), operationId)
+							.forEach(method -> typeFingerprint.operations().add(new OperationLocation(path, method)))));
+			}
+		});
+		currentOperationIds.clear();
+	}
+
+	/**
+	 * Reuses the operations of all types from the previous generation that were not presented to the processor, e.g.
+	 * because an incremental compilation did not recompile them. A type is only reused if it still exists and its
+	 * signature did not change. Afterwards all schemas that are referenced by reused operations and are not part of
+	 * the current generation are copied from the previously generated file.
+	 * <p>
+	 * Has to be called in the last processing round before the tags are collected.
+	 */
+	protected void restoreUnprocessedTypes() {
+		if (!parserProperties.getIncremental()) {
+			return;
+		}
+		loadPreviousGeneration();
+
+		previousFingerprints.forEach((typeName, previousFingerprint) -> {
+			if (!currentFingerprints.containsKey(typeName)) {
+				TypeElement typeElement = elements.getTypeElement(typeName);
+				if (typeElement == null) {
+					logUtils.logInfo("Removing operations of deleted type %s", typeName);
+				} else if (!previousFingerprint.signature().equals(fingerprintUtils.createSignature(typeElement))) {
+					logUtils.logInfo("Removing operations of type %s (signature changed, but the type was not processed)", typeName);
+				} else if (restoreOperations(typeName, previousFingerprint)) {
+					currentFingerprints.put(typeName, previousFingerprint);
+				}
+			}
+		});
+
+		restoreReferencedSchemas();
+	}
+
+	/**
+	 * Writes the fingerprint index of the current generation next to the output file, if incremental generation is
+	 * enabled. Has to be called after the output file was written.
+	 */
+	protected void writeFingerprintIndex() {
+		if (parserProperties.getIncremental()) {
+			loadPreviousGeneration();
+			Map<String, String> dependencies = createDependencySignatures(getFingerprintDependencies());
+			// deleted dependencies are not persisted
+			dependencies.values().removeIf(String::isEmpty);
+			fingerprintUtils.writeIndex(new FingerprintIndex(fingerprintContext, currentFingerprints, dependencies));
+		}
+	}
+
+	/**
+	 * Returns additional processor specific information that influences all generated operations. If this
+	 * information changes, no operation of the previous generation will be reused.
+	 *
+	 * @return processor specific information for the fingerprint index
+	 */
+	protected String getFingerprintContext() {
+		return "";
+	}
+
+	/**
+	 * Returns the qualified names of all types that influence every generated operation, but are not part of the
+	 * fingerprints of the operation types, e.g. exception handlers. The signatures of these types are stored in the
+	 * fingerprint index. If one of them changes, no operation of the previous generation will be reused.
+	 *
+	 * @see #getPreviousFingerprintDependencies()
+	 *
+	 * @return the names of the types that all operations depend on
+	 */
+	protected Set<String> getFingerprintDependencies() {
+		return emptySet();
+	}
+
+	/**
+	 * Returns the names of the types that all operations of the previous generation depended on. Such types may not be
+	 * part of an incremental compilation, so processors have to resolve them with {@link Elements} in addition to the
+	 * types of the current round.
+	 *
+	 * @see #getFingerprintDependencies()
+	 *
+	 * @return the names of the dependencies from the previous fingerprint index
+	 */
+	protected Set<String> getPreviousFingerprintDependencies() {
+		if (!parserProperties.getIncremental()) {
+			return emptySet();
+		}
+		return readPreviousIndex()
+			.map(FingerprintIndex::dependencies)
+			.map(Map::keySet)
+			.orElse(emptySet());
+	}
+
+	private Optional<FingerprintIndex> readPreviousIndex() {
+		if (previousIndex == null) {
+			fingerprintContext = FingerprintUtils.createHash(
+				propertyLoader.getOasGeneratorVersion(),
+				getClass().getName(),
+				new TreeMap<>(processorOptions).toString(),
+				propertyLoader.getPropertiesChecksum(),
+				getFingerprintContext());
+
+			previousIndex = fingerprintUtils.readIndex()
+				.filter(index -> fingerprintContext.equals(index.context()))
+				.filter(index -> index.types() != null);
+		}
+		return previousIndex;
+	}
+
+	private void loadPreviousGeneration() {
+		if (previousGenerationLoaded) {
+			return;
+		}
+		previousGenerationLoaded = true;
+
+		Optional<FingerprintIndex> reusableIndex = readPreviousIndex()
+			.filter(this::hasUnchangedDependencies);
+		Optional<OpenAPI> previousFile = reusableIndex.isPresent()
+			? new FileUtils(logUtils, parserProperties).readOpenAPIObjectFromOutputFile()
+			: Optional.empty();
+
+		if (reusableIndex.isPresent() && previousFile.isPresent()) {
+			previousFingerprints = reusableIndex.get().types();
+			previousOpenApi = previousFile.get();
+			logUtils.logInfo("Loaded fingerprints of %d types from the previous generation", previousFingerprints.size());
+		} else {
+			logUtils.logInfo("No reusable previous generation found");
+		}
+	}
+
+	private boolean hasUnchangedDependencies(final FingerprintIndex fingerprintIndex) {
+		Set<String> dependencies = new TreeSet<>(fingerprintIndex.dependencies().keySet());
+		dependencies.addAll(getFingerprintDependencies());
+
+		if (!createDependencySignatures(dependencies).equals(fingerprintIndex.dependencies())) {
+			logUtils.logInfo("The types all operations depend on changed: %s", dependencies);
+			return false;
+		}
+		return true;
+	}
+
+	private Map<String, String> createDependencySignatures(final Set<String> dependencies) {
+		Map<String, String> signatures = new TreeMap<>();
+		dependencies.forEach(typeName -> {
+			TypeElement typeElement = elements.getTypeElement(typeName);
+			// a deleted type never matches a previous signature
+			signatures.put(typeName, typeElement != null ? fingerprintUtils.createSignature(typeElement) : "");
+		});
+		return signatures;
+	}
+
+	private boolean restoreOperations(final String typeName, final TypeFingerprint typeFingerprint) {
+		Map<OperationLocation, Operation> operations = new LinkedHashMap<>();
+		for (OperationLocation location : typeFingerprint.operations()) {
+			PathItemObject previousPathItem = previousOpenApi.getPaths() != null ? previousOpenApi.getPaths().get(location.path()) : null;
+			Operation operation = previousPathItem != null ? FingerprintUtils.getOperation(previousPathItem, location.method()) : null;
+			if (operation == null) {
+				logUtils.logInfo("Operation %s %s of type %s is missing in the previous output file", location.method(), location.path(), typeName);
+				return false;
+			}
+			operations.put(location, operation);
+		}
+
+		// the same operation id may be used for multiple request methods of a single path
+		Map<String, String> operationIds = new HashMap<>();
+		operations.forEach((location, operation) -> {
+			if (operation.getOperationId() != null) {
+				operation.setOperationId(operationIds.computeIfAbsent(operation.getOperationId(), operationId -> getUniqueOperationId(operationId, openApi)));
+			}
+			PathItemObject pathItemObject = openApi.getPaths().getOrDefault(location.path(), new PathItemObject());
+			FingerprintUtils.setOperation(pathItemObject, location.method(), operation);
+			openApi.putPathItemObject(location.path(), pathItemObject);
+			restoredOperations.add(operation);
+		});
+
+		metrics.add(GenerationMetrics.COUNTER_OPERATIONS_REUSED, operations.size());
+		logUtils.logInfo("Reusing %d operations of unchanged type %s", operations.size(), typeName);
+		return true;
+	}
+
+	private void restoreReferencedSchemas() {
+		Map<String, Schema> previousSchemas = previousOpenApi != null && previousOpenApi.getComponents() != null && previousOpenApi.getComponents().getSchemas() != null
+			? previousOpenApi.getComponents().getSchemas()
+			: emptyMap();
+		Map<String, Schema> currentSchemas = openApi.getComponents().getSchemas() != null
+			? openApi.getComponents().getSchemas()
+			: emptyMap();
+
+		Deque<String> schemaNames = new ArrayDeque<>();
+		restoredOperations.stream()
+			.map(fingerprintUtils::findSchemaReferences)
+			.forEach(schemaNames::addAll);
+
+		Map<String, Schema> restoredSchemas = new TreeMap<>();
+		while (!schemaNames.isEmpty()) {
+			String schemaName = schemaNames.pop();
+			if (!currentSchemas.containsKey(schemaName) && !restoredSchemas.containsKey(schemaName) && previousSchemas.containsKey(schemaName)) {
+				Schema schema = previousSchemas.get(schemaName);
+				restoredSchemas.put(schemaName, schema);
+				schemaNames.addAll(fingerprintUtils.findSchemaReferences(schema));
+			}
+		}
+
+		if (!restoredSchemas.isEmpty()) {
+			logUtils.logDebug("Reusing schemas of the previous generation: %s", restoredSchemas.keySet());
+			openApi.getComponents().putAllSchemas(restoredSchemas);
+		}
+		restoredOperations.clear();
 	}
 
 	/**
@@ -195,24 +548,24 @@ public abstract class OpenAPIProcessor extends AbstractProcessor {
 	}
 
 	protected String getOperationId(final ExecutableElement executableElement, final OpenAPI openAPI) {
-		String operationId = String.format("%s#%s", executableElement.getEnclosingElement().getSimpleName(), executableElement.getSimpleName());
-		if (openAPI == null || openAPI.getPaths().values().stream()
-			.noneMatch(pathItem -> operationIdPresent(pathItem.getGet(), operationId)
-								   || operationIdPresent(pathItem.getPut(), operationId)
-								   || operationIdPresent(pathItem.getPost(), operationId)
-								   || operationIdPresent(pathItem.getDelete(), operationId)
-								   || operationIdPresent(pathItem.getOptions(), operationId)
-								   || operationIdPresent(pathItem.getHead(), operationId)
-								   || operationIdPresent(pathItem.getPatch(), operationId)
-								   || operationIdPresent(pathItem.getTrace(), operationId))) {
-			return operationId;
-		} else {
-			return String.format("%s_%04d", operationId, operationIdCounter.incrementAndGet());
+		String operationId = getUniqueOperationId(String.format("%s#%s", executableElement.getEnclosingElement().getSimpleName(), executableElement.getSimpleName()), openAPI);
+		if (openAPI != null && parserProperties.getIncremental() && executableElement.getEnclosingElement() instanceof TypeElement) {
+			currentOperationIds.computeIfAbsent(((TypeElement) executableElement.getEnclosingElement()).getQualifiedName().toString(), typeName -> new ArrayList<>())
+				.add(operationId);
 		}
+		return operationId;
 	}
 
-	private boolean operationIdPresent(Operation operation, String operationId) {
-		return operation != null && operationId.equals(operation.getOperationId());
+	private String getUniqueOperationId(final String operationId, final OpenAPI openAPI) {
+		if (openAPI == null || !openAPI.containsOperationId(operationId)) {
+			return operationId;
+		}
+
+		String uniqueOperationId;
+		do {
+			uniqueOperationId = String.format("%s_%04d", operationId, operationIdCounter.incrementAndGet());
+		} while (openAPI.containsOperationId(uniqueOperationId));
+		return uniqueOperationId;
 	}
 
 	/**
@@ -309,19 +662,103 @@ public abstract class OpenAPIProcessor extends AbstractProcessor {
 	}
 
 	/**
-	 * Runs all registered post processors from the service loader.
+	 * Completes the generation in the last processing round. The configured schema packages and the schema file are
+	 * merged into the components, the operations of unprocessed types are restored, the tags of all operations are
+	 * collected and the post processors are executed.
+	 * <p>
+	 * All of this only depends on the complete result of all rounds, so it is done once in the round where
+	 * {@link javax.annotation.processing.RoundEnvironment#processingOver()} is {@code true}. The previous rounds only
+	 * map the elements that are new in the respective round.
+	 */
+	protected void completeGeneration() {
+		shutdownJavaDocExecutor();
+
+		openApi.getComponents().putAllSchemas(schemaUtils.parsePackages(parserProperties.getSchemaPackages()));
+
+		if (parserProperties.getSchemaFile() != null) {
+			readSchemaFile(parserProperties)
+				.ifPresent(openApi.getComponents()::putAllParsedSchemas);
+		}
+
+		restoreUnprocessedTypes();
+
+		TagUtils tagUtils = new TagUtils(propertyLoader);
+		openApi.getPaths().values()
+			.stream()
+			.map(tagUtils::getAllTags)
+			.flatMap(Collection::stream)
+			.distinct()
+			.map(tagUtils::createTag)
+			.forEach(openApi::addTag);
+
+		runPostProcessors(parserProperties, openApi);
+		writeFingerprintIndex();
+		awaitPostProcessors(openApi);
+	}
+
+	/**
+	 * Runs all registered post processors from the service loader. The post processors are created only once for the
+	 * lifetime of this processor. Post processors may continue their work asynchronously until
+	 * {@link #awaitPostProcessors(OpenAPI)} is called.
 	 *
 	 * @param parserProperties the configuration properties form the configuration file
 	 * @param openApi the generated OpenAPI domain object
 	 */
 	protected void runPostProcessors(final ParserProperties parserProperties, final OpenAPI openApi) {
-		ServiceLoader<PostProcessorProvider> serviceLoader = load(PostProcessorProvider.class, getClass().getClassLoader());
+		if (domainPostProcessors == null) {
+			domainPostProcessors = processingContext.getServiceRegistry().createPostProcessors(provider -> true, logUtils, parserProperties)
+				.stream()
+				.filter(postProcessor -> postProcessor.getPostProcessorType().contains(PostProcessorType.DOMAIN_OBJECT))
+				.collect(toList());
+		}
+
+		for (OpenAPIPostProcessor openAPIPostProcessor : domainPostProcessors) {
+			try (GenerationMetrics.Timer timer = metrics.startTimer(GenerationMetrics.PHASE_POST_PROCESSING + "." + openAPIPostProcessor.getClass().getSimpleName())) {
+				openAPIPostProcessor.execute(openApi);
+			}
+		}
+	}
+
+	/**
+	 * Waits for all asynchronous work of the post processors. Afterwards the metrics file is written, if it is enabled.
+	 * Has to be called in the last processing round after {@link #runPostProcessors(ParserProperties, OpenAPI)}.
+	 *
+	 * @see OpenAPIPostProcessor#awaitCompletion()
+	 * @see ParserProperties#getWriteMetrics()
+	 *
+	 * @param openApi the generated OpenAPI domain object
+	 */
+	protected void awaitPostProcessors(final OpenAPI openApi) {
+		if (domainPostProcessors != null) {
+			for (OpenAPIPostProcessor openAPIPostProcessor : domainPostProcessors) {
+				openAPIPostProcessor.awaitCompletion();
+			}
+		}
 
-		StreamSupport.stream(serviceLoader.spliterator(), false)
-			.map(provider -> provider.create(logUtils, parserProperties))
-			.filter(postProcessor -> postProcessor.getPostProcessorType().contains(PostProcessorType.DOMAIN_OBJECT))
-			.sorted(comparing(OpenAPIPostProcessor::getPostProcessorOrder).reversed())
-			.forEach(openAPIPostProcessor -> openAPIPostProcessor.execute(openApi));
+		writeMetrics(openApi);
+	}
+
+	private void writeMetrics(final OpenAPI openApi) {
+		if (metrics.isEnabled()) {
+			metrics.set(GenerationMetrics.COUNTER_PATHS, openApi.getPaths() != null ? openApi.getPaths().size() : 0);
+			metrics.set(GenerationMetrics.COUNTER_SCHEMAS, openApi.getComponents() != null && openApi.getComponents().getSchemas() != null
+				? openApi.getComponents().getSchemas().size()
+				: 0);
+
+			new FileUtils(logUtils, parserProperties).writeMetricsFile(metrics.createReport(getClass().getName()));
+		}
+	}
+
+	/**
+	 * Logs the schema cache statistics and clears all schema, type and Javadoc caches. Has to be called at the end of each
+	 * processing round.
+	 *
+	 * @see ProcessingContext#clearCaches()
+	 */
+	protected void clearRoundCaches() {
+		schemaUtils.logCacheStatistics();
+		schemaUtils.clearCache();
+		processingContext.clearCaches();
 	}
 
 	/**
@@ -337,6 +774,19 @@ public abstract class OpenAPIProcessor extends AbstractProcessor {
 		return fileUtils.readOpenAPIObjectFromFile();
 	}
 
+	/**
+	 * Loads only the schemas of the components of an existing OpenAPI schema file.
+	 *
+	 * @see FileUtils#readSchemasFromFile()
+	 *
+	 * @param parserProperties the loaded configuration properties
+	 * @return the schemas of the configured schema file from the properties
+	 */
+	protected Optional<Map<String, Schema>> readSchemaFile(final ParserProperties parserProperties) {
+		FileUtils fileUtils = new FileUtils(logUtils, parserProperties);
+		return fileUtils.readSchemasFromFile();
+	}
+
 	/**
 	 * Check if the given class is available on the classpath. This check is required for optional maven dependencies.
 	 *
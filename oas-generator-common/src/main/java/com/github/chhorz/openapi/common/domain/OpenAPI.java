@@ -17,12 +17,21 @@
 package com.github.chhorz.openapi.common.domain;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.github.chhorz.openapi.common.domain.meta.Required;
 
+import static java.util.Collections.emptySet;
 import static java.util.Comparator.comparing;
 
 /**
@@ -47,6 +56,12 @@ public class OpenAPI {
 	private List<Tag> tags;
 	private ExternalDocumentation externalDocs;
 
+	// index of all operation ids, built lazily from the paths and kept in sync by putPathItemObject(String, PathItemObject)
+	@JsonIgnore
+	private Map<String, Set<String>> operationIdIndex;
+	@JsonIgnore
+	private Map<String, List<String>> pathOperationIds;
+
 	public String getOpenapi() {
 		return openapi;
 	}
@@ -76,7 +91,91 @@ public class OpenAPI {
 	}
 
 	public void putPathItemObject(final String path, final PathItemObject pathItemObject) {
+		if (!isOperationIdIndexValid()) {
+			this.paths.put(path, pathItemObject);
+			buildOperationIdIndex();
+			return;
+		}
+
 		this.paths.put(path, pathItemObject);
+
+		List<String> previousOperationIds = pathOperationIds.remove(path);
+		if (previousOperationIds != null) {
+			previousOperationIds.forEach(operationId -> removeFromOperationIdIndex(operationId, path));
+		}
+		addToOperationIdIndex(path, pathItemObject);
+	}
+
+	/**
+	 * Checks if an operation with the given id is already part of any path item.
+	 *
+	 * @param operationId the requested operation id
+	 * @return {@code true} if the operation id is already used
+	 */
+	public boolean containsOperationId(final String operationId) {
+		return getOperationIdIndex().containsKey(operationId);
+	}
+
+	/**
+	 * Looks up the path of the path item that contains the operation with the given id. If multiple path items
+	 * contain an operation with this id, the path that was added first is returned.
+	 *
+	 * @param operationId the requested operation id
+	 * @return the path of the operation or {@link Optional#empty()} if the operation id is unknown
+	 */
+	public Optional<String> findOperationPath(final String operationId) {
+		return getOperationIdIndex().getOrDefault(operationId, emptySet()).stream()
+			.findFirst();
+	}
+
+	/*
+	 * The paths can be filled without putPathItemObject(String, PathItemObject), e.g. by Jackson through the getter
+	 * during the deserialization. The index is therefore (re)built from the paths if it was not yet created or does not
+	 * cover all paths.
+	 */
+	private Map<String, Set<String>> getOperationIdIndex() {
+		if (!isOperationIdIndexValid()) {
+			buildOperationIdIndex();
+		}
+		return operationIdIndex;
+	}
+
+	private boolean isOperationIdIndexValid() {
+		return operationIdIndex != null && pathOperationIds.size() == paths.size();
+	}
+
+	private void buildOperationIdIndex() {
+		operationIdIndex = new HashMap<>();
+		pathOperationIds = new HashMap<>();
+		paths.forEach(this::addToOperationIdIndex);
+	}
+
+	private void addToOperationIdIndex(final String path, final PathItemObject pathItemObject) {
+		List<String> operationIds = getOperationIds(pathItemObject);
+		operationIds.forEach(operationId -> operationIdIndex.computeIfAbsent(operationId, id -> new LinkedHashSet<>()).add(path));
+		pathOperationIds.put(path, operationIds);
+	}
+
+	private void removeFromOperationIdIndex(final String operationId, final String path) {
+		Set<String> operationPaths = operationIdIndex.get(operationId);
+		if (operationPaths != null) {
+			operationPaths.remove(path);
+			if (operationPaths.isEmpty()) {
+				operationIdIndex.remove(operationId);
+			}
+		}
+	}
+
+	private static List<String> getOperationIds(final PathItemObject pathItemObject) {
+		if (pathItemObject == null) {
+			return new ArrayList<>();
+		}
+		return Stream.of(pathItemObject.getGet(), pathItemObject.getPut(), pathItemObject.getPost(), pathItemObject.getDelete(),
+				pathItemObject.getOptions(), pathItemObject.getHead(), pathItemObject.getPatch(), pathItemObject.getTrace())
+			.filter(Objects::nonNull)
+			.map(Operation::getOperationId)
+			.filter(Objects::nonNull)
+			.collect(Collectors.toList());
 	}
 
 	public Components getComponents() {
@@ -95,11 +194,19 @@ public class OpenAPI {
 		this.security = security;
 	}
 
+	/**
+	 * Returns the tags sorted by their name. The returned list is a copy, so the domain object is not modified
+	 * while it is serialized.
+	 *
+	 * @return the sorted tags or {@code null} if no tag was added
+	 */
 	public List<Tag> getTags() {
-		if (tags != null) {
-			tags.sort(comparing(Tag::getName));
+		if (tags == null) {
+			return null;
 		}
-		return tags;
+		return tags.stream()
+			.sorted(comparing(Tag::getName))
+			.collect(Collectors.toList());
 	}
 
 	public void addTag(final Tag tag) {
@@ -0,0 +1,72 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.operation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The classified parameters of a single method.
+ *
+ * @see OperationPipeline#classifyParameters(javax.lang.model.element.ExecutableElement)
+ *
+ * @author chhorz
+ */
+public final class OperationParameters {
+
+	private final Map<ParameterKind, List<ParameterBinding>> bindings;
+	private final boolean pageable;
+
+	OperationParameters(final Map<ParameterKind, List<ParameterBinding>> bindings, final boolean pageable) {
+		this.bindings = new EnumMap<>(bindings);
+		this.pageable = pageable;
+	}
+
+	/**
+	 * Returns all parameters of the given kind in the order of the method signature.
+	 *
+	 * @param kind the kind of the parameters
+	 * @return the bound parameters
+	 */
+	public List<ParameterBinding> get(final ParameterKind kind) {
+		return bindings.getOrDefault(kind, Collections.emptyList());
+	}
+
+	/**
+	 * Returns the first body parameter of the method.
+	 *
+	 * @return the request body or {@link Optional#empty()} if the method has no body parameter
+	 */
+	public Optional<ParameterBinding> getRequestBody() {
+		return get(ParameterKind.BODY).stream().findFirst();
+	}
+
+	/**
+	 * Returns if one of the parameters of the method holds the paging information.
+	 *
+	 * @see ParameterAnnotationAdapter#isPageable(javax.lang.model.element.VariableElement)
+	 *
+	 * @return {@code true} if the paging parameters should be documented
+	 */
+	public boolean isPageable() {
+		return pageable;
+	}
+
+}
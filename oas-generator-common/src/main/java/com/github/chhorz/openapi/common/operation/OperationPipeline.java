@@ -0,0 +1,334 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.operation;
+
+import com.github.chhorz.javadoc.JavaDoc;
+import com.github.chhorz.javadoc.tags.ParamTag;
+import com.github.chhorz.javadoc.tags.ReturnTag;
+import com.github.chhorz.openapi.common.domain.Components;
+import com.github.chhorz.openapi.common.domain.MediaType;
+import com.github.chhorz.openapi.common.domain.Operation;
+import com.github.chhorz.openapi.common.domain.Parameter;
+import com.github.chhorz.openapi.common.domain.Parameter.In;
+import com.github.chhorz.openapi.common.domain.RequestBody;
+import com.github.chhorz.openapi.common.domain.Response;
+import com.github.chhorz.openapi.common.domain.Schema;
+import com.github.chhorz.openapi.common.util.LogUtils;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
+import com.github.chhorz.openapi.common.util.ProcessingUtils;
+import com.github.chhorz.openapi.common.util.ResponseUtils;
+import com.github.chhorz.openapi.common.util.SchemaUtils;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.github.chhorz.openapi.common.util.ComponentUtils.convertSchemaMap;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Builds the framework-neutral parts of an {@link Operation}: the parameters, the request body, the default response
+ * and the schemas that are referenced by the operation. The framework-specific annotations of the method parameters
+ * are read by a {@link ParameterAnnotationAdapter}.
+ * <p>
+ * The parameters of a method are classified once with {@link #classifyParameters(ExecutableElement)}, so the
+ * classification can be reused for all operations that are created for the same method.
+ *
+ * @author chhorz
+ */
+public class OperationPipeline {
+
+	private static final String WILDCARD_MEDIA_TYPE = "*/*";
+
+	private final SchemaUtils schemaUtils;
+	private final ProcessingUtils processingUtils;
+	private final ResponseUtils responseUtils;
+	private final LogUtils logUtils;
+	private final ParameterAnnotationAdapter parameterAnnotationAdapter;
+
+	public OperationPipeline(final ProcessingContext processingContext, final SchemaUtils schemaUtils, final ResponseUtils responseUtils,
+							 final ParameterAnnotationAdapter parameterAnnotationAdapter) {
+		this.schemaUtils = schemaUtils;
+		this.processingUtils = processingContext.getProcessingUtils();
+		this.responseUtils = responseUtils;
+		this.logUtils = processingContext.getLogUtils();
+		this.parameterAnnotationAdapter = parameterAnnotationAdapter;
+	}
+
+	/**
+	 * Classifies all parameters of the given method with a single pass over the method signature.
+	 *
+	 * @param executableElement the operation method
+	 * @return the classified parameters
+	 */
+	public OperationParameters classifyParameters(final ExecutableElement executableElement) {
+		Map<ParameterKind, List<ParameterBinding>> bindings = new EnumMap<>(ParameterKind.class);
+		boolean pageable = false;
+		for (VariableElement variableElement : executableElement.getParameters()) {
+			parameterAnnotationAdapter.bind(variableElement)
+				.ifPresent(binding -> bindings.computeIfAbsent(binding.kind(), kind -> new ArrayList<>()).add(binding));
+			pageable = pageable || parameterAnnotationAdapter.isPageable(variableElement);
+		}
+		return new OperationParameters(bindings, pageable);
+	}
+
+	/**
+	 * Creates a new operation with the information of the method and its documentation.
+	 *
+	 * @param executableElement the operation method
+	 * @param javaDoc the parsed documentation of the method
+	 * @param operationId the unique id of the operation
+	 * @return the new operation without parameters and responses
+	 */
+	public Operation createOperation(final ExecutableElement executableElement, final JavaDoc javaDoc, final String operationId) {
+		Operation operation = new Operation();
+		operation.setSummary(javaDoc.getSummary());
+		operation.setDescription(javaDoc.getDescription());
+		operation.setOperationId(operationId);
+		operation.setDeprecated(executableElement.getAnnotation(Deprecated.class) != null);
+		return operation;
+	}
+
+	/**
+	 * Adds the path, query and header parameters and the parameters of a pageable method to the operation.
+	 *
+	 * @param operation the operation
+	 * @param parameters the classified method parameters
+	 * @param path the path template of the operation
+	 * @param javaDoc the parsed documentation of the method
+	 */
+	public void addParameters(final Operation operation, final OperationParameters parameters, final String path,
+							  final JavaDoc javaDoc) {
+		List<Parameter> parameterObjects = new ArrayList<>(createParameters(parameters, ParameterKind.PATH, path, javaDoc));
+		parameterObjects.addAll(createParameters(parameters, ParameterKind.QUERY, path, javaDoc));
+		parameterObjects.addAll(createParameters(parameters, ParameterKind.HEADER, path, javaDoc));
+		operation.addParameterObjects(parameterObjects);
+
+		operation.addParameterObjects(createPageableParameters(parameters));
+	}
+
+	/**
+	 * Creates the parameters of the given kind.
+	 *
+	 * @param parameters the classified method parameters
+	 * @param kind the kind of the parameters, must be {@link ParameterKind#PATH}, {@link ParameterKind#QUERY} or
+	 *             {@link ParameterKind#HEADER}
+	 * @param path the path template of the operation
+	 * @param javaDoc the parsed documentation of the method
+	 * @return the new parameters in the order of the method signature
+	 */
+	public List<Parameter> createParameters(final OperationParameters parameters, final ParameterKind kind, final String path,
+											final JavaDoc javaDoc) {
+		In in = getLocation(kind);
+		List<ParamTag> paramTags = javaDoc.getTags(ParamTag.class);
+
+		List<Parameter> parameterObjects = new ArrayList<>();
+		parameters.get(kind).forEach(binding -> parameterObjects.add(createParameter(binding, in, path, paramTags)));
+		return parameterObjects;
+	}
+
+	/**
+	 * Creates the query parameters of a pageable method.
+	 *
+	 * @param parameters the classified method parameters
+	 * @return the paging parameters or an empty list if the method is not pageable
+	 */
+	public List<Parameter> createPageableParameters(final OperationParameters parameters) {
+		return parameters.isPageable() ? parameterAnnotationAdapter.createPageableParameters() : Collections.emptyList();
+	}
+
+	/**
+	 * Derives an operation for a single path and request method from an operation template that contains all
+	 * information that does not depend on the path. The parameters, responses, tags and security requirements are
+	 * copied, so the derived operations can be modified independently. The parameter objects themselves are shared.
+	 *
+	 * @param template the operation with all path independent information
+	 * @param operationId the unique id of the derived operation
+	 * @param pathParameters the path parameters of the derived operation
+	 * @return the new operation
+	 */
+	public Operation deriveOperation(final Operation template, final String operationId, final List<Parameter> pathParameters) {
+		Operation operation = new Operation();
+		operation.setSummary(template.getSummary());
+		operation.setDescription(template.getDescription());
+		operation.setOperationId(operationId);
+		operation.setDeprecated(template.getDeprecated());
+
+		List<Parameter> parameterObjects = new ArrayList<>(pathParameters);
+		if (template.getParameterObjects() != null) {
+			parameterObjects.addAll(template.getParameterObjects());
+		}
+		operation.addParameterObjects(parameterObjects);
+
+		operation.setRequestBodyObject(template.getRequestBodyObject());
+		if (template.getResponses() != null) {
+			template.getResponses().forEach(operation::putResponse);
+		}
+		if (template.getTags() != null) {
+			template.getTags().forEach(operation::addTag);
+		}
+		if (template.getSecurity() != null) {
+			operation.setSecurity(new ArrayList<>(template.getSecurity()));
+		}
+		return operation;
+	}
+
+	/**
+	 * Adds the request body to the operation and the schemas of the body to the components.
+	 *
+	 * @param operation the operation
+	 * @param parameters the classified method parameters
+	 * @param javaDoc the parsed documentation of the method
+	 * @param consumes the media types of the request body, the wildcard type is used if no type is given
+	 * @param components the components that will contain the schemas of the request body
+	 */
+	public void addRequestBody(final Operation operation, final OperationParameters parameters, final JavaDoc javaDoc,
+							   final String[] consumes, final Components components) {
+		parameters.getRequestBody().ifPresent(binding -> {
+			TypeMirror bodyType = binding.element().asType();
+
+			RequestBody requestBody = new RequestBody();
+			javaDoc.getTags(ParamTag.class)
+				.stream()
+				.filter(tag -> binding.element().toString().equals(tag.getParamName()))
+				.findFirst()
+				.ifPresent(tag -> requestBody.setDescription(tag.getParamDescription()));
+			requestBody.setRequired(binding.required());
+
+			MediaType mediaType = schemaUtils.createMediaType(bodyType);
+			if (consumes == null || consumes.length == 0) {
+				requestBody.putContent(WILDCARD_MEDIA_TYPE, mediaType);
+			} else {
+				for (String mediaTypeName : consumes) {
+					requestBody.putContent(mediaTypeName, mediaType);
+				}
+			}
+
+			components.putAllSchemas(schemaUtils.createStringSchemaMap(bodyType));
+
+			operation.setRequestBodyObject(requestBody);
+		});
+	}
+
+	/**
+	 * Returns the description of the return value of the method.
+	 *
+	 * @param javaDoc the parsed documentation of the method
+	 * @return the content of the {@code @return} tag or an empty string if the method has no single return tag
+	 */
+	public String getReturnDescription(final JavaDoc javaDoc) {
+		List<ReturnTag> returnTags = javaDoc.getTags(ReturnTag.class);
+		return returnTags.size() == 1 ? returnTags.get(0).getDescription() : "";
+	}
+
+	/**
+	 * Creates a response for the given type. Object and enum types are referenced, all other schemas are used inline
+	 * and are therefore removed from the given schema map.
+	 *
+	 * @param typeMirror the type of the response
+	 * @param schema the schema of the type
+	 * @param produces the media types of the response
+	 * @param description the description of the response
+	 * @param schemaMap the schemas of the operation
+	 * @return the new response
+	 */
+	public Response createResponse(final TypeMirror typeMirror, final Schema schema, final String[] produces,
+								   final String description, final Map<TypeMirror, Schema> schemaMap) {
+		if (Schema.Type.OBJECT.equals(schema.getType()) || Schema.Type.ENUM.equals(schema.getType())) {
+			return responseUtils.fromTypeMirror(typeMirror, produces, description);
+		} else {
+			schemaMap.remove(typeMirror);
+			return responseUtils.fromSchema(schema, produces, description);
+		}
+	}
+
+	/**
+	 * Adds the given schemas to the components. Arrays and {@link Void} are never referenced, so their schemas are
+	 * skipped.
+	 *
+	 * @param components the components of the specification
+	 * @param schemaMap the schemas of the operation
+	 */
+	public void addComponentSchemas(final Components components, final Map<TypeMirror, Schema> schemaMap) {
+		components.putAllSchemas(convertSchemaMap(schemaMap.entrySet()
+			.stream()
+			.filter(entry -> !processingUtils.isAssignableTo(entry.getKey(), Void.class))
+			.filter(entry -> !Schema.Type.ARRAY.equals(entry.getValue().getType()))
+			.collect(toMap(Map.Entry::getKey, Map.Entry::getValue))));
+	}
+
+	/**
+	 * Adds an empty default response if the operation has no response, because the specification requires at least
+	 * one response.
+	 *
+	 * @param operation the operation
+	 */
+	public void ensureResponse(final Operation operation) {
+		if (operation.getResponses() == null || operation.getResponses().isEmpty()) {
+			logUtils.logError("No response status defined for operation: %s", operation.getOperationId());
+			Response response = new Response();
+			response.setDescription("");
+			operation.putDefaultResponse(response);
+		}
+	}
+
+	private In getLocation(final ParameterKind kind) {
+		switch (kind) {
+			case PATH:
+				return In.PATH;
+			case QUERY:
+				return In.QUERY;
+			case HEADER:
+				return In.HEADER;
+			default:
+				throw new IllegalArgumentException(String.format("No parameter location for kind %s", kind));
+		}
+	}
+
+	private Parameter createParameter(final ParameterBinding binding, final In in, final String path,
+									  final List<ParamTag> paramTags) {
+		Optional<ParamTag> parameterDescription = paramTags.stream()
+			.filter(tag -> tag.getParamName().equalsIgnoreCase(binding.name()))
+			.findFirst();
+
+		Parameter parameter = new Parameter();
+		parameter.setAllowEmptyValue(binding.allowEmptyValue());
+		parameter.setDeprecated(binding.deprecated());
+		parameter.setDescription(parameterDescription.isPresent() ? parameterDescription.get().getParamDescription() : "");
+		parameter.setIn(in);
+		parameter.setName(binding.name());
+		parameter.setRequired(binding.required());
+
+		Schema schema = schemaUtils.getSchemaForTypeMirror(binding.element().asType());
+		if (In.PATH.equals(in)) {
+			parameterAnnotationAdapter.getPathPattern(path, binding.name()).ifPresent(schema::setPattern);
+		}
+		if (binding.defaultValue() != null) {
+			schema.setDefaultValue(binding.defaultValue());
+		}
+		parameter.setSchema(schema);
+
+		return parameter;
+	}
+
+}
@@ -0,0 +1,75 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.operation;
+
+import com.github.chhorz.openapi.common.domain.Parameter;
+
+import javax.lang.model.element.VariableElement;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads the framework-specific annotations of method parameters for the {@link OperationPipeline}.
+ *
+ * @author chhorz
+ */
+public interface ParameterAnnotationAdapter {
+
+	/**
+	 * Classifies a method parameter. Implementations should inspect the annotations of the parameter only once.
+	 *
+	 * @param variableElement the method parameter
+	 * @return the binding of the parameter or {@link Optional#empty()} if the parameter is not documented
+	 */
+	Optional<ParameterBinding> bind(VariableElement variableElement);
+
+	/**
+	 * Returns the regular expression of a path parameter that is defined within the path template.
+	 *
+	 * @param path the path template of the operation
+	 * @param name the name of the path parameter
+	 * @return the regular expression or {@link Optional#empty()} if the path does not restrict the parameter
+	 */
+	default Optional<String> getPathPattern(final String path, final String name) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Checks if a method parameter holds the paging information of a request. Every parameter is checked,
+	 * independent of its binding, e.g. an annotated paging parameter is documented as query parameter and expanded to
+	 * the paging parameters as well.
+	 *
+	 * @param variableElement the method parameter
+	 * @return {@code true} if the paging parameters should be documented for the method
+	 */
+	default boolean isPageable(final VariableElement variableElement) {
+		return false;
+	}
+
+	/**
+	 * Creates the query parameters for a method with a pageable parameter.
+	 *
+	 * @see #isPageable(VariableElement)
+	 *
+	 * @return the paging parameters
+	 */
+	default List<Parameter> createPageableParameters() {
+		return Collections.emptyList();
+	}
+
+}
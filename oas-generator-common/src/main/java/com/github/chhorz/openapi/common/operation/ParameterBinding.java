@@ -0,0 +1,38 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.operation;
+
+import javax.lang.model.element.VariableElement;
+
+/**
+ * The framework-neutral information of a single method parameter, read from its annotations in one pass.
+ *
+ * @see ParameterAnnotationAdapter
+ *
+ * @param element the method parameter
+ * @param kind the role of the parameter within the operation
+ * @param name the documented name of the parameter
+ * @param required the required flag or {@code null} if the framework does not define it
+ * @param allowEmptyValue the flag if an empty value is allowed or {@code null} if the framework does not define it
+ * @param defaultValue the default value or {@code null}
+ * @param deprecated the flag if the parameter is annotated with {@code @Deprecated}
+ *
+ * @author chhorz
+ */
+public record ParameterBinding(VariableElement element, ParameterKind kind, String name, Boolean required,
+							   Boolean allowEmptyValue, String defaultValue, boolean deprecated) {
+}
@@ -64,6 +64,10 @@ public final class GeneratorPropertiesDefaults {
 	public static final boolean PARSER_ENABLED = Boolean.TRUE;
 	public static final String PARSER_LOG_LEVEL = LogUtils.INFO;
 	public static final boolean INCLUDE_GETTERS = Boolean.TRUE;
+	public static final boolean PARSER_PARALLEL_PROCESSING = Boolean.FALSE;
+	public static final boolean PARSER_INCREMENTAL = Boolean.FALSE;
+	public static final boolean PARSER_SKIP_UNCHANGED_FILES = Boolean.FALSE;
+	public static final boolean PARSER_WRITE_METRICS = Boolean.FALSE;
 	public static final String PARSER_OUTPUT_DIR = "./target/openapi";
 	public static final String PARSER_OUTPUT_FILE = "openapi";
 	public static final String PARSER_OUTPUT_FORMAT = "json,yaml";
@@ -22,12 +22,16 @@ import com.github.chhorz.openapi.common.domain.SecurityScheme.Type;
 import com.github.chhorz.openapi.common.domain.SecuritySchemeApiKey.In;
 import com.github.chhorz.openapi.common.exception.SpecificationViolationException;
 import com.github.chhorz.openapi.common.properties.domain.*;
+import com.github.chhorz.openapi.common.util.FingerprintUtils;
 import com.github.chhorz.openapi.common.util.LogUtils;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.constructor.Constructor;
 
 import javax.annotation.processing.Messager;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Files;
@@ -52,6 +56,7 @@ public class GeneratorPropertyLoader {
 
 	private GeneratorProperties properties;
 	private Properties versionProperties;
+	private String propertiesChecksum = FingerprintUtils.createHash(new byte[0]);
 
 	public GeneratorPropertyLoader(final Messager messager, final Map<String, String> processorOptions) {
 		this.processorOptions = processorOptions;
@@ -79,10 +84,10 @@ public class GeneratorPropertyLoader {
 			Yaml yaml = new Yaml(new Constructor(GeneratorProperties.class, new LoaderOptions()));
 
 			if (resourceLocation != null) {
-				properties = yaml.load(resourceLocation.openStream());
+				properties = readProperties(yaml, resourceLocation.openStream());
 				logUtils.logInfo("Loaded properties (Path: %s)", resourceLocation.getPath());
 			} else if (processorOptions.get("propertiesPath") != null) {
-				properties = yaml.load(Files.newInputStream(Paths.get(processorOptions.get("propertiesPath"))));
+				properties = readProperties(yaml, Files.newInputStream(Paths.get(processorOptions.get("propertiesPath"))));
 				logUtils.logInfo("Loaded properties (Path: %s)", processorOptions.get("propertiesPath"));
 			} else {
 				properties = new GeneratorProperties();
@@ -103,10 +108,29 @@ public class GeneratorPropertyLoader {
 		}
 	}
 
+	private GeneratorProperties readProperties(final Yaml yaml, final InputStream inputStream) throws IOException {
+		final byte[] content;
+		try (InputStream propertiesStream = inputStream) {
+			content = propertiesStream.readAllBytes();
+		}
+		propertiesChecksum = FingerprintUtils.createHash(content);
+		return yaml.load(new ByteArrayInputStream(content));
+	}
+
 	public String getOasGeneratorVersion() {
 		return versionProperties.getProperty("oas-generator.version");
 	}
 
+	/**
+	 * Returns a checksum of the loaded configuration file. If no configuration file was found, the checksum of an
+	 * empty configuration is returned.
+	 *
+	 * @return the checksum of the configuration file
+	 */
+	public String getPropertiesChecksum() {
+		return propertiesChecksum;
+	}
+
 	public Info createInfoFromProperties() {
 		InfoProperties infoProperties = properties.getInfo();
 
@@ -33,6 +33,14 @@ public class ParserProperties {
 
 	private boolean includeGetters;
 
+	private boolean parallelProcessing;
+
+	private boolean incremental;
+
+	private boolean skipUnchangedFiles;
+
+	private boolean writeMetrics;
+
 	private String outputDir;
 	private String outputFile;
 	private String outputFormat;
@@ -47,6 +55,10 @@ public class ParserProperties {
 		enabled = GeneratorPropertiesDefaults.PARSER_ENABLED;
 		logLevel = GeneratorPropertiesDefaults.PARSER_LOG_LEVEL;
 		includeGetters = GeneratorPropertiesDefaults.INCLUDE_GETTERS;
+		parallelProcessing = GeneratorPropertiesDefaults.PARSER_PARALLEL_PROCESSING;
+		incremental = GeneratorPropertiesDefaults.PARSER_INCREMENTAL;
+		skipUnchangedFiles = GeneratorPropertiesDefaults.PARSER_SKIP_UNCHANGED_FILES;
+		writeMetrics = GeneratorPropertiesDefaults.PARSER_WRITE_METRICS;
 		outputDir = GeneratorPropertiesDefaults.PARSER_OUTPUT_DIR;
 		outputFile = GeneratorPropertiesDefaults.PARSER_OUTPUT_FILE;
 		outputFormat = GeneratorPropertiesDefaults.PARSER_OUTPUT_FORMAT;
@@ -80,6 +92,38 @@ public class ParserProperties {
 		this.includeGetters = includeGetters;
 	}
 
+	public boolean getParallelProcessing() {
+		return parallelProcessing;
+	}
+
+	public void setParallelProcessing(boolean parallelProcessing) {
+		this.parallelProcessing = parallelProcessing;
+	}
+
+	public boolean getIncremental() {
+		return incremental;
+	}
+
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	public boolean getSkipUnchangedFiles() {
+		return skipUnchangedFiles;
+	}
+
+	public void setSkipUnchangedFiles(boolean skipUnchangedFiles) {
+		this.skipUnchangedFiles = skipUnchangedFiles;
+	}
+
+	public boolean getWriteMetrics() {
+		return writeMetrics;
+	}
+
+	public void setWriteMetrics(boolean writeMetrics) {
+		this.writeMetrics = writeMetrics;
+	}
+
 	public String getOutputDir() {
 		return outputDir;
 	}
@@ -37,9 +37,9 @@ public class FileWriterPostProcessor implements OpenAPIPostProcessor {
 	private final FileUtils fileUtils;
 	private final LogUtils logUtils;
 
-	FileWriterPostProcessor(final LogUtils logUtils, final ParserProperties parserProperties) {
+	FileWriterPostProcessor(final LogUtils logUtils, final ParserProperties parserProperties, final ServiceRegistry serviceRegistry) {
 		this.logUtils = logUtils;
-		this.fileUtils = new FileUtils(logUtils, parserProperties);
+		this.fileUtils = new FileUtils(logUtils, parserProperties, serviceRegistry);
 	}
 
 	/**
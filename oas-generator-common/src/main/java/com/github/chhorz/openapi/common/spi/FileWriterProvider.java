@@ -31,7 +31,20 @@ public class FileWriterProvider implements PostProcessorProvider {
 	 */
 	@Override
 	public OpenAPIPostProcessor create(final LogUtils logUtils, final ParserProperties parserProperties) {
-		return new FileWriterPostProcessor(logUtils, parserProperties);
+		return new FileWriterPostProcessor(logUtils, parserProperties, null);
+	}
+
+	/**
+	 * Creates the post processor with the registry of the processor, so the post processors for the written files are
+	 * not discovered again.
+	 *
+	 * @param logUtils the oas-generator internal logging utils class
+	 * @param parserProperties the properties from the configuration file
+	 * @param serviceRegistry the registry of the processor
+	 * @return an instance of the post processor
+	 */
+	OpenAPIPostProcessor create(final LogUtils logUtils, final ParserProperties parserProperties, final ServiceRegistry serviceRegistry) {
+		return new FileWriterPostProcessor(logUtils, parserProperties, serviceRegistry);
 	}
 
 }
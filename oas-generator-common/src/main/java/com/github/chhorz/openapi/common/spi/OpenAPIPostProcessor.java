@@ -68,6 +68,14 @@ public interface OpenAPIPostProcessor {
 			"PostProcessor of type '" + postProcessorType + "' is defined but method not overridden");
 	}
 
+	/**
+	 * Waits until all work that was started asynchronously by {@link #execute(OpenAPI)} is finished. This method is
+	 * called on the processing thread after all post processors were executed, so errors can be reported with the
+	 * logger of the processor. The default implementation does nothing.
+	 */
+	default void awaitCompletion() {
+	}
+
 	/**
 	 * Returns the value for the order in which the post processor should be
 	 * executed. Possible values are between {@code Integer.MIN_VALUE} and
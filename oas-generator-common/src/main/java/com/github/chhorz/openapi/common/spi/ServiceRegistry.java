@@ -0,0 +1,102 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.spi;
+
+import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+import com.github.chhorz.openapi.common.spi.mapping.TypeMirrorMapper;
+import com.github.chhorz.openapi.common.util.LogUtils;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Predicate;
+
+import static java.util.Comparator.comparing;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Registry of all service implementations of the oas-generator SPI. The {@link ServiceLoader} scan is done only once
+ * per processor: the registry is created with the {@link com.github.chhorz.openapi.common.util.ProcessingContext} and
+ * is shared by all utilities and post processors of the processor. The registry is not cached statically, so it does
+ * not keep the class loader of the processor alive after the compilation.
+ * <p>
+ * The {@link PostProcessorProvider}s are stateless and are instantiated only once. {@link TypeMirrorMapper}s hold the
+ * state of a processing environment, so only their service providers are cached and every call of
+ * {@link #createTypeMirrorMappers()} returns new instances.
+ *
+ * @author chhorz
+ */
+public final class ServiceRegistry {
+
+	private final List<PostProcessorProvider> postProcessorProviders;
+	private final List<ServiceLoader.Provider<TypeMirrorMapper>> typeMirrorMapperProviders;
+
+	/**
+	 * Creates a new registry and discovers all service implementations of the given class loader.
+	 *
+	 * @param classLoader the class loader of the processor
+	 */
+	public ServiceRegistry(final ClassLoader classLoader) {
+		postProcessorProviders = ServiceLoader.load(PostProcessorProvider.class, classLoader)
+			.stream()
+			.map(ServiceLoader.Provider::get)
+			.collect(toList());
+		typeMirrorMapperProviders = ServiceLoader.load(TypeMirrorMapper.class, classLoader)
+			.stream()
+			.collect(toList());
+	}
+
+	/**
+	 * Returns all registered post processor providers in the order of their discovery.
+	 *
+	 * @return the post processor providers
+	 */
+	public List<PostProcessorProvider> getPostProcessorProviders() {
+		return postProcessorProviders;
+	}
+
+	/**
+	 * Creates the post processors of all registered providers that match the given filter. The post processors are
+	 * sorted by their order, the post processor with the highest order comes first.
+	 *
+	 * @param providerFilter the filter for the providers
+	 * @param logUtils the oas-generator internal logging utils class
+	 * @param parserProperties the properties from the configuration file
+	 * @return new post processor instances
+	 */
+	public List<OpenAPIPostProcessor> createPostProcessors(final Predicate<PostProcessorProvider> providerFilter,
+		final LogUtils logUtils, final ParserProperties parserProperties) {
+		return postProcessorProviders.stream()
+			.filter(providerFilter)
+			.map(provider -> provider instanceof FileWriterProvider fileWriterProvider
+				? fileWriterProvider.create(logUtils, parserProperties, this)
+				: provider.create(logUtils, parserProperties))
+			.sorted(comparing(OpenAPIPostProcessor::getPostProcessorOrder).reversed())
+			.collect(toList());
+	}
+
+	/**
+	 * Creates new instances of all registered type mirror mappers in the order of their discovery.
+	 *
+	 * @return new type mirror mapper instances
+	 */
+	public List<TypeMirrorMapper> createTypeMirrorMappers() {
+		return typeMirrorMapperProviders.stream()
+			.map(ServiceLoader.Provider::get)
+			.collect(toList());
+	}
+
+}
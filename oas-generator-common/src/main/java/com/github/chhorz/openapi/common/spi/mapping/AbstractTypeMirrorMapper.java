@@ -23,7 +23,10 @@ import com.github.chhorz.openapi.common.domain.Schema;
 import com.github.chhorz.openapi.common.domain.Schema.Format;
 import com.github.chhorz.openapi.common.domain.Schema.Type;
 import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+import com.github.chhorz.openapi.common.util.GenerationMetrics;
+import com.github.chhorz.openapi.common.util.JavaDocCache;
 import com.github.chhorz.openapi.common.util.LogUtils;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
 import com.github.chhorz.openapi.common.util.ProcessingUtils;
 
 import javax.lang.model.element.PackageElement;
@@ -31,9 +34,9 @@ import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import java.util.AbstractMap.SimpleEntry;
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 
 public abstract class AbstractTypeMirrorMapper implements TypeMirrorMapper {
 
@@ -42,8 +45,14 @@ public abstract class AbstractTypeMirrorMapper implements TypeMirrorMapper {
 	protected LogUtils logUtils;
 	protected ParserProperties parserProperties;
 	protected ProcessingUtils processingUtils;
-	private List<TypeMirrorMapper> typeMirrorMappers;
+	private TypeMirrorMapperDispatcher typeMirrorMapperDispatcher;
 
+	protected JavaDocCache javaDocCache;
+
+	/**
+	 * @deprecated use the shared {@link #javaDocCache} instead
+	 */
+	@Deprecated
 	protected JavaDocParser parser;
 
 	protected PackageElement javaLangPackage;
@@ -52,39 +61,48 @@ public abstract class AbstractTypeMirrorMapper implements TypeMirrorMapper {
 
 
 	@Override
-	public void setup(Elements elements, Types types, LogUtils logUtils, ParserProperties parserProperties, List<TypeMirrorMapper> typeMirrorMappers) {
-		this.elements = elements;
-		this.types = types;
-		this.logUtils = logUtils;
-		this.parserProperties = parserProperties;
-		this.processingUtils = new ProcessingUtils(elements, types, logUtils);
-		this.typeMirrorMappers = typeMirrorMappers;
-
-		parser = JavaDocParserBuilder.withAllKnownTags().withOutputType(OutputType.HTML).build();
+	public void setup(ProcessingContext processingContext) {
+		this.elements = processingContext.getElements();
+		this.types = processingContext.getTypes();
+		this.logUtils = processingContext.getLogUtils();
+		this.parserProperties = processingContext.getParserProperties();
+		this.processingUtils = processingContext.getProcessingUtils();
+		this.javaDocCache = processingContext.getJavaDocCache();
+		this.typeMirrorMapperDispatcher = processingContext.getTypeMirrorMapperDispatcher();
 
 		javaLangPackage = elements.getPackageElement("java.lang");
 		javaMathPackage = elements.getPackageElement("java.math");
 		javaTimePackage = elements.getPackageElement("java.time");
-	}
 
-	protected Map<TypeMirror, Schema> recursion(TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap){
+		parser = JavaDocParserBuilder.withAllKnownTags().withOutputType(OutputType.HTML).build();
+
+		// subclasses may still be initialized in the deprecated setup method
+		setup(elements, types, logUtils, parserProperties, typeMirrorMapperDispatcher.getTypeMirrorMappers());
+	}
 
-		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
-		if (parsedSchemaMap.entrySet().stream().anyMatch(entry -> entry.getKey().toString().equals(typeMirror.toString()))) {
-			return parsedSchemaMap;
-		} else {
-			parsedSchemaMap.entrySet().stream()
-				.filter(e -> e.getValue().getType().equals(Type.OBJECT) || e.getValue().getType().equals(Type.ENUM))
-				.forEach(entry -> schemaMap.put(entry.getKey(), entry.getValue()));
+	protected Map<TypeMirror, Schema> recursion(TypeMirror typeMirror, ParsedSchemaRegistry parsedSchemas){
+		Optional<Map.Entry<TypeMirror, Schema>> parsedSchema = parsedSchemas.find(typeMirror);
+		if (parsedSchema.isPresent()) {
+			return Collections.singletonMap(parsedSchema.get().getKey(), parsedSchema.get().getValue());
 		}
 
-		typeMirrorMappers.stream()
-			.filter(mapper -> mapper.test(typeMirror))
-			.findFirst()
-			.map(mapper -> mapper.map(typeMirror, parsedSchemaMap))
-			.ifPresent(schemaMap::putAll);
+		logUtils.getMetrics().increment(GenerationMetrics.COUNTER_TYPES_MAPPED);
+		return typeMirrorMapperDispatcher.findMapper(typeMirror)
+			.map(mapper -> mapper.map(typeMirror, parsedSchemas))
+			.orElse(Collections.emptyMap());
+	}
 
-		return schemaMap;
+	/**
+	 * @param typeMirror the type to map
+	 * @param parsedSchemaMap the schemas that were already parsed
+	 * @return the schema of the type and all newly mapped referenced schemas
+	 * @deprecated use {@link #recursion(TypeMirror, ParsedSchemaRegistry)} instead
+	 */
+	@Deprecated
+	protected Map<TypeMirror, Schema> recursion(TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap){
+		ParsedSchemaRegistry parsedSchemas = new ParsedSchemaRegistry();
+		parsedSchemaMap.forEach(parsedSchemas::register);
+		return recursion(typeMirror, parsedSchemas);
 	}
 
 	protected SimpleEntry<Type, Format> getPrimitiveTypeAndFormat(final TypeMirror typeMirror) {
@@ -25,8 +25,10 @@ import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import java.util.AbstractMap;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class ArrayTypeMirrorMapper extends AbstractTypeMirrorMapper {
 
@@ -36,15 +38,18 @@ public class ArrayTypeMirrorMapper extends AbstractTypeMirrorMapper {
 	}
 
 	@Override
-	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap) {
+	public Set<TypeKind> getSupportedTypeKinds() {
+		return EnumSet.of(TypeKind.ARRAY);
+	}
+
+	@Override
+	public boolean isErasureBased() {
+		return true;
+	}
+
+	@Override
+	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, ParsedSchemaRegistry parsedSchemas) {
 		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
-		if (parsedSchemaMap.entrySet().stream().anyMatch(entry -> entry.getKey().toString().equals(typeMirror.toString()))) {
-			return parsedSchemaMap;
-		} else {
-			parsedSchemaMap.entrySet().stream()
-				.filter(e -> e.getValue().getType().equals(Schema.Type.OBJECT) || e.getValue().getType().equals(Schema.Type.ENUM))
-				.forEach(entry -> schemaMap.put(entry.getKey(), entry.getValue()));
-		}
 
 		logUtils.logDebug("Parsing type: %s", typeMirror.toString());
 
@@ -63,7 +68,7 @@ public class ArrayTypeMirrorMapper extends AbstractTypeMirrorMapper {
 		} else {
 			componentType = elements.getTypeElement(typeMirror.toString().replaceAll("\\[]", "")).asType();
 		}
-		Map<TypeMirror, Schema> propertySchemaMap = recursion(componentType, schemaMap);
+		Map<TypeMirror, Schema> propertySchemaMap = recursion(componentType, parsedSchemas);
 
 		if (componentType.getKind().isPrimitive()) {
 			AbstractMap.SimpleEntry<Schema.Type, Schema.Format> typeAndFormat = getPrimitiveTypeAndFormat(componentType);
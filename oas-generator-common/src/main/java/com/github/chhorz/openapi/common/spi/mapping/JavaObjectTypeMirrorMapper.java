@@ -31,15 +31,13 @@ public class JavaObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 	}
 
 	@Override
-	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap) {
+	public boolean isErasureBased() {
+		return true;
+	}
+
+	@Override
+	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, ParsedSchemaRegistry parsedSchemas) {
 		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
-		if (parsedSchemaMap.entrySet().stream().anyMatch(entry -> entry.getKey().toString().equals(typeMirror.toString()))) {
-			return parsedSchemaMap;
-		} else {
-			parsedSchemaMap.entrySet().stream()
-				.filter(e -> e.getValue().getType().equals(Schema.Type.OBJECT) || e.getValue().getType().equals(Schema.Type.ENUM))
-				.forEach(entry -> schemaMap.put(entry.getKey(), entry.getValue()));
-		}
 
 		logUtils.logDebug("Parsing type: %s", typeMirror.toString());
 
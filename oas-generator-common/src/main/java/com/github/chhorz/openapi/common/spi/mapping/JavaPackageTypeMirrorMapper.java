@@ -38,15 +38,13 @@ public class JavaPackageTypeMirrorMapper extends AbstractTypeMirrorMapper {
 	}
 
 	@Override
-	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap) {
+	public boolean isErasureBased() {
+		return true;
+	}
+
+	@Override
+	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, ParsedSchemaRegistry parsedSchemas) {
 		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
-		if (parsedSchemaMap.entrySet().stream().anyMatch(entry -> entry.getKey().toString().equals(typeMirror.toString()))) {
-			return parsedSchemaMap;
-		} else {
-			parsedSchemaMap.entrySet().stream()
-				.filter(e -> e.getValue().getType().equals(Schema.Type.OBJECT) || e.getValue().getType().equals(Schema.Type.ENUM))
-				.forEach(entry -> schemaMap.put(entry.getKey(), entry.getValue()));
-		}
 
 		logUtils.logDebug("Parsing type: %s", typeMirror.toString());
 
@@ -58,7 +56,7 @@ public class JavaPackageTypeMirrorMapper extends AbstractTypeMirrorMapper {
 		}
 
 		if (processingUtils.isTypeInPackage(typeMirror, javaLangPackage)) {
-			JavaDoc javaDoc = parser.parse(elements.getDocComment(element));
+			JavaDoc javaDoc = javaDocCache.getHtml(element);
 			schema.setDescription(javaDoc.getDescription());
 
 			SimpleEntry<Type, Format> typeAndFormat = getJavaLangTypeAndFormat(typeMirror);
@@ -69,7 +67,7 @@ public class JavaPackageTypeMirrorMapper extends AbstractTypeMirrorMapper {
 
 			schemaMap.put(typeMirror, schema);
 		} else if (processingUtils.isTypeInPackage(typeMirror, javaMathPackage)) {
-			JavaDoc javaDoc = parser.parse(elements.getDocComment(element));
+			JavaDoc javaDoc = javaDocCache.getHtml(element);
 			schema.setDescription(javaDoc.getDescription());
 
 			schema.setType(Type.NUMBER);
@@ -77,7 +75,7 @@ public class JavaPackageTypeMirrorMapper extends AbstractTypeMirrorMapper {
 
 			schemaMap.put(typeMirror, schema);
 		} else if (processingUtils.isTypeInPackage(typeMirror, javaTimePackage)) {
-			JavaDoc javaDoc = parser.parse(elements.getDocComment(element));
+			JavaDoc javaDoc = javaDocCache.getHtml(element);
 			schema.setDescription(javaDoc.getDescription());
 
 			SimpleEntry<Type, Format> typeAndFormat = getJavaTimeTypeAndFormat(typeMirror);
@@ -39,15 +39,13 @@ public class JavaUtilTypeMirrorMapper extends AbstractTypeMirrorMapper {
 	}
 
 	@Override
-	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap) {
+	public boolean isErasureBased() {
+		return true;
+	}
+
+	@Override
+	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, ParsedSchemaRegistry parsedSchemas) {
 		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
-		if (parsedSchemaMap.entrySet().stream().anyMatch(entry -> entry.getKey().toString().equals(typeMirror.toString()))) {
-			return parsedSchemaMap;
-		} else {
-			parsedSchemaMap.entrySet().stream()
-				.filter(e -> e.getValue().getType().equals(Schema.Type.OBJECT) || e.getValue().getType().equals(Schema.Type.ENUM))
-				.forEach(entry -> schemaMap.put(entry.getKey(), entry.getValue()));
-		}
 
 		logUtils.logDebug("Parsing type: %s", typeMirror.toString());
 
@@ -60,7 +58,7 @@ public class JavaUtilTypeMirrorMapper extends AbstractTypeMirrorMapper {
 
 		if (processingUtils.isAssignableTo(typeMirror, Optional.class)) {
 			TypeMirror type = processingUtils.removeEnclosingType(typeMirror, Optional.class)[0];
-			Map<TypeMirror, Schema> propertySchemaMap = recursion(type, schemaMap);
+			Map<TypeMirror, Schema> propertySchemaMap = recursion(type, parsedSchemas);
 
 			if (processingUtils.isTypeInPackage(type, javaLangPackage)) {
 				SimpleEntry<Type, Format> typeAndFormat = getJavaLangTypeAndFormat(type);
@@ -79,7 +77,7 @@ public class JavaUtilTypeMirrorMapper extends AbstractTypeMirrorMapper {
 			schema.setType(Type.ARRAY);
 
 			TypeMirror type = processingUtils.removeEnclosingType(typeMirror, List.class)[0];
-			Map<TypeMirror, Schema> propertySchemaMap = recursion(type, schemaMap);
+			Map<TypeMirror, Schema> propertySchemaMap = recursion(type, parsedSchemas);
 
 			if (processingUtils.isTypeInPackage(type, javaLangPackage)) {
 				SimpleEntry<Type, Format> typeAndFormat = getJavaLangTypeAndFormat(type);
@@ -110,7 +108,7 @@ public class JavaUtilTypeMirrorMapper extends AbstractTypeMirrorMapper {
 			schema.setType(Type.ARRAY);
 
 			TypeMirror type = processingUtils.removeEnclosingType(typeMirror, Set.class)[0];
-			Map<TypeMirror, Schema> propertySchemaMap = recursion(type, schemaMap);
+			Map<TypeMirror, Schema> propertySchemaMap = recursion(type, parsedSchemas);
 
 			if (processingUtils.isTypeInPackage(type, javaLangPackage)) {
 				SimpleEntry<Type, Format> typeAndFormat = getJavaLangTypeAndFormat(type);
@@ -141,7 +139,7 @@ public class JavaUtilTypeMirrorMapper extends AbstractTypeMirrorMapper {
 			schema.setType(Type.OBJECT);
 
 			TypeMirror type = processingUtils.removeEnclosingType(typeMirror, Map.class)[1];
-			Map<TypeMirror, Schema> propertySchemaMap = recursion(type, schemaMap);
+			Map<TypeMirror, Schema> propertySchemaMap = recursion(type, parsedSchemas);
 
 			if (processingUtils.isTypeInPackage(type, javaLangPackage)) {
 				SimpleEntry<Type, Format> typeAndFormat = getJavaLangTypeAndFormat(type);
@@ -20,23 +20,16 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.github.chhorz.javadoc.JavaDoc;
 import com.github.chhorz.javadoc.tags.ParamTag;
-import com.github.chhorz.openapi.common.OpenAPIProcessor;
 import com.github.chhorz.openapi.common.domain.Reference;
 import com.github.chhorz.openapi.common.domain.Schema;
 import com.github.chhorz.openapi.common.domain.Schema.Type;
-import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
-import com.github.chhorz.openapi.common.util.LogUtils;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
 import com.github.chhorz.openapi.common.util.ProcessingUtils;
-import jakarta.validation.constraints.*;
 
 import javax.lang.model.element.*;
 import javax.lang.model.type.NoType;
 import javax.lang.model.type.TypeMirror;
-import javax.lang.model.util.Elements;
-import javax.lang.model.util.Types;
-import java.lang.annotation.Annotation;
 import java.util.*;
-import java.util.function.Function;
 
 public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 
@@ -47,13 +40,17 @@ public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 	private TypeMirror record;
 	private TypeMirror enumeration;
 
+	private ValidationConstraintReader validationConstraintReader;
+
 	@Override
-	public void setup(Elements elements, Types types, LogUtils logUtils, ParserProperties parserProperties, List<TypeMirrorMapper> typeMirrorMappers) {
-		super.setup(elements, types, logUtils, parserProperties, typeMirrorMappers);
+	public void setup(ProcessingContext processingContext) {
+		super.setup(processingContext);
 
 		object = elements.getTypeElement(Object.class.getCanonicalName()).asType();
 		record = elements.getTypeElement(Record.class.getCanonicalName()).asType();
 		enumeration = elements.getTypeElement(Enum.class.getCanonicalName()).asType();
+
+		validationConstraintReader = new ValidationConstraintReader(elements);
 	}
 
 	@Override
@@ -62,15 +59,13 @@ public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 	}
 
 	@Override
-	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap) {
+	public boolean isErasureBased() {
+		return true;
+	}
+
+	@Override
+	public Map<TypeMirror, Schema> map(TypeMirror typeMirror, ParsedSchemaRegistry parsedSchemas) {
 		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
-		if (parsedSchemaMap.entrySet().stream().anyMatch(entry -> entry.getKey().toString().equals(typeMirror.toString()))) {
-			return parsedSchemaMap;
-		} else {
-			parsedSchemaMap.entrySet().stream()
-				.filter(e -> e.getValue().getType().equals(Schema.Type.OBJECT) || e.getValue().getType().equals(Schema.Type.ENUM))
-				.forEach(entry -> schemaMap.put(entry.getKey(), entry.getValue()));
-		}
 
 		logUtils.logDebug("Parsing type: %s", typeMirror.toString());
 
@@ -81,10 +76,11 @@ public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 			schema.setDeprecated(true);
 		}
 
-		JavaDoc javaDoc = parser.parse(elements.getDocComment(element));
+		JavaDoc javaDoc = javaDocCache.getHtml(element);
 		schema.setDescription(javaDoc.getDescription());
 
 		schemaMap.put(typeMirror, schema);
+		parsedSchemas.register(typeMirror, schema);
 
 		schema.setType(Type.OBJECT);
 
@@ -111,7 +107,7 @@ public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 
 					logUtils.logDebug(String.format("Parsing attribute: %s", vElement));
 
-					JavaDoc propertyDoc = parser.parse(elements.getDocComment(vElement));
+					JavaDoc propertyDoc = javaDocCache.getHtml(vElement);
 
 					TypeMirror variableElementTypeMirror;
 
@@ -133,17 +129,21 @@ public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 					}
 
 					// lets do some recursion
-					Map<TypeMirror, Schema> propertySchemaMap = recursion(variableElementTypeMirror, schemaMap);
+					Map<TypeMirror, Schema> propertySchemaMap = recursion(variableElementTypeMirror, parsedSchemas);
 					// the schema is an object or enum -> we add it to the map
 					propertySchemaMap.entrySet()
 						.stream()
 						.filter(entry -> (Type.OBJECT.equals(entry.getValue().getType()) && entry.getValue().getAdditionalProperties() == null)
 							|| (Type.ENUM.equals(entry.getValue().getType())))
-						.forEach(entry -> schemaMap.put(entry.getKey(), entry.getValue()));
+						.forEach(entry -> {
+							schemaMap.put(entry.getKey(), entry.getValue());
+							parsedSchemas.register(entry.getKey(), entry.getValue());
+						});
 
+					final String variableTypeKey = ProcessingUtils.getTypeKey(variableElementTypeMirror);
 					propertySchemaMap.entrySet()
 						.stream()
-						.filter(entry -> entry.getKey().toString().equals(variableElementTypeMirror.toString()))
+						.filter(entry -> ProcessingUtils.getTypeKey(entry.getKey()).equals(variableTypeKey))
 						.forEach(entry -> {
 							final String propertyName = getPropertyName(vElement);
 
@@ -154,82 +154,7 @@ public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 							} else {
 								Schema propertySchema = entry.getValue();
 
-								if (OpenAPIProcessor.isClassAvailable("javax.validation.constraints.Min")) {
-									getValidationValue(vElement, javax.validation.constraints.NotNull.class, notNull -> true)
-										.ifPresent(notNull -> schema.addRequired(propertyName));
-									getValidationValue(vElement, javax.validation.constraints.Min.class, javax.validation.constraints.Min::value)
-										.ifPresent(propertySchema::setMinimum);
-									getValidationValue(vElement, javax.validation.constraints.Max.class, javax.validation.constraints.Max::value)
-										.ifPresent(propertySchema::setMaximum);
-									getValidationValue(vElement, javax.validation.constraints.Pattern.class, javax.validation.constraints.Pattern::regexp)
-										.ifPresent(propertySchema::setPattern);
-									getValidationValue(vElement, javax.validation.constraints.Size.class, javax.validation.constraints.Size::min)
-										.ifPresent(minSize -> {
-											if (processingUtils.isSameType(vElement.asType(), String.class)) {
-												propertySchema.setMinLength(minSize);
-											} else if (processingUtils.isAssignableTo(vElement.asType(), Collection.class)
-													   || processingUtils.isAssignableTo(vElement.asType(), Map.class)) {
-												propertySchema.setMinItems(minSize);
-											}
-										});
-									getValidationValue(vElement, javax.validation.constraints.Size.class, javax.validation.constraints.Size::max)
-										.filter(maxSize -> Integer.MAX_VALUE != maxSize)
-										.ifPresent(maxSize -> {
-											if (processingUtils.isSameType(vElement.asType(), String.class)) {
-												propertySchema.setMaxLength(maxSize);
-											} else if (processingUtils.isAssignableTo(vElement.asType(), Collection.class)
-													   || processingUtils.isAssignableTo(vElement.asType(), Map.class)) {
-												propertySchema.setMaxItems(maxSize);
-											}
-										});
-									getValidationValue(vElement, javax.validation.constraints.NotEmpty.class, notEmpty -> true)
-										.ifPresent(notEmpty -> {
-											if (processingUtils.isSameType(vElement.asType(), String.class)) {
-												propertySchema.setMinLength(1);
-											} else if (processingUtils.isAssignableTo(vElement.asType(), Collection.class)
-													   || processingUtils.isAssignableTo(vElement.asType(), Map.class)) {
-												propertySchema.setMinItems(1);
-											}
-										});
-								}
-								if (OpenAPIProcessor.isClassAvailable("jakarta.validation.constraints.Min")) {
-									getValidationValue(vElement, NotNull.class, notNull -> true)
-										.ifPresent(notNull -> schema.addRequired(propertyName));
-									getValidationValue(vElement, Min.class, Min::value)
-										.ifPresent(propertySchema::setMinimum);
-									getValidationValue(vElement, Max.class, Max::value)
-										.ifPresent(propertySchema::setMaximum);
-									getValidationValue(vElement, Pattern.class, Pattern::regexp)
-										.ifPresent(propertySchema::setPattern);
-									getValidationValue(vElement, Size.class, Size::min)
-										.ifPresent(minSize -> {
-											if (processingUtils.isSameType(vElement.asType(), String.class)) {
-												propertySchema.setMinLength(minSize);
-											} else if (processingUtils.isAssignableTo(vElement.asType(), Collection.class)
-													   || processingUtils.isAssignableTo(vElement.asType(), Map.class)) {
-												propertySchema.setMinItems(minSize);
-											}
-										});
-									getValidationValue(vElement, Size.class, Size::max)
-										.filter(maxSize -> Integer.MAX_VALUE != maxSize)
-										.ifPresent(maxSize -> {
-											if (processingUtils.isSameType(vElement.asType(), String.class)) {
-												propertySchema.setMaxLength(maxSize);
-											} else if (processingUtils.isAssignableTo(vElement.asType(), Collection.class)
-													   || processingUtils.isAssignableTo(vElement.asType(), Map.class)) {
-												propertySchema.setMaxItems(maxSize);
-											}
-										});
-									getValidationValue(vElement, NotEmpty.class, notEmpty -> true)
-										.ifPresent(notEmpty -> {
-											if (processingUtils.isSameType(vElement.asType(), String.class)) {
-												propertySchema.setMinLength(1);
-											} else if (processingUtils.isAssignableTo(vElement.asType(), Collection.class)
-													   || processingUtils.isAssignableTo(vElement.asType(), Map.class)) {
-												propertySchema.setMinItems(1);
-											}
-										});
-								}
+								applyValidationConstraints(validationConstraintReader.read(vElement), vElement.asType(), schema, propertyName, propertySchema);
 
 								if (propertyDoc.getDescription() == null || propertyDoc.getDescription().isEmpty()) {
 									javaDoc.getTags(ParamTag.class).stream()
@@ -259,7 +184,8 @@ public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 		if (processingUtils.isInterface(typeMirror) && parserProperties.getIncludeGetters()) {
 			types.directSupertypes(typeMirror).stream()
 				.filter(directSupertype -> processingUtils.doesTypeDiffer(directSupertype, object))
-				.map(t -> recursion(t, schemaMap))
+				// schemas of the super types are only used for their properties and must not be visible afterwards
+				.map(t -> recursion(t, parsedSchemas.createScope()))
 				.flatMap(typeMirrorSchemaMap -> typeMirrorSchemaMap.values().stream())
 				.map(Schema::getProperties)
 				.filter(Objects::nonNull)
@@ -286,17 +212,20 @@ public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 
 					logUtils.logDebug(String.format("Parsing getter: %s", executableElement));
 
-					JavaDoc getterDoc = parser.parse(elements.getDocComment(executableElement));
+					JavaDoc getterDoc = javaDocCache.getHtml(executableElement);
 
 					// lets do some recursion
-					Map<TypeMirror, Schema> propertySchemaMap = recursion(executableElement.getReturnType(), schemaMap);
+					Map<TypeMirror, Schema> propertySchemaMap = recursion(executableElement.getReturnType(), parsedSchemas);
 					// the schema is an object or enum -> we add it to the map
 					propertySchemaMap.entrySet()
 						.stream()
 						.filter(entry -> !entry.getKey().toString().equals(executableElement.getReturnType().toString()))
 						.filter(entry -> Type.OBJECT.equals(entry.getValue().getType())
 							|| Type.ENUM.equals(entry.getValue().getType()))
-						.forEach(entry -> schemaMap.put(entry.getKey(), entry.getValue()));
+						.forEach(entry -> {
+							schemaMap.put(entry.getKey(), entry.getValue());
+							parsedSchemas.register(entry.getKey(), entry.getValue());
+						});
 
 					propertySchemaMap.entrySet()
 						.stream()
@@ -338,12 +267,38 @@ public class ObjectTypeMirrorMapper extends AbstractTypeMirrorMapper {
 		return valid;
 	}
 
-	private <A extends Annotation, V> Optional<V> getValidationValue(final Element element, final Class<A> clazz, final Function<A, V> valueProvider) {
-		A annotation = element.getAnnotation(clazz);
-		if (annotation != null) {
-			return Optional.ofNullable(valueProvider.apply(annotation));
-		} else {
-			return Optional.empty();
+	private void applyValidationConstraints(final ValidationConstraints constraints, final TypeMirror propertyType, final Schema schema,
+											final String propertyName, final Schema propertySchema) {
+		if (constraints.required()) {
+			schema.addRequired(propertyName);
+		}
+		if (constraints.minimum() != null) {
+			propertySchema.setMinimum(constraints.minimum());
+		}
+		if (constraints.maximum() != null) {
+			propertySchema.setMaximum(constraints.maximum());
+		}
+		if (constraints.pattern() != null) {
+			propertySchema.setPattern(constraints.pattern());
+		}
+		if (constraints.hasSizeConstraint()) {
+			Integer minSize = constraints.notEmpty() ? Integer.valueOf(1) : constraints.minSize();
+			if (processingUtils.isSameType(propertyType, String.class)) {
+				if (minSize != null) {
+					propertySchema.setMinLength(minSize);
+				}
+				if (constraints.maxSize() != null) {
+					propertySchema.setMaxLength(constraints.maxSize());
+				}
+			} else if (processingUtils.isAssignableTo(propertyType, Collection.class)
+					   || processingUtils.isAssignableTo(propertyType, Map.class)) {
+				if (minSize != null) {
+					propertySchema.setMinItems(minSize);
+				}
+				if (constraints.maxSize() != null) {
+					propertySchema.setMaxItems(constraints.maxSize());
+				}
+			}
 		}
 	}
 
@@ -0,0 +1,111 @@
+/**
+ *
+ * Copyright 2018-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.chhorz.openapi.common.spi.mapping;
+
+import com.github.chhorz.openapi.common.domain.Schema;
+import com.github.chhorz.openapi.common.util.ProcessingUtils;
+
+import javax.lang.model.type.TypeMirror;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registry of all types that were already visited during the mapping of a single type. All {@link TypeMirrorMapper}s
+ * share one registry instance through the recursion, so a type that was already parsed is resolved by a lookup of its
+ * canonical key (see {@link ProcessingUtils#getTypeKey(TypeMirror)}) instead of being mapped again.
+ *
+ * @author chhorz
+ */
+public final class ParsedSchemaRegistry {
+
+	private final ParsedSchemaRegistry parent;
+	private final Map<String, Map.Entry<TypeMirror, Schema>> parsedSchemas = new HashMap<>();
+
+	public ParsedSchemaRegistry() {
+		this(null);
+	}
+
+	private ParsedSchemaRegistry(final ParsedSchemaRegistry parent) {
+		this.parent = parent;
+	}
+
+	/**
+	 * Looks up the schema of an already visited type.
+	 *
+	 * @param typeMirror the requested type
+	 * @return the registered type and schema or {@link Optional#empty()} if the type was not visited yet
+	 */
+	public Optional<Map.Entry<TypeMirror, Schema>> find(final TypeMirror typeMirror) {
+		return Optional.ofNullable(find(ProcessingUtils.getTypeKey(typeMirror)));
+	}
+
+	private Map.Entry<TypeMirror, Schema> find(final String typeKey) {
+		Map.Entry<TypeMirror, Schema> entry = parsedSchemas.get(typeKey);
+		if (entry == null && parent != null) {
+			return parent.find(typeKey);
+		}
+		return entry;
+	}
+
+	/**
+	 * Checks if the given type was already visited.
+	 *
+	 * @param typeMirror the requested type
+	 * @return {@code true} if a schema is registered for the type
+	 */
+	public boolean contains(final TypeMirror typeMirror) {
+		return find(ProcessingUtils.getTypeKey(typeMirror)) != null;
+	}
+
+	/**
+	 * Registers the schema of a visited type. An already registered schema for the same type will not be replaced.
+	 *
+	 * @param typeMirror the visited type
+	 * @param schema the schema of the type
+	 */
+	public void register(final TypeMirror typeMirror, final Schema schema) {
+		final String typeKey = ProcessingUtils.getTypeKey(typeMirror);
+		if (find(typeKey) == null) {
+			parsedSchemas.put(typeKey, new SimpleImmutableEntry<>(typeMirror, schema));
+		}
+	}
+
+	/**
+	 * Copies all registered types and schemas including the ones of the enclosing registries.
+	 *
+	 * @return a new map of all registered types
+	 */
+	public Map<TypeMirror, Schema> toMap() {
+		Map<TypeMirror, Schema> schemaMap = parent != null ? parent.toMap() : new LinkedHashMap<>();
+		parsedSchemas.values().forEach(entry -> schemaMap.putIfAbsent(entry.getKey(), entry.getValue()));
+		return schemaMap;
+	}
+
+	/**
+	 * Creates a nested registry. All types of this registry are visible within the nested registry, but types that
+	 * are registered in the nested registry are discarded together with it.
+	 *
+	 * @return a new nested registry
+	 */
+	public ParsedSchemaRegistry createScope() {
+		return new ParsedSchemaRegistry(this);
+	}
+
+}
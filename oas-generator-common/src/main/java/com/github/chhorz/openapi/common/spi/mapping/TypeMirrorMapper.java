@@ -19,12 +19,16 @@ package com.github.chhorz.openapi.common.spi.mapping;
 import com.github.chhorz.openapi.common.domain.Schema;
 import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
 import com.github.chhorz.openapi.common.util.LogUtils;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
 
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Interface for mapper of java types to OpenAPI schema
@@ -35,14 +39,30 @@ public interface TypeMirrorMapper {
 
 	/**
 	 * Constructor method that will be used to fill custom classes.
+	 * <p>
+	 * The default implementation delegates to the deprecated setup method, so mappers written against an older
+	 * version of this interface are still set up.
+	 *
+	 * @param processingContext the shared context of the processing environment
+	 */
+	default void setup(ProcessingContext processingContext) {
+		setup(processingContext.getElements(), processingContext.getTypes(), processingContext.getLogUtils(),
+			processingContext.getParserProperties(), processingContext.getTypeMirrorMapperDispatcher().getTypeMirrorMappers());
+	}
+
+	/**
+	 * Constructor method that will be used to fill custom classes. The default implementation does nothing.
 	 *
 	 * @param elements
 	 * @param types
 	 * @param logUtils
 	 * @param parserProperties
 	 * @param typeMirrorMapper
+	 * @deprecated override {@link #setup(ProcessingContext)} instead
 	 */
-	void setup(Elements elements, Types types, LogUtils logUtils, ParserProperties parserProperties, List<TypeMirrorMapper> typeMirrorMapper);
+	@Deprecated
+	default void setup(Elements elements, Types types, LogUtils logUtils, ParserProperties parserProperties, List<TypeMirrorMapper> typeMirrorMapper) {
+	}
 
 	/**
 	 * Test method to check if the mapper supports the current type mirror.
@@ -52,13 +72,60 @@ public interface TypeMirrorMapper {
 	 */
 	boolean test(TypeMirror typeMirror);
 
+	/**
+	 * Declares the kinds of types that can be consumed by this mapper. The {@link #test(TypeMirror)} method is only
+	 * called for types of these kinds.
+	 *
+	 * @return the supported type kinds, all kinds by default
+	 */
+	default Set<TypeKind> getSupportedTypeKinds() {
+		return EnumSet.allOf(TypeKind.class);
+	}
+
+	/**
+	 * Declares if the result of {@link #test(TypeMirror)} only depends on the kind and the erasure of a type. In this
+	 * case the selected mapper is memoized for the erased type.
+	 *
+	 * @see TypeMirrorMapperDispatcher
+	 *
+	 * @return {@code true} if the test is based on the erasure, {@code false} by default
+	 */
+	default boolean isErasureBased() {
+		return false;
+	}
+
 	/**
 	 * Mapping method to map the java type to a map of OpenAPI schema.
 	 *
+	 * The returned map contains the schema of the given type and all schemas that were newly created for referenced
+	 * types. Schemas of types that are already contained in the registry must not be mapped again.
+	 *
+	 * The default implementation delegates to the deprecated {@link #map(TypeMirror, Map)} with a copy of the
+	 * registered schemas, so this method has to be overridden by all new mappers.
+	 *
+	 * @param typeMirror the java type
+	 * @param parsedSchemas the registry of all types that were already parsed
+	 * @return the OpenAPI schema map
+	 */
+	default Map<TypeMirror, Schema> map(TypeMirror typeMirror, ParsedSchemaRegistry parsedSchemas) {
+		return map(typeMirror, parsedSchemas.toMap());
+	}
+
+	/**
+	 * Mapping method to map the java type to a map of OpenAPI schema.
+	 *
+	 * Only mappers written against an older version of this interface override this method. The default
+	 * implementation throws an {@link IllegalStateException}, so a mapper that overrides neither of both methods
+	 * fails with a clear message.
+	 *
 	 * @param typeMirror the java type
 	 * @param parsedSchemaMap the OpenAPI schema map tha was already parsed
 	 * @return the OpenAPI schema map
+	 * @deprecated override {@link #map(TypeMirror, ParsedSchemaRegistry)} instead
 	 */
-	Map<TypeMirror, Schema> map(TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap);
+	@Deprecated
+	default Map<TypeMirror, Schema> map(TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap) {
+		throw new IllegalStateException(String.format("%s has to override map(TypeMirror, ParsedSchemaRegistry)", getClass().getName()));
+	}
 
 }
@@ -0,0 +1,135 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.spi.mapping;
+
+import com.github.chhorz.openapi.common.util.ProcessingContext;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Selects the {@link TypeMirrorMapper} for a type. The mappers are tested in their registration order, but mappers
+ * that do not support the kind of the type are skipped.
+ * <p>
+ * If all tested mappers declare that their decision only depends on the erasure of a type, the selected mapper is
+ * memoized for the erased type, so the selection for further types with the same erasure is a single lookup.
+ *
+ * @see TypeMirrorMapper#getSupportedTypeKinds()
+ * @see TypeMirrorMapper#isErasureBased()
+ *
+ * @author chhorz
+ */
+public final class TypeMirrorMapperDispatcher {
+
+	private final Types types;
+
+	private final List<TypeMirrorMapper> typeMirrorMappers;
+	private final List<Set<TypeKind>> supportedTypeKinds;
+
+	private final Map<String, Optional<TypeMirrorMapper>> dispatchTable = new HashMap<>();
+
+	/**
+	 * Creates a new dispatcher for the given mappers.
+	 *
+	 * @param types the type utils of the processing environment
+	 * @param typeMirrorMappers all registered mappers in the order they should be tested
+	 */
+	public TypeMirrorMapperDispatcher(final Types types, final List<TypeMirrorMapper> typeMirrorMappers) {
+		this.types = types;
+		this.typeMirrorMappers = List.copyOf(typeMirrorMappers);
+		this.supportedTypeKinds = typeMirrorMappers.stream()
+			.map(TypeMirrorMapper::getSupportedTypeKinds)
+			.collect(toList());
+	}
+
+	/**
+	 * Returns all registered mappers in the order they are tested.
+	 *
+	 * @return the registered type mirror mappers
+	 */
+	public List<TypeMirrorMapper> getTypeMirrorMappers() {
+		return typeMirrorMappers;
+	}
+
+	/**
+	 * Returns the first mapper that supports the given type.
+	 *
+	 * @param typeMirror the type that should be mapped
+	 * @return the mapper for the type or {@link Optional#empty()} if no mapper supports the type
+	 */
+	public Optional<TypeMirrorMapper> findMapper(final TypeMirror typeMirror) {
+		String dispatchKey = getDispatchKey(typeMirror);
+		if (dispatchKey != null) {
+			Optional<TypeMirrorMapper> typeMirrorMapper = dispatchTable.get(dispatchKey);
+			if (typeMirrorMapper != null) {
+				return typeMirrorMapper;
+			}
+		}
+
+		Optional<TypeMirrorMapper> typeMirrorMapper = Optional.empty();
+		boolean erasureBased = true;
+		for (int i = 0; i < typeMirrorMappers.size(); i++) {
+			TypeMirrorMapper mapper = typeMirrorMappers.get(i);
+			if (supportedTypeKinds.get(i).contains(typeMirror.getKind())) {
+				erasureBased &= mapper.isErasureBased();
+				if (mapper.test(typeMirror)) {
+					typeMirrorMapper = Optional.of(mapper);
+					break;
+				}
+			}
+		}
+
+		if (dispatchKey != null && erasureBased) {
+			dispatchTable.put(dispatchKey, typeMirrorMapper);
+		}
+		return typeMirrorMapper;
+	}
+
+	/**
+	 * Removes all memoized mappers.
+	 *
+	 * @see ProcessingContext#clearCaches()
+	 */
+	public void clear() {
+		dispatchTable.clear();
+	}
+
+	private String getDispatchKey(final TypeMirror typeMirror) {
+		TypeKind typeKind = typeMirror.getKind();
+		if (typeKind.isPrimitive()) {
+			return typeKind.name();
+		} else if (TypeKind.DECLARED.equals(typeKind)) {
+			String qualifiedName = ((TypeElement) ((DeclaredType) typeMirror).asElement()).getQualifiedName().toString();
+			// local and anonymous classes have no unique name
+			return qualifiedName.isEmpty() ? null : "L" + qualifiedName;
+		} else if (TypeKind.ARRAY.equals(typeKind)) {
+			return "[" + types.erasure(typeMirror);
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,124 @@
+/**
+ *
+ * Copyright 2018-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.chhorz.openapi.common.spi.mapping;
+
+import com.github.chhorz.openapi.common.OpenAPIProcessor;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads the bean validation constraints (javax and jakarta) of an element with a single pass over its annotation
+ * mirrors. The annotations are dispatched by their qualified name, so the constraint annotations do not have to be
+ * loaded by the processor.
+ * <p>
+ * Only the constraints of validation APIs that are available for the processor are read. The availability is checked
+ * once when the reader is created.
+ *
+ * @author chhorz
+ */
+public final class ValidationConstraintReader {
+
+	private static final String[] VALIDATION_PACKAGES = { "javax.validation.constraints", "jakarta.validation.constraints" };
+
+	private final Elements elements;
+
+	private final Map<String, BiConsumer<Builder, Map<String, Object>>> constraintHandlers = new HashMap<>();
+
+	/**
+	 * Creates a new reader for all available validation APIs.
+	 *
+	 * @param elements the element utils from the processing environment
+	 */
+	public ValidationConstraintReader(final Elements elements) {
+		this.elements = elements;
+
+		for (String validationPackage : VALIDATION_PACKAGES) {
+			if (OpenAPIProcessor.isClassAvailable(validationPackage + ".Min")) {
+				constraintHandlers.put(validationPackage + ".NotNull", (builder, values) -> builder.required = true);
+				constraintHandlers.put(validationPackage + ".Min", (builder, values) -> builder.minimum = (Long) values.get("value"));
+				constraintHandlers.put(validationPackage + ".Max", (builder, values) -> builder.maximum = (Long) values.get("value"));
+				constraintHandlers.put(validationPackage + ".Pattern", (builder, values) -> builder.pattern = (String) values.get("regexp"));
+				constraintHandlers.put(validationPackage + ".Size", (builder, values) -> {
+					builder.minSize = (Integer) values.get("min");
+					Integer maxSize = (Integer) values.get("max");
+					builder.maxSize = maxSize != null && maxSize != Integer.MAX_VALUE ? maxSize : null;
+				});
+				constraintHandlers.put(validationPackage + ".NotEmpty", (builder, values) -> builder.notEmpty = true);
+			}
+		}
+	}
+
+	/**
+	 * Reads the validation constraints of the given element.
+	 *
+	 * @param element the annotated field or method
+	 * @return the constraints of the element or {@link ValidationConstraints#NONE}
+	 */
+	public ValidationConstraints read(final Element element) {
+		List<? extends AnnotationMirror> annotationMirrors = element.getAnnotationMirrors();
+		if (constraintHandlers.isEmpty() || annotationMirrors.isEmpty()) {
+			return ValidationConstraints.NONE;
+		}
+
+		Builder builder = null;
+		for (AnnotationMirror annotationMirror : annotationMirrors) {
+			String annotationName = ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().toString();
+			BiConsumer<Builder, Map<String, Object>> constraintHandler = constraintHandlers.get(annotationName);
+			if (constraintHandler != null) {
+				if (builder == null) {
+					builder = new Builder();
+				}
+				constraintHandler.accept(builder, getValues(annotationMirror));
+			}
+		}
+
+		return builder != null ? builder.build() : ValidationConstraints.NONE;
+	}
+
+	private Map<String, Object> getValues(final AnnotationMirror annotationMirror) {
+		Map<String, Object> values = new HashMap<>();
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(annotationMirror).entrySet()) {
+			values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+		}
+		return values;
+	}
+
+	private static final class Builder {
+
+		private boolean required;
+		private Long minimum;
+		private Long maximum;
+		private String pattern;
+		private Integer minSize;
+		private Integer maxSize;
+		private boolean notEmpty;
+
+		ValidationConstraints build() {
+			return new ValidationConstraints(required, minimum, maximum, pattern, minSize, maxSize, notEmpty);
+		}
+	}
+
+}
@@ -0,0 +1,51 @@
+/**
+ *
+ * Copyright 2018-2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.chhorz.openapi.common.spi.mapping;
+
+/**
+ * The bean validation constraints of a single property.
+ *
+ * @see ValidationConstraintReader
+ *
+ * @param required the flag if the property is annotated with {@code @NotNull}
+ * @param minimum the value of {@code @Min} or {@code null}
+ * @param maximum the value of {@code @Max} or {@code null}
+ * @param pattern the regular expression of {@code @Pattern} or {@code null}
+ * @param minSize the minimal size of {@code @Size} or {@code null}
+ * @param maxSize the maximal size of {@code @Size} or {@code null} if the size is unbounded
+ * @param notEmpty the flag if the property is annotated with {@code @NotEmpty}
+ *
+ * @author chhorz
+ */
+public record ValidationConstraints(boolean required, Long minimum, Long maximum, String pattern, Integer minSize,
+									Integer maxSize, boolean notEmpty) {
+
+	/**
+	 * The constraints of a property without any validation annotation.
+	 */
+	public static final ValidationConstraints NONE = new ValidationConstraints(false, null, null, null, null, null, false);
+
+	/**
+	 * Checks if the size of the property is constrained, which has to be mapped depending on the property type.
+	 *
+	 * @return {@code true} if the property has a size constraint
+	 */
+	public boolean hasSizeConstraint() {
+		return minSize != null || maxSize != null || notEmpty;
+	}
+
+}
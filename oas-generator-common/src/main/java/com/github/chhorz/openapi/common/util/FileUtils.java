@@ -18,33 +18,64 @@ package com.github.chhorz.openapi.common.util;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
 import com.github.chhorz.openapi.common.domain.OpenAPI;
+import com.github.chhorz.openapi.common.domain.Schema;
 import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
 import com.github.chhorz.openapi.common.spi.FileWriterProvider;
 import com.github.chhorz.openapi.common.spi.OpenAPIPostProcessor;
-import com.github.chhorz.openapi.common.spi.PostProcessorProvider;
 import com.github.chhorz.openapi.common.spi.PostProcessorType;
+import com.github.chhorz.openapi.common.spi.ServiceRegistry;
 
-import java.io.File;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
-import java.util.ServiceLoader;
-import java.util.stream.StreamSupport;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
 
 import static com.github.chhorz.openapi.common.spi.PostProcessorType.*;
-import static java.util.ServiceLoader.load;
+import static java.util.Collections.emptyMap;
 import static java.util.stream.Collectors.toList;
 
 public class FileUtils {
 
+	private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+	private static final TypeReference<Map<String, Schema>> SCHEMA_MAP_TYPE = new TypeReference<>() {};
+
+	/**
+	 * The parsed schemas of all schema files that were read by any processor of the JVM.
+	 */
+	private static final Map<SchemaFileKey, Map<String, Schema>> SCHEMA_FILE_CACHE = new ConcurrentHashMap<>();
+
 	private final ParserProperties properties;
 
 	private final LogUtils logUtils;
@@ -52,49 +83,74 @@ public class FileUtils {
 	private final ObjectMapper objectMapper;
 	private final ObjectMapper yamlObjectMapper;
 
-	private final List<OpenAPIPostProcessor> openAPIPostProcessors;
+	private ServiceRegistry serviceRegistry;
+	private List<OpenAPIPostProcessor> openAPIPostProcessors;
 
 	public FileUtils(final LogUtils logUtils, final ParserProperties properties) {
+		this(logUtils, properties, null);
+	}
+
+	/**
+	 * Creates the file utils with the service registry of the processor. If no registry is given, a new registry is
+	 * created when the post processors are required.
+	 *
+	 * @param logUtils the logger of the processor
+	 * @param properties the configuration of the parser
+	 * @param serviceRegistry the registry of the processor or {@code null}
+	 */
+	public FileUtils(final LogUtils logUtils, final ParserProperties properties, final ServiceRegistry serviceRegistry) {
 		this.logUtils = logUtils;
 		this.properties = properties;
+		this.serviceRegistry = serviceRegistry;
 
 		objectMapper = configureObjectMapper(new ObjectMapper());
 		yamlObjectMapper = configureObjectMapper(new ObjectMapper(new YAMLFactory()
 				.disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
 				.disable(YAMLGenerator.Feature.SPLIT_LINES)));
+	}
 
-		// instantiate post processors for string and file types
-		ServiceLoader<PostProcessorProvider> serviceLoader = load(PostProcessorProvider.class, getClass().getClassLoader());
-
-		openAPIPostProcessors = StreamSupport.stream(serviceLoader.spliterator(), false)
-			.filter(provider -> !(provider instanceof FileWriterProvider))
-			.map(provider -> provider.create(logUtils, properties))
-			.filter(postProcessor -> !postProcessor.getPostProcessorType().contains(PostProcessorType.DOMAIN_OBJECT))
-			.collect(toList());
+	/**
+	 * Instantiates the post processors for string and file types. They are only required for writing, so reading
+	 * files does not create any post processor.
+	 */
+	private void initializePostProcessors() {
+		if (openAPIPostProcessors == null) {
+			if (serviceRegistry == null) {
+				serviceRegistry = new ServiceRegistry(getClass().getClassLoader());
+			}
+			openAPIPostProcessors = serviceRegistry
+				.createPostProcessors(provider -> !(provider instanceof FileWriterProvider), logUtils, properties)
+				.stream()
+				.filter(postProcessor -> !postProcessor.getPostProcessorType().contains(PostProcessorType.DOMAIN_OBJECT))
+				.collect(toList());
+		}
 	}
 
 	/**
 	 * Writes the given OpenAPI object to <i>.json</i> and <i>.yaml</i> files. Which files are written is configurable
 	 * within the property file.
+	 * <p>
+	 * Both files are serialized concurrently and streamed directly into the files. The first file is serialized on the
+	 * common fork-join pool, the second one on the calling thread. The content is only kept in memory
+	 * as a string, if a post processor for {@link PostProcessorType#JSON_STRING} or
+	 * {@link PostProcessorType#YAML_STRING} is registered. All post processors are executed on the calling thread.
+	 * <p>
+	 * If unchanged files should be skipped, an existing file is only replaced if its content changed. The post
+	 * processors for {@link PostProcessorType#JSON_FILE} and {@link PostProcessorType#YAML_FILE} are not executed for
+	 * an unchanged file.
+	 *
+	 * @see ParserProperties#getSkipUnchangedFiles()
 	 *
 	 * @param openAPI the generated OpenAPI object
 	 */
 	public void writeToFile(final OpenAPI openAPI) {
+		initializePostProcessors();
+
+		Map<Path, OutputFormat> outputFiles = new LinkedHashMap<>();
 		if (properties.hasJsonOutputFormat()) {
 			Path outputFile = createOutputFile(properties.getOutputDir(), properties.getOutputFile(), ".json");
 			if (outputFile != null) {
-				try {
-					String openApiJsonString = objectMapper.writeValueAsString(openAPI);
-					openAPIPostProcessors.stream()
-						.filter(postProcessor -> postProcessor.getPostProcessorType().contains(JSON_STRING))
-						.forEach(postProcessor -> postProcessor.execute(openApiJsonString, JSON_STRING));
-					Files.write(outputFile, openApiJsonString.getBytes());
-				} catch (IOException e) {
-					logUtils.logError("Could not write .json file", e);
-				}
-				openAPIPostProcessors.stream()
-					.filter(postProcessor -> postProcessor.getPostProcessorType().contains(JSON_FILE))
-					.forEach(postProcessor -> postProcessor.execute(outputFile, JSON_FILE));
+				outputFiles.put(outputFile, new OutputFormat("json", objectMapper, JSON_STRING, JSON_FILE));
 			} else {
 				logUtils.logError("JSON output file is null.");
 			}
@@ -104,47 +160,303 @@ public class FileUtils {
 		if (properties.hasYamlOutputFormat()) {
 			Path yamlOutputFile = createOutputFile(properties.getOutputDir(), properties.getOutputFile(), ".yaml");
 			if (yamlOutputFile != null) {
-				try {
-					String openApiYamlString = yamlObjectMapper.writeValueAsString(openAPI);
-					openAPIPostProcessors.stream()
-						.filter(postProcessor -> postProcessor.getPostProcessorType().contains(YAML_STRING))
-						.forEach(postProcessor -> postProcessor.execute(openApiYamlString, YAML_STRING));
-					Files.write(yamlOutputFile, openApiYamlString.getBytes());
-				} catch (IOException e) {
-					logUtils.logError("Could not write .yaml file", e);
-				}
-				openAPIPostProcessors.stream()
-					.filter(postProcessor -> postProcessor.getPostProcessorType().contains(YAML_FILE))
-					.forEach(postProcessor -> postProcessor.execute(yamlOutputFile, YAML_FILE));
+				outputFiles.put(yamlOutputFile, new OutputFormat("yaml", yamlObjectMapper, YAML_STRING, YAML_FILE));
 			} else {
 				logUtils.logError("YAML output file is null.");
 			}
 		} else {
 			logUtils.logDebug("YAML output is disabled in property file");
 		}
+
+		if (outputFiles.isEmpty()) {
+			return;
+		}
+
+		Map<Path, FutureTask<SerializedOutput>> serializations = new LinkedHashMap<>();
+		outputFiles.forEach((outputFile, outputFormat) -> serializations.put(outputFile,
+			new FutureTask<>(() -> serialize(openAPI, outputFile, outputFormat))));
+
+		// the messager of the compiler is not thread-safe, so the serialization must not log
+		List<FutureTask<SerializedOutput>> serializationTasks = new ArrayList<>(serializations.values());
+		serializationTasks.subList(0, serializationTasks.size() - 1).forEach(ForkJoinPool.commonPool()::execute);
+		serializationTasks.get(serializationTasks.size() - 1).run();
+
+		try {
+			for (Map.Entry<Path, FutureTask<SerializedOutput>> serialization : serializations.entrySet()) {
+				Path outputFile = serialization.getKey();
+				OutputFormat outputFormat = outputFiles.get(outputFile);
+				boolean written = true;
+				try {
+					SerializedOutput serializedOutput = serialization.getValue().get();
+					if (serializedOutput.content() != null) {
+						getPostProcessors(outputFormat.stringType())
+							.forEach(postProcessor -> executeTimed(postProcessor, () -> postProcessor.execute(serializedOutput.content(), outputFormat.stringType())));
+					}
+					written = serializedOutput.written();
+				} catch (ExecutionException e) {
+					logUtils.logError("Could not write .%s file", toException(e.getCause()), outputFormat.name());
+				}
+				if (written) {
+					getPostProcessors(outputFormat.fileType())
+						.forEach(postProcessor -> executeTimed(postProcessor, () -> postProcessor.execute(outputFile, outputFormat.fileType())));
+				} else {
+					logUtils.logInfo("Skipped writing of unchanged .%s file %s", outputFormat.name(), outputFile);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logUtils.logError("Writing of output files was interrupted", e);
+		}
 	}
 
-	public Optional<OpenAPI> readOpenAPIObjectFromFile() {
-		if (properties.getSchemaFile() != null) {
-			final String sourceFileName;
-			if (properties.getSchemaFile().toLowerCase().endsWith(".json")){
-				sourceFileName = properties.getSchemaFile();
+	/**
+	 * Serializes the OpenAPI object into the given file.
+	 *
+	 * @return the serialized content, if a string post processor for the output format is registered, and the flag if
+	 * the file was written
+	 */
+	private SerializedOutput serialize(final OpenAPI openAPI, final Path outputFile, final OutputFormat outputFormat) throws IOException {
+		GenerationMetrics metrics = logUtils.getMetrics();
+		try (GenerationMetrics.Timer timer = metrics.startTimer(GenerationMetrics.PHASE_SERIALIZATION + "." + outputFormat.name())) {
+			final String content;
+			final ContentWriter<IOException> contentWriter;
+			if (!getPostProcessors(outputFormat.stringType()).isEmpty()) {
+				content = outputFormat.objectMapper().writeValueAsString(openAPI);
+				byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+				contentWriter = outputStream -> outputStream.write(bytes);
 			} else {
-				sourceFileName = properties.getSchemaFile() + ".json";
+				content = null;
+				contentWriter = outputStream -> outputFormat.objectMapper().writeValue(outputStream, openAPI);
 			}
 
-			File sourceFile = Paths.get(properties.getSchemaDir(), sourceFileName).toFile();
-			if (sourceFile.exists()) {
-				try {
-					return Optional.ofNullable(objectMapper.readValue(sourceFile, OpenAPI.class));
-				} catch (IOException e) {
-					logUtils.logError("Could not read schema file", e);
+			if (properties.getSkipUnchangedFiles()) {
+				boolean written = writeIfChanged(outputFile, contentWriter);
+				if (written) {
+					metrics.add(GenerationMetrics.COUNTER_BYTES_WRITTEN, Files.size(outputFile));
+				}
+				return new SerializedOutput(content, written);
+			}
+
+			try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(outputFile), OUTPUT_BUFFER_SIZE)) {
+				contentWriter.write(outputStream);
+			}
+			metrics.add(GenerationMetrics.COUNTER_BYTES_WRITTEN, Files.size(outputFile));
+			return new SerializedOutput(content, true);
+		}
+	}
+
+	/**
+	 * Writes the content of the given writer to a file, but keeps an existing file untouched if it already has the
+	 * same content. The new content is written to a temporary file next to the target file while its hash is
+	 * calculated, the existing file is hashed as a stream. The temporary file replaces the target file only if the
+	 * hashes differ.
+	 *
+	 * @param file the target file
+	 * @param contentWriter writes the content into the given stream
+	 * @param <E> the exception type of the content writer
+	 * @return {@code true} if the file was written, {@code false} if the existing file was unchanged
+	 * @throws IOException if the file could not be written
+	 * @throws E if the content writer failed
+	 */
+	public static <E extends Exception> boolean writeIfChanged(final Path file, final ContentWriter<E> contentWriter) throws IOException, E {
+		Path directory = file.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+
+		Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			MessageDigest digest = createMessageDigest();
+			try (OutputStream outputStream = new BufferedOutputStream(new DigestOutputStream(Files.newOutputStream(temporaryFile), digest), OUTPUT_BUFFER_SIZE)) {
+				contentWriter.write(outputStream);
+			}
+
+			if (Files.isRegularFile(file)
+				&& Files.size(file) == Files.size(temporaryFile)
+				&& MessageDigest.isEqual(digest.digest(), createDigest(file))) {
+				return false;
+			}
+
+			try {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return true;
+		} finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	private static byte[] createDigest(final Path file) throws IOException {
+		MessageDigest digest = createMessageDigest();
+		byte[] buffer = new byte[OUTPUT_BUFFER_SIZE];
+		try (InputStream inputStream = Files.newInputStream(file)) {
+			int length;
+			while ((length = inputStream.read(buffer)) != -1) {
+				digest.update(buffer, 0, length);
+			}
+		}
+		return digest.digest();
+	}
+
+	private static MessageDigest createMessageDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	private List<OpenAPIPostProcessor> getPostProcessors(final PostProcessorType postProcessorType) {
+		return openAPIPostProcessors.stream()
+			.filter(postProcessor -> postProcessor.getPostProcessorType().contains(postProcessorType))
+			.collect(toList());
+	}
+
+	private void executeTimed(final OpenAPIPostProcessor postProcessor, final Runnable execution) {
+		try (GenerationMetrics.Timer timer = logUtils.getMetrics().startTimer(GenerationMetrics.PHASE_POST_PROCESSING + "." + postProcessor.getClass().getSimpleName())) {
+			execution.run();
+		}
+	}
+
+	private static Exception toException(final Throwable throwable) {
+		return throwable instanceof Exception ? (Exception) throwable : new IllegalStateException(throwable);
+	}
+
+	/**
+	 * Writes the given metrics report as <i>.metrics.json</i> file next to the output files.
+	 *
+	 * @see ParserProperties#getWriteMetrics()
+	 *
+	 * @param metricsReport the metrics of the generation
+	 */
+	public void writeMetricsFile(final GenerationMetrics.MetricsReport metricsReport) {
+		Path metricsFile = Paths.get(properties.getOutputDir(), properties.getOutputFile() + ".metrics.json");
+		try {
+			Files.createDirectories(metricsFile.toAbsolutePath().getParent());
+			objectMapper.writeValue(metricsFile.toFile(), metricsReport);
+			logUtils.logInfo("Metrics written to %s", metricsFile);
+		} catch (IOException e) {
+			logUtils.logError("Could not write metrics file %s", e, metricsFile);
+		}
+	}
+
+	public Optional<OpenAPI> readOpenAPIObjectFromFile() {
+		Path sourceFile = getSchemaFile();
+		if (sourceFile != null && Files.exists(sourceFile)) {
+			try {
+				return Optional.ofNullable(getObjectMapper(sourceFile).readValue(sourceFile.toFile(), OpenAPI.class));
+			} catch (IOException e) {
+				logUtils.logError("Could not read schema file", e);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Reads only the schemas of the components from the configured schema file. The file is streamed and
+	 * all other parts of the file are skipped without creating any objects. The file may be a <i>.json</i>
+	 * or a <i>.yaml</i> file, a file name without extension is read as <i>.json</i> file.
+	 * <p>
+	 * The schemas are cached for the lifetime of the JVM, so a file is only parsed again if its size or modification
+	 * time changed. Every call returns new copies of the cached schemas.
+	 *
+	 * @see ParserProperties#getSchemaFile()
+	 *
+	 * @return the schemas of the file or {@link Optional#empty()} if there is no readable schema file
+	 */
+	public Optional<Map<String, Schema>> readSchemasFromFile() {
+		Path sourceFile = getSchemaFile();
+		if (sourceFile != null && Files.isRegularFile(sourceFile)) {
+			try {
+				BasicFileAttributes attributes = Files.readAttributes(sourceFile, BasicFileAttributes.class);
+				SchemaFileKey schemaFileKey = new SchemaFileKey(sourceFile.toAbsolutePath().normalize().toString(), attributes.size(),
+					attributes.lastModifiedTime().toMillis());
+
+				Map<String, Schema> schemas = SCHEMA_FILE_CACHE.get(schemaFileKey);
+				if (schemas == null) {
+					schemas = Collections.unmodifiableMap(parseSchemas(sourceFile));
+					// only the current version of a file is kept
+					SCHEMA_FILE_CACHE.keySet().removeIf(key -> key.path().equals(schemaFileKey.path()));
+					SCHEMA_FILE_CACHE.put(schemaFileKey, schemas);
 				}
+
+				Map<String, Schema> result = new TreeMap<>();
+				schemas.forEach((key, schema) -> result.put(key, SchemaUtils.copySchema(schema)));
+				return Optional.of(result);
+			} catch (IOException e) {
+				logUtils.logError("Could not read schema file", e);
 			}
 		}
 		return Optional.empty();
 	}
 
+	private Map<String, Schema> parseSchemas(final Path sourceFile) throws IOException {
+		ObjectMapper mapper = getObjectMapper(sourceFile);
+		// the file is not memory-mapped, a mapping would keep the cached file locked on some platforms
+		try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(sourceFile))) {
+			try (JsonParser parser = mapper.getFactory().createParser(inputStream)) {
+				if (parser.nextToken() != JsonToken.START_OBJECT) {
+					return emptyMap();
+				}
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String fieldName = parser.currentName();
+					if (parser.nextToken() == JsonToken.START_OBJECT && "components".equals(fieldName)) {
+						while (parser.nextToken() == JsonToken.FIELD_NAME) {
+							String componentName = parser.currentName();
+							if (parser.nextToken() == JsonToken.START_OBJECT && "schemas".equals(componentName)) {
+								// the rest of the file is not required
+								return mapper.readValue(parser, SCHEMA_MAP_TYPE);
+							}
+							parser.skipChildren();
+						}
+						return emptyMap();
+					}
+					parser.skipChildren();
+				}
+				return emptyMap();
+			}
+		}
+	}
+
+	private Path getSchemaFile() {
+		if (properties.getSchemaFile() == null) {
+			return null;
+		}
+
+		String schemaFile = properties.getSchemaFile();
+		String lowerCaseSchemaFile = schemaFile.toLowerCase(Locale.ROOT);
+		if (lowerCaseSchemaFile.endsWith(".json") || lowerCaseSchemaFile.endsWith(".yaml") || lowerCaseSchemaFile.endsWith(".yml")) {
+			return Paths.get(properties.getSchemaDir(), schemaFile);
+		}
+		return Paths.get(properties.getSchemaDir(), schemaFile + ".json");
+	}
+
+	private ObjectMapper getObjectMapper(final Path file) {
+		String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+		return fileName.endsWith(".yaml") || fileName.endsWith(".yml") ? yamlObjectMapper : objectMapper;
+	}
+
+	/**
+	 * Reads the previously generated OpenAPI file from the configured output directory. The <i>.json</i> file is
+	 * preferred, if both output formats are present.
+	 *
+	 * @return the previously generated OpenAPI object or {@link Optional#empty()} if there is no readable output file
+	 */
+	public Optional<OpenAPI> readOpenAPIObjectFromOutputFile() {
+		Path jsonFile = Paths.get(properties.getOutputDir(), properties.getOutputFile() + ".json");
+		Path yamlFile = Paths.get(properties.getOutputDir(), properties.getOutputFile() + ".yaml");
+		try {
+			if (Files.exists(jsonFile)) {
+				return Optional.ofNullable(objectMapper.readValue(jsonFile.toFile(), OpenAPI.class));
+			} else if (Files.exists(yamlFile)) {
+				return Optional.ofNullable(yamlObjectMapper.readValue(yamlFile.toFile(), OpenAPI.class));
+			}
+		} catch (IOException e) {
+			logUtils.logError("Could not read previous output file", e);
+		}
+		return Optional.empty();
+	}
+
 	private Path createOutputFile(String outputDir, String outputFile, String fileFormat){
 		Path outputPath = Paths.get(outputDir, outputFile + fileFormat);
 		if (!Files.exists(outputPath)) {
@@ -162,6 +474,27 @@ public class FileUtils {
 		}
 	}
 
+	/**
+	 * Writes content into an output stream.
+	 *
+	 * @param <E> the exception type that may be thrown in addition to an {@link IOException}
+	 */
+	@FunctionalInterface
+	public interface ContentWriter<E extends Exception> {
+
+		void write(OutputStream outputStream) throws IOException, E;
+
+	}
+
+	private record SerializedOutput(String content, boolean written) {
+	}
+
+	private record OutputFormat(String name, ObjectMapper objectMapper, PostProcessorType stringType, PostProcessorType fileType) {
+	}
+
+	private record SchemaFileKey(String path, long size, long lastModified) {
+	}
+
 	private ObjectMapper configureObjectMapper(ObjectMapper objectMapper){
 		objectMapper.configure(JsonGenerator.Feature.ESCAPE_NON_ASCII, true);
 		objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
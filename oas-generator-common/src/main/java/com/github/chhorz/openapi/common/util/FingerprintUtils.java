@@ -0,0 +1,504 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.chhorz.openapi.common.domain.Operation;
+import com.github.chhorz.openapi.common.domain.PathItemObject;
+import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Elements;
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toCollection;
+
+/**
+ * Utility class to create fingerprints of source elements and to persist them in an index next to the generated
+ * output file. The index is used to reuse the operations of unchanged types from a previously generated file.
+ *
+ * There are two kinds of fingerprints for a type:
+ * <ul>
+ *     <li>the <b>fingerprint</b> covers everything that contributes to the generated operations: the annotations,
+ *     the supertypes, the non-private methods with their parameters and all doc comments. It also covers the fields,
+ *     getters and enum constants of all types that are transitively referenced by the methods, because they define
+ *     the component schemas of the operations.</li>
+ *     <li>the <b>signature</b> only covers the information that is also available if the type is read from a class
+ *     file: no doc comments, no parameter names and no annotations with {@link RetentionPolicy#SOURCE}</li>
+ * </ul>
+ *
+ * @author chhorz
+ */
+public class FingerprintUtils {
+
+	private static final String INDEX_FILE_SUFFIX = ".fingerprints.json";
+	private static final String SCHEMA_REFERENCE_PREFIX = "#/components/schemas/";
+
+	private final Elements elements;
+	private final ParserProperties properties;
+	private final LogUtils logUtils;
+
+	private final ObjectMapper objectMapper;
+
+	public FingerprintUtils(final Elements elements, final ParserProperties properties, final LogUtils logUtils) {
+		this.elements = elements;
+		this.properties = properties;
+		this.logUtils = logUtils;
+
+		objectMapper = new ObjectMapper();
+		objectMapper.configure(JsonGenerator.Feature.ESCAPE_NON_ASCII, true);
+		objectMapper.configure(SerializationFeature.INDENT_OUTPUT, true);
+	}
+
+	/**
+	 * Creates the fingerprint of the given type including all doc comments and source annotations.
+	 *
+	 * @param typeElement the type with the operation methods
+	 * @return the fingerprint of the type
+	 */
+	public String createFingerprint(final TypeElement typeElement) {
+		return createHash(describe(typeElement, true).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Creates the signature of the given type. The signature is equal for the source and the class file representation
+	 * of a type.
+	 *
+	 * @param typeElement the type with the operation methods
+	 * @return the signature of the type
+	 */
+	public String createSignature(final TypeElement typeElement) {
+		return createHash(describe(typeElement, false).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads the fingerprint index of the previous generation from the configured output directory.
+	 *
+	 * @return the previous index or {@link Optional#empty()} if there is no readable index
+	 */
+	public Optional<FingerprintIndex> readIndex() {
+		Path indexFile = getIndexFile();
+		if (Files.exists(indexFile)) {
+			try {
+				return Optional.ofNullable(objectMapper.readValue(indexFile.toFile(), FingerprintIndex.class));
+			} catch (IOException e) {
+				logUtils.logError("Could not read fingerprint index %s", e, indexFile);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Writes the given fingerprint index to the configured output directory.
+	 *
+	 * @param fingerprintIndex the index of the current generation
+	 */
+	public void writeIndex(final FingerprintIndex fingerprintIndex) {
+		Path indexFile = getIndexFile();
+		try {
+			Files.createDirectories(indexFile.toAbsolutePath().getParent());
+			objectMapper.writeValue(indexFile.toFile(), fingerprintIndex);
+		} catch (IOException e) {
+			logUtils.logError("Could not write fingerprint index %s", e, indexFile);
+		}
+	}
+
+	/**
+	 * Finds the names of all component schemas that are referenced within the given domain object.
+	 *
+	 * @param value a domain object, e.g. an operation or a schema
+	 * @return the names of the referenced schemas
+	 */
+	public Set<String> findSchemaReferences(final Object value) {
+		return objectMapper.valueToTree(value)
+			.findValuesAsText("$ref")
+			.stream()
+			.filter(reference -> reference.startsWith(SCHEMA_REFERENCE_PREFIX))
+			.map(reference -> reference.substring(SCHEMA_REFERENCE_PREFIX.length()))
+			.collect(toCollection(LinkedHashSet::new));
+	}
+
+	private Path getIndexFile() {
+		return Paths.get(properties.getOutputDir(), properties.getOutputFile() + INDEX_FILE_SUFFIX);
+	}
+
+	private String describe(final TypeElement typeElement, final boolean includeSourceInformation) {
+		StringBuilder description = new StringBuilder();
+		description.append("type ").append(typeElement.getQualifiedName()).append('\n');
+		appendAnnotations(description, typeElement, includeSourceInformation);
+		appendDocComment(description, typeElement, includeSourceInformation);
+		if (typeElement.getSuperclass().getKind() != TypeKind.NONE) {
+			description.append("extends ").append(ProcessingUtils.getTypeKey(typeElement.getSuperclass())).append('\n');
+		}
+		typeElement.getInterfaces()
+			.forEach(interfaceType -> description.append("implements ").append(ProcessingUtils.getTypeKey(interfaceType)).append('\n'));
+
+		List<ExecutableElement> methods = typeElement.getEnclosedElements()
+			.stream()
+			.filter(element -> ElementKind.METHOD.equals(element.getKind()))
+			.filter(element -> !element.getModifiers().contains(Modifier.PRIVATE))
+			.filter(element -> Elements.Origin.EXPLICIT.equals(elements.getOrigin(element)))
+			.map(ExecutableElement.class::cast)
+			.toList();
+		methods.stream()
+			.map(executableElement -> describe(executableElement, includeSourceInformation))
+			.sorted()
+			.forEach(description::append);
+
+		appendReferencedTypes(description, typeElement, methods, includeSourceInformation);
+
+		return description.toString();
+	}
+
+	/**
+	 * Appends the descriptions of all types that are transitively referenced by the return and parameter types of the
+	 * given methods, because their fields and getters become the component schemas of the operations. Types of the
+	 * {@code java} packages are not described, but their type arguments are.
+	 */
+	private void appendReferencedTypes(final StringBuilder description, final TypeElement typeElement, final List<ExecutableElement> methods,
+									   final boolean includeSourceInformation) {
+		Map<String, String> referencedTypes = new TreeMap<>();
+		Set<String> visitedTypes = new HashSet<>();
+		Set<Element> visitedTypeVariables = new HashSet<>();
+		visitedTypes.add(typeElement.getQualifiedName().toString());
+
+		Deque<TypeMirror> pendingTypes = new ArrayDeque<>();
+		methods.forEach(method -> {
+			pendingTypes.add(method.getReturnType());
+			method.getParameters().forEach(parameter -> pendingTypes.add(parameter.asType()));
+		});
+
+		while (!pendingTypes.isEmpty()) {
+			TypeMirror typeMirror = pendingTypes.pop();
+			if (TypeKind.DECLARED.equals(typeMirror.getKind())) {
+				DeclaredType declaredType = (DeclaredType) typeMirror;
+				pendingTypes.addAll(declaredType.getTypeArguments());
+
+				TypeElement referencedType = (TypeElement) declaredType.asElement();
+				String typeName = referencedType.getQualifiedName().toString();
+				if (visitedTypes.add(typeName) && !typeName.startsWith("java.")) {
+					referencedTypes.put(typeName, describeReferencedType(referencedType, includeSourceInformation, pendingTypes));
+				}
+			} else if (TypeKind.ARRAY.equals(typeMirror.getKind())) {
+				pendingTypes.add(((ArrayType) typeMirror).getComponentType());
+			} else if (TypeKind.WILDCARD.equals(typeMirror.getKind())) {
+				WildcardType wildcardType = (WildcardType) typeMirror;
+				Stream.of(wildcardType.getExtendsBound(), wildcardType.getSuperBound())
+					.filter(Objects::nonNull)
+					.forEach(pendingTypes::add);
+			} else if (TypeKind.TYPEVAR.equals(typeMirror.getKind())) {
+				TypeVariable typeVariable = (TypeVariable) typeMirror;
+				if (visitedTypeVariables.add(typeVariable.asElement())) {
+					pendingTypes.add(typeVariable.getUpperBound());
+				}
+			}
+		}
+
+		referencedTypes.values().forEach(description::append);
+	}
+
+	private String describeReferencedType(final TypeElement typeElement, final boolean includeSourceInformation, final Deque<TypeMirror> pendingTypes) {
+		StringBuilder description = new StringBuilder();
+		description.append("references ").append(typeElement.getQualifiedName()).append('\n');
+		appendAnnotations(description, typeElement, includeSourceInformation);
+		appendDocComment(description, typeElement, includeSourceInformation);
+		if (typeElement.getSuperclass().getKind() != TypeKind.NONE) {
+			description.append("extends ").append(ProcessingUtils.getTypeKey(typeElement.getSuperclass())).append('\n');
+			pendingTypes.add(typeElement.getSuperclass());
+		}
+		typeElement.getInterfaces()
+			.forEach(interfaceType -> {
+				description.append("implements ").append(ProcessingUtils.getTypeKey(interfaceType)).append('\n');
+				pendingTypes.add(interfaceType);
+			});
+
+		typeElement.getEnclosedElements()
+			.stream()
+			.filter(element -> !Elements.Origin.SYNTHETIC.equals(elements.getOrigin(element)))
+			.forEach(element -> {
+				if (ElementKind.ENUM_CONSTANT.equals(element.getKind())) {
+					description.append("constant ").append(element.getSimpleName()).append('\n');
+				} else if (ElementKind.FIELD.equals(element.getKind()) && !element.getModifiers().contains(Modifier.STATIC)) {
+					description.append("field ").append(ProcessingUtils.getTypeKey(element.asType())).append(' ').append(element.getSimpleName()).append('\n');
+					pendingTypes.add(element.asType());
+				} else if (isGetter(element)) {
+					TypeMirror returnType = ((ExecutableElement) element).getReturnType();
+					description.append("getter ").append(ProcessingUtils.getTypeKey(returnType)).append(' ').append(element.getSimpleName()).append('\n');
+					pendingTypes.add(returnType);
+				} else {
+					return;
+				}
+				appendAnnotations(description, element, includeSourceInformation);
+				appendDocComment(description, element, includeSourceInformation);
+			});
+		return description.toString();
+	}
+
+	private static boolean isGetter(final Element element) {
+		if (!ElementKind.METHOD.equals(element.getKind()) || element.getModifiers().contains(Modifier.PRIVATE)
+			|| element.getModifiers().contains(Modifier.STATIC) || !((ExecutableElement) element).getParameters().isEmpty()) {
+			return false;
+		}
+		String name = element.getSimpleName().toString();
+		return name.startsWith("get") || name.startsWith("is");
+	}
+
+	private String describe(final ExecutableElement executableElement, final boolean includeSourceInformation) {
+		StringBuilder description = new StringBuilder();
+		description.append("method ")
+			.append(executableElement.getModifiers().stream().map(Modifier::toString).sorted().collect(joining(" ")))
+			.append(' ')
+			.append(ProcessingUtils.getTypeKey(executableElement.getReturnType()))
+			.append(' ')
+			.append(executableElement.getSimpleName())
+			.append('(')
+			.append(executableElement.getParameters()
+				.stream()
+				.map(parameter -> describe(parameter, includeSourceInformation))
+				.collect(joining(", ")))
+			.append(")\n");
+		appendAnnotations(description, executableElement, includeSourceInformation);
+		appendDocComment(description, executableElement, includeSourceInformation);
+		return description.toString();
+	}
+
+	private String describe(final VariableElement parameter, final boolean includeSourceInformation) {
+		StringBuilder description = new StringBuilder();
+		appendAnnotations(description, parameter, includeSourceInformation);
+		description.append(ProcessingUtils.getTypeKey(parameter.asType()));
+		if (includeSourceInformation) {
+			description.append(' ').append(parameter.getSimpleName());
+		}
+		return description.toString().replace('\n', ' ').trim();
+	}
+
+	private void appendAnnotations(final StringBuilder description, final Element element, final boolean includeSourceInformation) {
+		element.getAnnotationMirrors()
+			.stream()
+			.filter(annotationMirror -> includeSourceInformation || !isSourceAnnotation(annotationMirror))
+			.map(this::describe)
+			.sorted()
+			.forEach(annotation -> description.append(annotation).append('\n'));
+	}
+
+	private String describe(final AnnotationMirror annotationMirror) {
+		return "@" + ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName() +
+			annotationMirror.getElementValues()
+				.entrySet()
+				.stream()
+				.map(entry -> entry.getKey().getSimpleName() + "=" + entry.getValue())
+				.sorted()
+				.collect(joining(",", "(", ")"));
+	}
+
+	private void appendDocComment(final StringBuilder description, final Element element, final boolean includeSourceInformation) {
+		if (includeSourceInformation) {
+			String docComment = elements.getDocComment(element);
+			if (docComment != null) {
+				description.append("doc ").append(docComment.trim()).append('\n');
+			}
+		}
+	}
+
+	private static boolean isSourceAnnotation(final AnnotationMirror annotationMirror) {
+		Retention retention = annotationMirror.getAnnotationType().asElement().getAnnotation(Retention.class);
+		return retention != null && RetentionPolicy.SOURCE.equals(retention.value());
+	}
+
+	/**
+	 * Creates a SHA-256 hash of the given content.
+	 *
+	 * @param content the content
+	 * @return the hex encoded hash
+	 */
+	public static String createHash(final byte[] content) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not supported", e);
+		}
+	}
+
+	/**
+	 * Creates a SHA-256 hash of the given values.
+	 *
+	 * @param values the values
+	 * @return the hex encoded hash
+	 */
+	public static String createHash(final String... values) {
+		return createHash(Stream.of(values).collect(joining("\n")).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns the operation of the given HTTP method from a path item.
+	 *
+	 * @param pathItemObject the path item
+	 * @param method the HTTP method in lower case, e.g. {@code get}
+	 * @return the operation or {@code null} if the path item has no operation for the method
+	 */
+	public static Operation getOperation(final PathItemObject pathItemObject, final String method) {
+		switch (method) {
+			case "get":
+				return pathItemObject.getGet();
+			case "put":
+				return pathItemObject.getPut();
+			case "post":
+				return pathItemObject.getPost();
+			case "delete":
+				return pathItemObject.getDelete();
+			case "options":
+				return pathItemObject.getOptions();
+			case "head":
+				return pathItemObject.getHead();
+			case "patch":
+				return pathItemObject.getPatch();
+			case "trace":
+				return pathItemObject.getTrace();
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Sets the operation of the given HTTP method on a path item.
+	 *
+	 * @param pathItemObject the path item
+	 * @param method the HTTP method in lower case, e.g. {@code get}
+	 * @param operation the operation
+	 */
+	public static void setOperation(final PathItemObject pathItemObject, final String method, final Operation operation) {
+		switch (method) {
+			case "get":
+				pathItemObject.setGet(operation);
+				break;
+			case "put":
+				pathItemObject.setPut(operation);
+				break;
+			case "post":
+				pathItemObject.setPost(operation);
+				break;
+			case "delete":
+				pathItemObject.setDelete(operation);
+				break;
+			case "options":
+				pathItemObject.setOptions(operation);
+				break;
+			case "head":
+				pathItemObject.setHead(operation);
+				break;
+			case "patch":
+				pathItemObject.setPatch(operation);
+				break;
+			case "trace":
+				pathItemObject.setTrace(operation);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown HTTP method: " + method);
+		}
+	}
+
+	/**
+	 * Returns all HTTP methods of a path item whose operation has the given id.
+	 *
+	 * @param pathItemObject the path item
+	 * @param operationId the requested operation id
+	 * @return the HTTP methods in lower case
+	 */
+	public static List<String> getOperationMethods(final PathItemObject pathItemObject, final String operationId) {
+		return Stream.of("get", "put", "post", "delete", "options", "head", "patch", "trace")
+			.filter(method -> {
+				Operation operation = getOperation(pathItemObject, method);
+				return operation != null && operationId.equals(operation.getOperationId());
+			})
+			.toList();
+	}
+
+	/**
+	 * The persisted fingerprint index.
+	 *
+	 * @param context the hash of everything outside of the source types that influences the generation (generator
+	 *                version, processor options, configuration file, ...)
+	 * @param types the fingerprints of all types with operations, by their qualified name
+	 * @param dependencies the signatures of all types that influence every operation, by their qualified name
+	 */
+	public record FingerprintIndex(String context, Map<String, TypeFingerprint> types, Map<String, String> dependencies) {
+
+		public FingerprintIndex {
+			dependencies = dependencies != null ? dependencies : Collections.emptyMap();
+		}
+
+		public FingerprintIndex(final String context, final Map<String, TypeFingerprint> types) {
+			this(context, types, Collections.emptyMap());
+		}
+	}
+
+	/**
+	 * The fingerprints of a single type and the locations of the operations that were generated for it.
+	 *
+	 * @param fingerprint the fingerprint including doc comments
+	 * @param signature the signature that is independent of the source
+	 * @param operations the generated operations
+	 */
+	public record TypeFingerprint(String fingerprint, String signature, List<OperationLocation> operations) {
+	}
+
+	/**
+	 * The location of a generated operation within the OpenAPI file.
+	 *
+	 * @param path the path of the path item
+	 * @param method the HTTP method in lower case
+	 */
+	public record OperationLocation(String path, String method) {
+	}
+
+}
@@ -0,0 +1,258 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects timings and counters of a single generation. Every phase records the number of invocations, the elapsed
+ * time and the bytes allocated by the measuring thread. Phases may be nested, so the values of a phase always include
+ * the values of all phases that were started within it.
+ * <p>
+ * The metrics are shared by all components of a processor via {@link LogUtils#getMetrics()}, so post processors can
+ * report additional phases and counters. All methods are thread-safe. A disabled instance ignores all measurements.
+ *
+ * @author chhorz
+ */
+public class GenerationMetrics {
+
+	public static final String PHASE_JAVADOC = "javadoc";
+	public static final String PHASE_OPERATIONS = "operations";
+	public static final String PHASE_TYPE_MAPPING = "typeMapping";
+	public static final String PHASE_SERIALIZATION = "serialization";
+	public static final String PHASE_POST_PROCESSING = "postProcessing";
+
+	public static final String COUNTER_JAVADOCS_PARSED = "javadocsParsed";
+	public static final String COUNTER_JAVADOC_CACHE_HITS = "javadocCacheHits";
+	public static final String COUNTER_OPERATIONS = "operations";
+	public static final String COUNTER_OPERATIONS_REUSED = "operationsReused";
+	public static final String COUNTER_TYPES_MAPPED = "typesMapped";
+	public static final String COUNTER_SCHEMA_CACHE_HITS = "schemaCacheHits";
+	public static final String COUNTER_SCHEMA_CACHE_MISSES = "schemaCacheMisses";
+	public static final String COUNTER_PATHS = "paths";
+	public static final String COUNTER_SCHEMAS = "schemas";
+	public static final String COUNTER_BYTES_WRITTEN = "bytesWritten";
+
+	private static final GenerationMetrics DISABLED = new GenerationMetrics(false);
+	private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+	private final boolean enabled;
+
+	private final Map<String, PhaseRecorder> phases = new ConcurrentHashMap<>();
+	private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new {@link GenerationMetrics} instance.
+	 *
+	 * @param enabled the flag if measurements should be recorded
+	 */
+	public GenerationMetrics(final boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	/**
+	 * Returns a shared instance that ignores all measurements.
+	 *
+	 * @return the disabled metrics
+	 */
+	public static GenerationMetrics disabled() {
+		return DISABLED;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Starts the measurement of a phase. The measurement is recorded when the returned timer is closed, which has to
+	 * happen on the same thread.
+	 *
+	 * @param phase the name of the phase
+	 * @return the running timer
+	 */
+	public Timer startTimer(final String phase) {
+		if (!enabled) {
+			return Timer.NOOP;
+		}
+		return new Timer(this, phase, System.nanoTime(), getAllocatedBytes());
+	}
+
+	/**
+	 * Increments the given counter by one.
+	 *
+	 * @param counter the name of the counter
+	 */
+	public void increment(final String counter) {
+		add(counter, 1);
+	}
+
+	/**
+	 * Adds the given value to a counter.
+	 *
+	 * @param counter the name of the counter
+	 * @param value the value to add
+	 */
+	public void add(final String counter, final long value) {
+		if (enabled) {
+			counters.computeIfAbsent(counter, key -> new LongAdder()).add(value);
+		}
+	}
+
+	/**
+	 * Sets a counter to the given value.
+	 *
+	 * @param counter the name of the counter
+	 * @param value the new value
+	 */
+	public void set(final String counter, final long value) {
+		if (enabled) {
+			LongAdder adder = counters.computeIfAbsent(counter, key -> new LongAdder());
+			adder.reset();
+			adder.add(value);
+		}
+	}
+
+	/**
+	 * Returns the current value of a counter.
+	 *
+	 * @param counter the name of the counter
+	 * @return the value or {@code 0} if nothing was counted
+	 */
+	public long getCounter(final String counter) {
+		LongAdder adder = counters.get(counter);
+		return adder != null ? adder.sum() : 0;
+	}
+
+	/**
+	 * Creates a snapshot of all recorded phases and counters, sorted by their names.
+	 *
+	 * @param processor the name of the processor
+	 * @return the report of the current values
+	 */
+	public MetricsReport createReport(final String processor) {
+		Map<String, PhaseMetrics> phaseMetrics = new TreeMap<>();
+		phases.forEach((phase, recorder) -> phaseMetrics.put(phase, recorder.toPhaseMetrics()));
+
+		Map<String, Long> counterValues = new TreeMap<>();
+		counters.forEach((counter, adder) -> counterValues.put(counter, adder.sum()));
+
+		return new MetricsReport(processor, phaseMetrics, counterValues);
+	}
+
+	private void record(final String phase, final long nanos, final long allocatedBytes) {
+		phases.computeIfAbsent(phase, key -> new PhaseRecorder()).record(nanos, allocatedBytes);
+	}
+
+	private static long getAllocatedBytes() {
+		return THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : -1;
+	}
+
+	private static com.sun.management.ThreadMXBean getThreadMXBean() {
+		try {
+			if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+				&& threadMXBean.isThreadAllocatedMemorySupported()
+				&& threadMXBean.isThreadAllocatedMemoryEnabled()) {
+				return threadMXBean;
+			}
+		} catch (LinkageError | UnsupportedOperationException e) {
+			// the allocation measurement is optional
+		}
+		return null;
+	}
+
+	/**
+	 * A running measurement of a single phase.
+	 */
+	public static final class Timer implements AutoCloseable {
+
+		private static final Timer NOOP = new Timer(null, null, 0, -1);
+
+		private final GenerationMetrics metrics;
+		private final String phase;
+		private final long startNanos;
+		private final long startAllocatedBytes;
+
+		private Timer(final GenerationMetrics metrics, final String phase, final long startNanos, final long startAllocatedBytes) {
+			this.metrics = metrics;
+			this.phase = phase;
+			this.startNanos = startNanos;
+			this.startAllocatedBytes = startAllocatedBytes;
+		}
+
+		/**
+		 * Stops the measurement and records the phase.
+		 */
+		@Override
+		public void close() {
+			if (metrics != null) {
+				long allocatedBytes = startAllocatedBytes >= 0 ? getAllocatedBytes() - startAllocatedBytes : -1;
+				metrics.record(phase, System.nanoTime() - startNanos, allocatedBytes);
+			}
+		}
+	}
+
+	private static final class PhaseRecorder {
+
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder nanos = new LongAdder();
+		private final LongAdder allocatedBytes = new LongAdder();
+
+		private volatile boolean allocationMeasured = true;
+
+		void record(final long duration, final long allocation) {
+			invocations.increment();
+			nanos.add(duration);
+			if (allocation >= 0) {
+				allocatedBytes.add(allocation);
+			} else {
+				allocationMeasured = false;
+			}
+		}
+
+		PhaseMetrics toPhaseMetrics() {
+			return new PhaseMetrics(invocations.sum(),
+				(double) nanos.sum() / TimeUnit.MILLISECONDS.toNanos(1),
+				allocationMeasured ? allocatedBytes.sum() : null);
+		}
+	}
+
+	/**
+	 * The values of a single phase.
+	 *
+	 * @param invocations the number of measurements
+	 * @param durationMs the total elapsed time in milliseconds
+	 * @param allocatedBytes the total number of allocated bytes or {@code null} if the JVM cannot measure allocations
+	 */
+	public record PhaseMetrics(long invocations, double durationMs, Long allocatedBytes) {
+	}
+
+	/**
+	 * The machine-readable report of a generation.
+	 *
+	 * @param processor the name of the processor
+	 * @param phases the values of all phases
+	 * @param counters the values of all counters
+	 */
+	public record MetricsReport(String processor, Map<String, PhaseMetrics> phases, Map<String, Long> counters) {
+	}
+
+}
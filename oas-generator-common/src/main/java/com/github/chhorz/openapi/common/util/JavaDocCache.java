@@ -0,0 +1,176 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.util;
+
+import com.github.chhorz.javadoc.JavaDoc;
+import com.github.chhorz.javadoc.JavaDocParser;
+import com.github.chhorz.javadoc.JavaDocParserBuilder;
+import com.github.chhorz.javadoc.OutputType;
+import com.github.chhorz.openapi.common.javadoc.ResponseTag;
+import com.github.chhorz.openapi.common.javadoc.SecurityTag;
+import com.github.chhorz.openapi.common.javadoc.TagTag;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.util.Elements;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache for parsed Javadoc comments of elements. Every doc comment is read only once from the compiler. The MARKDOWN
+ * rendering (used for operations) and the HTML rendering (used for schemas) are parsed lazily when they are requested
+ * for the first time.
+ *
+ * The cache holds at most {@link #DEFAULT_MAXIMUM_SIZE} elements and is cleared with
+ * {@link ProcessingContext#clearCaches()}.
+ *
+ * @author chhorz
+ */
+public class JavaDocCache {
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+	private final Elements elements;
+
+	private final JavaDocParser markdownParser;
+	private final JavaDocParser htmlParser;
+
+	private final Map<Element, CachedJavaDoc> cache;
+
+	/**
+	 * Creates a new cache with the default MARKDOWN and HTML parsers.
+	 *
+	 * @param elements the element utils from the processing environment
+	 */
+	public JavaDocCache(final Elements elements) {
+		this(elements, createMarkdownParser());
+	}
+
+	/**
+	 * Creates a new cache with the given MARKDOWN parser and the default HTML parser.
+	 *
+	 * @param elements the element utils from the processing environment
+	 * @param markdownParser the parser for the MARKDOWN rendering
+	 */
+	public JavaDocCache(final Elements elements, final JavaDocParser markdownParser) {
+		this.elements = elements;
+		this.markdownParser = markdownParser;
+		this.htmlParser = JavaDocParserBuilder.withAllKnownTags().withOutputType(OutputType.HTML).build();
+		this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Element, CachedJavaDoc> eldest) {
+				return size() > DEFAULT_MAXIMUM_SIZE;
+			}
+		};
+	}
+
+	/**
+	 * Creates the parser for the MARKDOWN rendering. It knows all default tags and the additional OpenAPI tags.
+	 *
+	 * @return a new parser instance
+	 */
+	public static JavaDocParser createMarkdownParser() {
+		return JavaDocParserBuilder.withAllKnownTags()
+			.withTag(new ResponseTag())
+			.withTag(new SecurityTag())
+			.withTag(new TagTag())
+			.withOutputType(OutputType.MARKDOWN)
+			.build();
+	}
+
+	/**
+	 * Returns the raw doc comment of the given element.
+	 *
+	 * @param element the documented element
+	 * @return the doc comment or {@code null} if there is none
+	 */
+	public synchronized String getDocComment(final Element element) {
+		return getCachedJavaDoc(element).docComment;
+	}
+
+	/**
+	 * Returns the MARKDOWN rendering of the doc comment of the given element.
+	 *
+	 * @param element the documented element
+	 * @return the parsed Javadoc
+	 */
+	public synchronized JavaDoc getMarkdown(final Element element) {
+		CachedJavaDoc cachedJavaDoc = getCachedJavaDoc(element);
+		if (cachedJavaDoc.markdown == null) {
+			cachedJavaDoc.markdown = markdownParser.parse(cachedJavaDoc.docComment);
+		}
+		return cachedJavaDoc.markdown;
+	}
+
+	/**
+	 * Stores a MARKDOWN rendering that was parsed outside of this cache, e.g. on a worker thread.
+	 *
+	 * @param element the documented element
+	 * @param javaDoc the parsed Javadoc
+	 */
+	public synchronized void putMarkdown(final Element element, final JavaDoc javaDoc) {
+		getCachedJavaDoc(element).markdown = javaDoc;
+	}
+
+	/**
+	 * Checks if the MARKDOWN rendering of the given element was already parsed.
+	 *
+	 * @param element the documented element
+	 * @return {@code true} if the MARKDOWN rendering is cached
+	 */
+	public synchronized boolean hasMarkdown(final Element element) {
+		CachedJavaDoc cachedJavaDoc = cache.get(element);
+		return cachedJavaDoc != null && cachedJavaDoc.markdown != null;
+	}
+
+	/**
+	 * Returns the HTML rendering of the doc comment of the given element.
+	 *
+	 * @param element the documented element
+	 * @return the parsed Javadoc
+	 */
+	public synchronized JavaDoc getHtml(final Element element) {
+		CachedJavaDoc cachedJavaDoc = getCachedJavaDoc(element);
+		if (cachedJavaDoc.html == null) {
+			cachedJavaDoc.html = htmlParser.parse(cachedJavaDoc.docComment);
+		}
+		return cachedJavaDoc.html;
+	}
+
+	/**
+	 * Removes all cached doc comments.
+	 */
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+	private CachedJavaDoc getCachedJavaDoc(final Element element) {
+		return cache.computeIfAbsent(element, e -> new CachedJavaDoc(elements.getDocComment(e)));
+	}
+
+	private static class CachedJavaDoc {
+
+		private final String docComment;
+		private JavaDoc markdown;
+		private JavaDoc html;
+
+		private CachedJavaDoc(final String docComment) {
+			this.docComment = docComment;
+		}
+
+	}
+
+}
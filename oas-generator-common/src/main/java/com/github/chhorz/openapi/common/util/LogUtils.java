@@ -44,6 +44,8 @@ public class LogUtils {
 
 	private final String componentLogGroup;
 
+	private final GenerationMetrics metrics;
+
 	/**
 	 * Creates a new {@link LogUtils} instance.
 	 *
@@ -62,12 +64,26 @@ public class LogUtils {
 	 * @param componentLogGroup a mandatory subgroup for the log statements
 	 */
 	public LogUtils(final Messager messager, final ParserProperties properties, final String componentLogGroup) {
+		this(messager, properties, componentLogGroup, GenerationMetrics.disabled());
+	}
+
+	/**
+	 * Creates a new {@link LogUtils} instance.
+	 *
+	 * @param messager the messager from the {@link javax.annotation.processing.ProcessingEnvironment}
+	 * @param properties the given parser properties that are required for the log level
+	 * @param componentLogGroup a mandatory subgroup for the log statements
+	 * @param metrics the metrics of the current generation
+	 */
+	public LogUtils(final Messager messager, final ParserProperties properties, final String componentLogGroup, final GenerationMetrics metrics) {
 		Objects.requireNonNull(properties, "The properties must not be null.");
 		Objects.requireNonNull(componentLogGroup, "The logging group component must not be null.");
+		Objects.requireNonNull(metrics, "The metrics must not be null.");
 
 		this.messager = messager;
 		this.properties = properties;
 		this.componentLogGroup = componentLogGroup.trim();
+		this.metrics = metrics;
 	}
 
 	/**
@@ -77,7 +93,17 @@ public class LogUtils {
 	 * @return a new {@link LogUtils} class
 	 */
 	public LogUtils configureWithComponent(final String componentLogGroup){
-		return new LogUtils(messager, properties, componentLogGroup);
+		return new LogUtils(messager, properties, componentLogGroup, metrics);
+	}
+
+	/**
+	 * Returns the metrics of the current generation. All components that share this logging class report into the
+	 * same metrics.
+	 *
+	 * @return the metrics, disabled if no metrics file should be written
+	 */
+	public GenerationMetrics getMetrics() {
+		return metrics;
 	}
 
 	/**
@@ -0,0 +1,161 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.util;
+
+import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+import com.github.chhorz.openapi.common.spi.ServiceRegistry;
+import com.github.chhorz.openapi.common.spi.mapping.TypeMirrorMapper;
+import com.github.chhorz.openapi.common.spi.mapping.TypeMirrorMapperDispatcher;
+
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.List;
+
+/**
+ * The shared state of a single processing environment: the compiler utils, the configuration, the logger with the
+ * metrics, the registered {@link TypeMirrorMapper}s and all caches. The context is created once when a processor is
+ * initialized and is injected into all utilities and mappers, so they share their caches instead of building their
+ * own instances.
+ * <p>
+ * The context is not thread-safe and must only be used on the processing thread.
+ *
+ * @author chhorz
+ */
+public final class ProcessingContext {
+
+	private final Elements elements;
+	private final Types types;
+	private final ParserProperties parserProperties;
+	private final LogUtils logUtils;
+
+	private final ServiceRegistry serviceRegistry;
+	private final JavaDocCache javaDocCache;
+	private final TypeMirrorCache typeMirrorCache;
+	private final ProcessingUtils processingUtils;
+	private final TypeMirrorMapperDispatcher typeMirrorMapperDispatcher;
+	private final TypeNameIndex typeNameIndex;
+
+	private ProcessingContext(final Elements elements, final Types types, final ParserProperties parserProperties,
+							  final LogUtils logUtils, final ServiceRegistry serviceRegistry, final JavaDocCache javaDocCache,
+							  final List<TypeMirrorMapper> typeMirrorMappers) {
+		this.elements = elements;
+		this.types = types;
+		this.parserProperties = parserProperties;
+		this.logUtils = logUtils;
+		this.serviceRegistry = serviceRegistry;
+		this.javaDocCache = javaDocCache;
+		this.typeMirrorCache = TypeMirrorCache.getInstance(elements, types);
+		this.processingUtils = new ProcessingUtils(elements, types, logUtils);
+		this.typeMirrorMapperDispatcher = new TypeMirrorMapperDispatcher(types, typeMirrorMappers);
+		this.typeNameIndex = new TypeNameIndex();
+	}
+
+	/**
+	 * Creates a new context with the default Javadoc parsers.
+	 *
+	 * @param elements the element utils from the processing environment
+	 * @param types the type utils from the processing environment
+	 * @param parserProperties the configuration of the parser
+	 * @param logUtils the logger of the processor
+	 * @return the new context with initialized type mirror mappers
+	 */
+	public static ProcessingContext create(final Elements elements, final Types types, final ParserProperties parserProperties,
+										   final LogUtils logUtils) {
+		return create(elements, types, parserProperties, logUtils, new JavaDocCache(elements));
+	}
+
+	/**
+	 * Creates a new context with a new {@link ServiceRegistry}. All type mirror mappers of the registry are instantiated
+	 * and set up with the new context.
+	 *
+	 * @param elements the element utils from the processing environment
+	 * @param types the type utils from the processing environment
+	 * @param parserProperties the configuration of the parser
+	 * @param logUtils the logger of the processor
+	 * @param javaDocCache the cache of the parsed Javadoc comments
+	 * @return the new context with initialized type mirror mappers
+	 */
+	public static ProcessingContext create(final Elements elements, final Types types, final ParserProperties parserProperties,
+										   final LogUtils logUtils, final JavaDocCache javaDocCache) {
+		ServiceRegistry serviceRegistry = new ServiceRegistry(ProcessingContext.class.getClassLoader());
+		List<TypeMirrorMapper> typeMirrorMappers = serviceRegistry.createTypeMirrorMappers();
+
+		ProcessingContext processingContext = new ProcessingContext(elements, types, parserProperties, logUtils, serviceRegistry,
+			javaDocCache, typeMirrorMappers);
+		typeMirrorMappers.forEach(mapper -> mapper.setup(processingContext));
+		return processingContext;
+	}
+
+	public Elements getElements() {
+		return elements;
+	}
+
+	public Types getTypes() {
+		return types;
+	}
+
+	public ParserProperties getParserProperties() {
+		return parserProperties;
+	}
+
+	public LogUtils getLogUtils() {
+		return logUtils;
+	}
+
+	public GenerationMetrics getMetrics() {
+		return logUtils.getMetrics();
+	}
+
+	public ServiceRegistry getServiceRegistry() {
+		return serviceRegistry;
+	}
+
+	public JavaDocCache getJavaDocCache() {
+		return javaDocCache;
+	}
+
+	public TypeMirrorCache getTypeMirrorCache() {
+		return typeMirrorCache;
+	}
+
+	public ProcessingUtils getProcessingUtils() {
+		return processingUtils;
+	}
+
+	public TypeMirrorMapperDispatcher getTypeMirrorMapperDispatcher() {
+		return typeMirrorMapperDispatcher;
+	}
+
+	public TypeNameIndex getTypeNameIndex() {
+		return typeNameIndex;
+	}
+
+	/**
+	 * Removes all memoized mappers, cached type lookups, indexed type names and parsed Javadoc comments.
+	 * <p>
+	 * Elements and type mirrors are only valid within the processing round in which they were obtained. In a later
+	 * round the compiler may have replaced the symbols of the same type, so cached instances no longer match the
+	 * current ones. All caches that hold elements or type mirrors have to be cleared at the end of each round.
+	 */
+	public void clearCaches() {
+		typeMirrorMapperDispatcher.clear();
+		typeMirrorCache.clear();
+		typeNameIndex.clear();
+		javaDocCache.clear();
+	}
+
+}
@@ -17,9 +17,11 @@
 package com.github.chhorz.openapi.common.util;
 
 import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 import java.util.HashMap;
@@ -33,10 +35,23 @@ public class ProcessingUtils {
 
 	private final LogUtils logUtils;
 
+	private final TypeMirrorCache typeMirrorCache;
+
 	public ProcessingUtils(final Elements elements, final Types types, final LogUtils logUtils) {
 		this.elements = elements;
 		this.types = types;
 		this.logUtils = logUtils;
+		this.typeMirrorCache = TypeMirrorCache.getInstance(elements, types);
+	}
+
+	/**
+	 * Removes all cached type lookups of the processing environment.
+	 *
+	 * @see TypeMirrorCache
+	 * @see ProcessingContext#clearCaches()
+	 */
+	public void clearCache() {
+		typeMirrorCache.clear();
 	}
 
 	/**
@@ -59,7 +74,7 @@ public class ProcessingUtils {
 	 * @return {@code true} if the given type is of the given class
 	 */
 	public boolean isSameType(final TypeMirror typeMirror, final Class<?> clazz) {
-		return types.isSameType(typeMirror, elements.getTypeElement(clazz.getCanonicalName()).asType());
+		return types.isSameType(typeMirror, typeMirrorCache.getTypeMirror(clazz));
 	}
 
 	/**
@@ -70,7 +85,7 @@ public class ProcessingUtils {
 	 * @return {@code true} if the type is assignable to the class type
 	 */
 	public boolean isAssignableTo(final TypeMirror typeMirror, final Class<?> clazz) {
-		return types.isAssignable(types.erasure(typeMirror), elements.getTypeElement(clazz.getCanonicalName()).asType());
+		return typeMirrorCache.isAssignable(typeMirror, clazz);
 	}
 
 	/**
@@ -96,7 +111,7 @@ public class ProcessingUtils {
 
 	public TypeMirror[] removeEnclosingType(final TypeMirror originalReturnType, final Class<?> removableClass) {
 		// The given type has to be assignable to the type of the class: List<String> is assignable to List.class
-		if (isAssignableTo(types.erasure(originalReturnType), removableClass)) {
+		if (isAssignableTo(originalReturnType, removableClass)) {
 			if (originalReturnType instanceof DeclaredType) {
 				List<? extends TypeMirror> typeArguments = ((DeclaredType) originalReturnType).getTypeArguments();
 				if (typeArguments != null && !typeArguments.isEmpty()) {
@@ -152,6 +167,43 @@ public class ProcessingUtils {
 		return typeString.substring(typeString.lastIndexOf('.') + 1).trim();
 	}
 
+	/**
+	 * Creates a canonical key for the given type. The key consists of the qualified name of the erased type and the
+	 * keys of all resolved type arguments. Type annotations are not part of the key, so {@code @Valid Resource} and
+	 * {@code Resource} share the same key.
+	 *
+	 * @param typeMirror the requested type
+	 * @return the canonical key of the type
+	 */
+	public static String getTypeKey(final TypeMirror typeMirror) {
+		switch (typeMirror.getKind()) {
+			case DECLARED:
+				DeclaredType declaredType = (DeclaredType) typeMirror;
+				StringBuilder key = new StringBuilder(((TypeElement) declaredType.asElement()).getQualifiedName());
+				if (!declaredType.getTypeArguments().isEmpty()) {
+					key.append('<');
+					declaredType.getTypeArguments().forEach(typeArgument -> key.append(getTypeKey(typeArgument)).append(','));
+					key.setCharAt(key.length() - 1, '>');
+				}
+				return key.toString();
+			case ARRAY:
+				return getTypeKey(((ArrayType) typeMirror).getComponentType()) + "[]";
+			case WILDCARD:
+				WildcardType wildcardType = (WildcardType) typeMirror;
+				if (wildcardType.getExtendsBound() != null) {
+					return "? extends " + getTypeKey(wildcardType.getExtendsBound());
+				} else if (wildcardType.getSuperBound() != null) {
+					return "? super " + getTypeKey(wildcardType.getSuperBound());
+				}
+				return "?";
+			default:
+				if (typeMirror.getKind().isPrimitive()) {
+					return typeMirror.getKind().name().toLowerCase();
+				}
+				return typeMirror.toString();
+		}
+	}
+
 	public Map<TypeMirror, Map<TypeParameterElement, TypeMirror>> populateTypeParameterMap(TypeElement typeElement, Map<TypeMirror, Map<TypeParameterElement, TypeMirror>> typeParameterMap) {
 		if (typeElement.getSuperclass() instanceof DeclaredType) {
 			List<? extends TypeParameterElement> typeParametersElements = ((TypeElement) types.asElement(typeElement.getSuperclass())).getTypeParameters();
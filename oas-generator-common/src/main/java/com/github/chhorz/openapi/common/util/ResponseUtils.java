@@ -28,21 +28,59 @@ import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.toList;
+
 public class ResponseUtils {
 
 	private static final Predicate<String> NOT_NULL_OR_EMPTY = s -> s != null && !s.isEmpty();
 
 	private final SchemaUtils schemaUtils;
 	private final ProcessingUtils processingUtils;
-
+	private final TypeNameIndex typeNameIndex;
+	private final LogUtils logUtils;
+
+	/**
+	 * @deprecated creates a new {@link ProcessingContext} and {@link SchemaUtils} with their own mappers and caches,
+	 * use {@link #ResponseUtils(ProcessingContext, SchemaUtils)} with the context and schema utils of the processor
+	 * instead
+	 */
+	@Deprecated
 	public ResponseUtils(final Elements elements, final Types types, final ParserProperties parserProperties, final LogUtils logUtils) {
-		this.schemaUtils = new SchemaUtils(elements, types, parserProperties, logUtils);
-		this.processingUtils = new ProcessingUtils(elements, types, logUtils);
+		this(ProcessingContext.create(elements, types, parserProperties, logUtils));
+	}
+
+	private ResponseUtils(final ProcessingContext processingContext) {
+		this(processingContext, new SchemaUtils(processingContext, Collections.emptyList()));
+	}
+
+	/**
+	 * Creates a new instance that shares the given {@link SchemaUtils} and its schema cache.
+	 *
+	 * @param processingContext the shared context of the processing environment
+	 * @param schemaUtils the schema utils of the processor
+	 */
+	public ResponseUtils(final ProcessingContext processingContext, final SchemaUtils schemaUtils) {
+		this.schemaUtils = schemaUtils;
+		this.processingUtils = processingContext.getProcessingUtils();
+		this.typeNameIndex = processingContext.getTypeNameIndex();
+		this.logUtils = processingContext.getLogUtils();
+	}
+
+	/**
+	 * Removes all cached schemas of the used {@link SchemaUtils}.
+	 *
+	 * @see SchemaUtils#clearCache()
+	 */
+	public void clearCache() {
+		schemaUtils.clearCache();
 	}
 
 	public Response fromTypeMirror(final TypeMirror typeMirror, final String[] produces, String description) {
@@ -100,27 +138,16 @@ public class ResponseUtils {
 						if (responseTag.getResponseType().contains(".")) {
 							// assume we have a FQN of a java type
 							responseType = processingUtils.createTypeMirrorFromString(responseTag.getResponseType());
+						} else if (responseTag.getResponseType().contains("[]")) {
+							// assume we have only the java class name of the array elements
+							String simpleResponseType = responseTag.getResponseType().replace("[]", "");
+							responseType = resolveSimpleName(responseTag.getResponseType(), TypeNameIndex::findArray, simpleResponseType, schemaMap,
+								entry -> entry.getValue() != null && Schema.Type.ARRAY.equals(entry.getValue().getType())
+									&& getSimpleName(entry.getKey(), 1).equalsIgnoreCase(simpleResponseType));
 						} else {
-							if (responseTag.getResponseType().contains("[]")) {
-								String simpleResponseType = responseTag.getResponseType().replace("[]", "");
-
-								// assume we have only the java class name
-								responseType = schemaMap.keySet()
-										.stream()
-										.filter(key -> schemaMap.get(key).getType().equals(Schema.Type.ARRAY))
-										.filter(key -> key.toString().substring(key.toString().lastIndexOf(".") + 1, key.toString().length() - 1).equalsIgnoreCase(simpleResponseType))
-										.findAny()
-										.orElse(null);
-							} else {
-								String simpleResponseType = responseTag.getResponseType();
-
-								// assume we have only the java class name
-								responseType = schemaMap.keySet()
-										.stream()
-										.filter(key -> key.toString().substring(key.toString().lastIndexOf(".") + 1).equalsIgnoreCase(simpleResponseType))
-										.findAny()
-										.orElse(null);
-							}
+							// assume we have only the java class name
+							responseType = resolveSimpleName(responseTag.getResponseType(), TypeNameIndex::find, responseTag.getResponseType(), schemaMap,
+								entry -> getSimpleName(entry.getKey(), 0).equalsIgnoreCase(responseTag.getResponseType()));
 						}
 
 						responses.put(responseTag.getStatusCode(), fromTypeMirror(responseType, produces, responseDescription));
@@ -146,4 +173,37 @@ public class ResponseUtils {
 		return responses;
 	}
 
+	/**
+	 * Resolves a simple type name against the types of the given schema map of the operation. The candidates are
+	 * looked up in the {@link TypeNameIndex} of the round and only these candidates are checked against the schema map,
+	 * so the result does not depend on the operations that were mapped before. If none of them belongs to the
+	 * operation, the schema map is scanned with the given fallback, because types that were not mapped in this round
+	 * are not indexed. If the name is ambiguous, an error is logged and the first type is used.
+	 */
+	private TypeMirror resolveSimpleName(final String responseType, final BiFunction<TypeNameIndex, String, List<TypeMirror>> lookup,
+										 final String simpleName, final Map<TypeMirror, Schema> schemaMap,
+										 final Predicate<Map.Entry<TypeMirror, Schema>> fallback) {
+		List<TypeMirror> candidates = lookup.apply(typeNameIndex, simpleName)
+			.stream()
+			.filter(schemaMap::containsKey)
+			.collect(toList());
+		if (candidates.isEmpty()) {
+			candidates = schemaMap.entrySet()
+				.stream()
+				.filter(fallback)
+				.map(Map.Entry::getKey)
+				.collect(toList());
+		}
+
+		if (candidates.size() > 1) {
+			logUtils.logError("Ambiguous response type '%s', use the fully qualified name of one of: %s", responseType, candidates);
+		}
+		return candidates.isEmpty() ? null : candidates.get(0);
+	}
+
+	private static String getSimpleName(final TypeMirror typeMirror, final int suffixLength) {
+		String typeName = typeMirror.toString();
+		return typeName.substring(typeName.lastIndexOf('.') + 1, Math.max(typeName.lastIndexOf('.') + 1, typeName.length() - suffixLength));
+	}
+
 }
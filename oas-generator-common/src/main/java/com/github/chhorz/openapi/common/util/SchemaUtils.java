@@ -23,7 +23,9 @@ import com.github.chhorz.openapi.common.domain.Schema;
 import com.github.chhorz.openapi.common.domain.Schema.Type;
 import com.github.chhorz.openapi.common.javadoc.ResponseTag;
 import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+import com.github.chhorz.openapi.common.spi.mapping.ParsedSchemaRegistry;
 import com.github.chhorz.openapi.common.spi.mapping.TypeMirrorMapper;
+import com.github.chhorz.openapi.common.spi.mapping.TypeMirrorMapperDispatcher;
 
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
@@ -36,10 +38,8 @@ import javax.lang.model.util.Types;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import static com.github.chhorz.openapi.common.util.ComponentUtils.convertSchemaMap;
-import static java.util.ServiceLoader.load;
 
 public class SchemaUtils {
 
@@ -51,63 +51,93 @@ public class SchemaUtils {
 
 	private final List<TypeMirror> baseTypeMirrors;
 
-	private final List<TypeMirrorMapper> typeMirrorMappers;
-
+	private final TypeMirrorMapperDispatcher typeMirrorMapperDispatcher;
+	private final TypeNameIndex typeNameIndex;
+
+	/**
+	 * Cache of already mapped types. The key is the canonical type key from {@link ProcessingUtils#getTypeKey(TypeMirror)}.
+	 */
+	private final Map<String, CachedSchemaMap> schemaCache = new HashMap<>();
+	private int schemaCacheHits;
+	private int schemaCacheMisses;
+
+	/**
+	 * @deprecated creates a new {@link ProcessingContext} with its own mappers and caches, use
+	 * {@link #SchemaUtils(ProcessingContext, List)} with the context of the processor instead
+	 */
+	@Deprecated
 	public SchemaUtils(final Elements elements, final Types types, final ParserProperties parserProperties, final LogUtils logUtils) {
 		this(elements, types, parserProperties, logUtils, Collections.emptyList());
 	}
 
+	/**
+	 * @deprecated creates a new {@link ProcessingContext} with its own mappers and caches, use
+	 * {@link #SchemaUtils(ProcessingContext, List)} with the context of the processor instead
+	 */
+	@Deprecated
 	public SchemaUtils(final Elements elements, final Types types, final ParserProperties parserProperties, final LogUtils logUtils, final List<Class<?>> baseClasses) {
-		this.elements = elements;
-		this.types = types;
-		this.logUtils = logUtils;
+		this(ProcessingContext.create(elements, types, parserProperties, logUtils), baseClasses);
+	}
 
-		processingUtils = new ProcessingUtils(elements, types, logUtils);
+	/**
+	 * Creates a new instance that uses the type mirror mappers and caches of the given context.
+	 *
+	 * @param processingContext the shared context of the processing environment
+	 * @param baseClasses the classes whose erasures are never mapped
+	 */
+	public SchemaUtils(final ProcessingContext processingContext, final List<Class<?>> baseClasses) {
+		this.elements = processingContext.getElements();
+		this.types = processingContext.getTypes();
+		this.logUtils = processingContext.getLogUtils();
+		this.processingUtils = processingContext.getProcessingUtils();
+		this.typeMirrorMapperDispatcher = processingContext.getTypeMirrorMapperDispatcher();
+		this.typeNameIndex = processingContext.getTypeNameIndex();
 
 		this.baseTypeMirrors = baseClasses.stream()
 			.map(clazz -> elements.getTypeElement(clazz.getCanonicalName()).asType())
 			.map(types::erasure)
 			.collect(Collectors.toList());
-
-		ServiceLoader<TypeMirrorMapper> serviceLoader = load(TypeMirrorMapper.class, getClass().getClassLoader());
-
-		typeMirrorMappers = StreamSupport.stream(serviceLoader.spliterator(), false)
-			.collect(Collectors.toList());
-
-		typeMirrorMappers.forEach(mapper -> mapper.setup(elements, types, logUtils, parserProperties, typeMirrorMappers));
 	}
 
+	/**
+	 * Creates the schemas of all types of the given packages. The packages are merged in the given order, schemas of
+	 * the same name are merged if their types match.
+	 *
+	 * @param packages the qualified names of the packages
+	 * @return a new sorted map with the schemas of all types of the packages
+	 */
 	public Map<String, Schema> parsePackages(final List<String> packages) {
-		Map<TypeMirror, Schema> typeMirrorMap = new HashMap<>();
+		Map<String, Schema> schemaMap = new TreeMap<>();
 
 		if (packages == null) {
-			return new HashMap<>();
+			return schemaMap;
 		}
 
 		packages.stream()
 			.filter(p -> p != null && !p.isEmpty())
+			.distinct()
 			.map(elements::getPackageElement)
 			.filter(Objects::nonNull)
 			.map(this::parsePackage)
-			.flatMap(map -> map.entrySet().stream())
-			.filter(entry -> !typeMirrorMap.containsKey(entry.getKey()))
-			.forEach(entry -> typeMirrorMap.put(entry.getKey(), entry.getValue()));
+			.forEach(packageSchemas -> packageSchemas.forEach((key, schema) -> schemaMap.merge(key, schema,
+				(existing, other) -> Objects.equals(existing.getType(), other.getType()) ? mergeSchemas(existing, other) : existing)));
 
-		return convertSchemaMap(typeMirrorMap);
+		return schemaMap;
 	}
 
-	private Map<TypeMirror, Schema> parsePackage(final PackageElement packageElement) {
-		Map<TypeMirror, Schema> typeMirrorMap = new HashMap<>();
-
+	private Map<String, Schema> parsePackage(final PackageElement packageElement) {
+		Map<TypeMirror, Schema> typeMirrorMap = new LinkedHashMap<>();
 		packageElement.getEnclosedElements()
 			.stream()
 			.map(Element::asType)
 			.map(this::createTypeMirrorSchemaMap)
-			.flatMap(map -> map.entrySet().stream())
-			.filter(entry -> !typeMirrorMap.containsKey(entry.getKey()))
-			.forEach(entry -> typeMirrorMap.put(entry.getKey(), entry.getValue()));
+			.forEach(map -> map.forEach(typeMirrorMap::putIfAbsent));
 
-		return typeMirrorMap;
+		// schemas of referenced types are shared with the schema cache, the callers merge and modify the result
+		Map<String, Schema> schemaMap = convertSchemaMap(typeMirrorMap);
+		schemaMap.replaceAll((name, schema) -> copySchema(schema));
+		logUtils.logDebug("Parsed %d schemas of package %s", schemaMap.size(), packageElement.getQualifiedName());
+		return schemaMap;
 	}
 
 	public MediaType createMediaType(final TypeMirror typeMirror) {
@@ -131,33 +161,79 @@ public class SchemaUtils {
 		return convertSchemaMap(createTypeMirrorSchemaMap(typeMirror));
 	}
 
+	/**
+	 * Creates a map of all schemas that are required for the given type. Results are cached by the canonical type key,
+	 * so every distinct type is passed through the {@link TypeMirrorMapper}s only once until {@link #clearCache()}
+	 * is called. All mapped types are added to the {@link TypeNameIndex} of the processing context.
+	 *
+	 * @param typeMirror the requested type
+	 * @return a new map with the schema of the given type and all referenced object and enum schemas
+	 */
 	public Map<TypeMirror, Schema> createTypeMirrorSchemaMap(final TypeMirror typeMirror) {
-		return createTypeMirrorSchemaMap(typeMirror, new LinkedHashMap<>());
+		if (typeMirror == null || baseTypeMirrors.contains(typeMirror) || isVoidType(typeMirror) || isAbstractClass(typeMirror)) {
+			return Collections.emptyMap();
+		}
+
+		final String typeKey = ProcessingUtils.getTypeKey(typeMirror);
+		CachedSchemaMap cachedSchemaMap = schemaCache.get(typeKey);
+		if (cachedSchemaMap != null) {
+			schemaCacheHits++;
+			logUtils.getMetrics().increment(GenerationMetrics.COUNTER_SCHEMA_CACHE_HITS);
+		} else {
+			schemaCacheMisses++;
+			logUtils.getMetrics().increment(GenerationMetrics.COUNTER_SCHEMA_CACHE_MISSES);
+			try (GenerationMetrics.Timer timer = logUtils.getMetrics().startTimer(GenerationMetrics.PHASE_TYPE_MAPPING)) {
+				cachedSchemaMap = new CachedSchemaMap(typeMirror, createTypeMirrorSchemaMap(typeMirror, new ParsedSchemaRegistry()));
+			}
+			schemaCache.put(typeKey, cachedSchemaMap);
+			typeNameIndex.register(cachedSchemaMap.schemaMap());
+		}
+
+		// callers modify the returned map and the schema of the requested type, so both are copied
+		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
+		for (Map.Entry<TypeMirror, Schema> entry : cachedSchemaMap.schemaMap().entrySet()) {
+			if (entry.getKey() == cachedSchemaMap.typeMirror()) {
+				schemaMap.put(typeMirror, copySchema(entry.getValue()));
+			} else {
+				schemaMap.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return schemaMap;
 	}
 
-	private Map<TypeMirror, Schema> createTypeMirrorSchemaMap(final TypeMirror typeMirror, Map<TypeMirror, Schema> parsedSchemaMap) {
+	/**
+	 * Logs the statistics of the schema cache on debug level.
+	 */
+	public void logCacheStatistics() {
+		logUtils.logDebug("Schema cache: %d types, %d hits, %d misses", schemaCache.size(), schemaCacheHits, schemaCacheMisses);
+	}
+
+	/**
+	 * Removes all cached schemas and memoized type mirror mappers.
+	 *
+	 * @see ProcessingContext#clearCaches()
+	 */
+	public void clearCache() {
+		schemaCache.clear();
+		typeMirrorMapperDispatcher.clear();
+	}
+
+	private Map<TypeMirror, Schema> createTypeMirrorSchemaMap(final TypeMirror typeMirror, final ParsedSchemaRegistry parsedSchemas) {
 		if (typeMirror == null || baseTypeMirrors.contains(typeMirror) || isVoidType(typeMirror) || isAbstractClass(typeMirror)) {
 			return Collections.emptyMap();
 		}
 
-		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
-		if (parsedSchemaMap.entrySet().stream().anyMatch(entry -> entry.getKey().toString().equals(typeMirror.toString()))) {
-			return parsedSchemaMap;
-		} else {
-			parsedSchemaMap.entrySet().stream()
-				.filter(e -> e.getValue().getType().equals(Type.OBJECT) || e.getValue().getType().equals(Type.ENUM))
-				.forEach(entry -> schemaMap.put(entry.getKey(), entry.getValue()));
+		Optional<Map.Entry<TypeMirror, Schema>> parsedSchema = parsedSchemas.find(typeMirror);
+		if (parsedSchema.isPresent()) {
+			return Collections.singletonMap(parsedSchema.get().getKey(), parsedSchema.get().getValue());
 		}
 
 		logUtils.logDebug("Parsing type: %s", typeMirror.toString());
+		logUtils.getMetrics().increment(GenerationMetrics.COUNTER_TYPES_MAPPED);
 
-		typeMirrorMappers.stream()
-			.filter(mapper -> mapper.test(typeMirror))
-			.findFirst()
-			.map(mapper -> mapper.map(typeMirror, parsedSchemaMap))
-			.ifPresent(schemaMap::putAll);
-
-		return schemaMap;
+		return typeMirrorMapperDispatcher.findMapper(typeMirror)
+			.map(mapper -> mapper.map(typeMirror, parsedSchemas))
+			.orElse(Collections.emptyMap());
 	}
 
 	public boolean isVoidType(final TypeMirror typeMirror) {
@@ -234,6 +310,52 @@ public class SchemaUtils {
 		return result;
 	}
 
+	/**
+	 * Creates a shallow copy of the given schema. Collections are copied, nested schemas are shared.
+	 *
+	 * @param schema the original schema
+	 * @return a new schema instance
+	 */
+	public static Schema copySchema(final Schema schema) {
+		Schema result = new Schema();
+
+		if (schema.getRequired() != null) {
+			schema.getRequired().forEach(result::addRequired);
+		}
+		result.setMinimum(schema.getMinimum());
+		result.setMaximum(schema.getMaximum());
+		result.setPattern(schema.getPattern());
+		result.setMinLength(schema.getMinLength());
+		result.setMaxLength(schema.getMaxLength());
+		result.setMinItems(schema.getMinItems());
+		result.setMaxItems(schema.getMaxItems());
+
+		result.setDeprecated(schema.getDeprecated());
+		result.setFormat(schema.getFormat());
+		result.setType(schema.getType());
+		result.setDescription(schema.getDescription());
+		result.setDefaultValue(schema.getDefaultValue());
+
+		if (schema.getEnumValues() != null) {
+			schema.getEnumValues().forEach(result::addEnumValue);
+		}
+
+		if (schema.getProperties() != null) {
+			schema.getProperties().forEach((key, value) -> {
+				if (value instanceof Schema) {
+					result.putProperty(key, (Schema) value);
+				} else if (value instanceof Reference) {
+					result.putProperty(key, (Reference) value);
+				}
+			});
+		}
+
+		result.setItems(schema.getItems());
+		result.setAdditionalProperties(schema.getAdditionalProperties());
+
+		return result;
+	}
+
 	private static boolean notNullSchema(final Object object) {
 		return object instanceof Schema;
 	}
@@ -253,4 +375,8 @@ public class SchemaUtils {
 			return function.apply(two);
 		}
 	}
+
+	private record CachedSchemaMap(TypeMirror typeMirror, Map<TypeMirror, Schema> schemaMap) {
+	}
+
 }
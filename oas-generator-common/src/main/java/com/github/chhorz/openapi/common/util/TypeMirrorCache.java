@@ -0,0 +1,130 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.util;
+
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Cache for the type lookups of {@link ProcessingUtils}. The cache holds the type mirrors of requested classes, the
+ * erasures of type mirrors and the results of assignability checks, so the frequent type checks of the mappers do
+ * not hit the symbol tables of the compiler again.
+ * <p>
+ * There is one cache per processing environment, all {@link ProcessingUtils} instances of an environment share the
+ * cache. The cache is cleared with {@link ProcessingContext#clearCaches()} and is not thread-safe, it must only be
+ * used on the processing thread.
+ *
+ * @author chhorz
+ */
+public final class TypeMirrorCache {
+
+	// the caches are weakly referenced, because the cached type mirrors strongly reference the compiler context
+	private static final Map<Elements, WeakReference<TypeMirrorCache>> CACHES = new WeakHashMap<>();
+
+	private final Elements elements;
+	private final Types types;
+
+	private final Map<Class<?>, TypeMirror> classTypes = new HashMap<>();
+	private final Map<TypeMirror, TypeMirror> erasures = new IdentityHashMap<>();
+	private final Map<Class<?>, Map<TypeMirror, Boolean>> assignableTypes = new HashMap<>();
+
+	private TypeMirrorCache(final Elements elements, final Types types) {
+		this.elements = elements;
+		this.types = types;
+	}
+
+	/**
+	 * Returns the cache of the processing environment the given utils belong to.
+	 *
+	 * @param elements the element utils from the processing environment
+	 * @param types the type utils from the processing environment
+	 * @return the shared cache of the processing environment
+	 */
+	public static TypeMirrorCache getInstance(final Elements elements, final Types types) {
+		synchronized (CACHES) {
+			WeakReference<TypeMirrorCache> reference = CACHES.get(elements);
+			TypeMirrorCache typeMirrorCache = reference != null ? reference.get() : null;
+			if (typeMirrorCache == null) {
+				typeMirrorCache = new TypeMirrorCache(elements, types);
+				CACHES.put(elements, new WeakReference<>(typeMirrorCache));
+			}
+			return typeMirrorCache;
+		}
+	}
+
+	/**
+	 * Returns the type mirror of the given class.
+	 *
+	 * @param clazz the requested class
+	 * @return the type mirror of the class
+	 */
+	public TypeMirror getTypeMirror(final Class<?> clazz) {
+		TypeMirror typeMirror = classTypes.get(clazz);
+		if (typeMirror == null) {
+			typeMirror = elements.getTypeElement(clazz.getCanonicalName()).asType();
+			classTypes.put(clazz, typeMirror);
+		}
+		return typeMirror;
+	}
+
+	/**
+	 * Returns the erasure of the given type.
+	 *
+	 * @see Types#erasure(TypeMirror)
+	 *
+	 * @param typeMirror the requested type
+	 * @return the erased type
+	 */
+	public TypeMirror getErasure(final TypeMirror typeMirror) {
+		return erasures.computeIfAbsent(typeMirror, types::erasure);
+	}
+
+	/**
+	 * Checks if the erasure of the given type is assignable to the type of the given class.
+	 *
+	 * @param typeMirror the type that should be checked
+	 * @param clazz the requested class
+	 * @return {@code true} if the erased type is assignable to the class type
+	 */
+	public boolean isAssignable(final TypeMirror typeMirror, final Class<?> clazz) {
+		TypeMirror erasure = getErasure(typeMirror);
+		Map<TypeMirror, Boolean> assignableErasures = assignableTypes.computeIfAbsent(clazz, key -> new IdentityHashMap<>());
+
+		Boolean assignable = assignableErasures.get(erasure);
+		if (assignable == null) {
+			assignable = types.isAssignable(erasure, getTypeMirror(clazz));
+			assignableErasures.put(erasure, assignable);
+		}
+		return assignable;
+	}
+
+	/**
+	 * Removes all cached types and results.
+	 */
+	public void clear() {
+		classTypes.clear();
+		erasures.clear();
+		assignableTypes.clear();
+	}
+
+}
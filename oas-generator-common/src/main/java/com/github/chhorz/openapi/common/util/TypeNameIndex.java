@@ -0,0 +1,141 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.util;
+
+import com.github.chhorz.openapi.common.domain.Schema;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Index of all types that were mapped to a schema within the current processing round, so a type that is referenced
+ * by its simple name (e.g. in a {@code @response} Javadoc tag) can be resolved with a single lookup. Types with a
+ * schema of type {@link Schema.Type#ARRAY} are additionally indexed by the simple name of their element type.
+ * <p>
+ * The names are compared case-insensitively. Different types with the same simple name are all returned, so callers
+ * can report the ambiguity. The index is cleared with {@link ProcessingContext#clearCaches()}.
+ *
+ * @author chhorz
+ */
+public final class TypeNameIndex {
+
+	private final Map<String, Map<String, TypeMirror>> types = new HashMap<>();
+	private final Map<String, Map<String, TypeMirror>> arrayTypes = new HashMap<>();
+
+	/**
+	 * Adds all types of the given schema map to the index.
+	 *
+	 * @param schemaMap the mapped types and their schemas
+	 */
+	public void register(final Map<TypeMirror, Schema> schemaMap) {
+		schemaMap.forEach((typeMirror, schema) -> {
+			String simpleName = getSimpleName(typeMirror);
+			if (simpleName != null) {
+				put(types, simpleName, typeMirror);
+			}
+			if (schema != null && Schema.Type.ARRAY.equals(schema.getType())) {
+				String elementName = getSimpleName(getElementType(typeMirror));
+				if (elementName != null) {
+					put(arrayTypes, elementName, typeMirror);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns all indexed types with the given simple name.
+	 *
+	 * @param simpleName the simple name of the type
+	 * @return the matching types in the order of their registration
+	 */
+	public List<TypeMirror> find(final String simpleName) {
+		return get(types, simpleName);
+	}
+
+	/**
+	 * Returns all indexed array or collection types whose elements have the given simple name.
+	 *
+	 * @param elementSimpleName the simple name of the element type
+	 * @return the matching types in the order of their registration
+	 */
+	public List<TypeMirror> findArray(final String elementSimpleName) {
+		return get(arrayTypes, elementSimpleName);
+	}
+
+	/**
+	 * Removes all indexed types.
+	 */
+	public void clear() {
+		types.clear();
+		arrayTypes.clear();
+	}
+
+	private static void put(final Map<String, Map<String, TypeMirror>> index, final String simpleName, final TypeMirror typeMirror) {
+		index.computeIfAbsent(simpleName.toLowerCase(Locale.ROOT), key -> new LinkedHashMap<>())
+			.putIfAbsent(ProcessingUtils.getTypeKey(typeMirror), typeMirror);
+	}
+
+	private static List<TypeMirror> get(final Map<String, Map<String, TypeMirror>> index, final String simpleName) {
+		if (simpleName == null) {
+			return Collections.emptyList();
+		}
+		Map<String, TypeMirror> typeMirrors = index.get(simpleName.toLowerCase(Locale.ROOT));
+		return typeMirrors != null ? new ArrayList<>(typeMirrors.values()) : Collections.emptyList();
+	}
+
+	private static TypeMirror getElementType(final TypeMirror typeMirror) {
+		if (TypeKind.ARRAY.equals(typeMirror.getKind())) {
+			return ((ArrayType) typeMirror).getComponentType();
+		} else if (TypeKind.DECLARED.equals(typeMirror.getKind())) {
+			List<? extends TypeMirror> typeArguments = ((DeclaredType) typeMirror).getTypeArguments();
+			if (!typeArguments.isEmpty()) {
+				TypeMirror elementType = typeArguments.get(typeArguments.size() - 1);
+				if (TypeKind.WILDCARD.equals(elementType.getKind())) {
+					return ((WildcardType) elementType).getExtendsBound();
+				}
+				return elementType;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Only types that can be written as a simple name are indexed, which excludes parameterized types.
+	 */
+	private static String getSimpleName(final TypeMirror typeMirror) {
+		if (typeMirror == null) {
+			return null;
+		} else if (typeMirror.getKind().isPrimitive()) {
+			return typeMirror.getKind().name();
+		} else if (TypeKind.DECLARED.equals(typeMirror.getKind()) && ((DeclaredType) typeMirror).getTypeArguments().isEmpty()) {
+			return ((TypeElement) ((DeclaredType) typeMirror).asElement()).getSimpleName().toString();
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,117 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.domain;
+
+import com.github.chhorz.openapi.common.domain.OpenAPI;
+import com.github.chhorz.openapi.common.domain.Operation;
+import com.github.chhorz.openapi.common.domain.PathItemObject;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenAPITest {
+
+	@Test
+	void operationIdIndex() {
+		// given
+		OpenAPI openAPI = new OpenAPI();
+
+		// when
+		openAPI.putPathItemObject("/test", createPathItem("Controller#get", null));
+
+		// then
+		assertThat(openAPI.containsOperationId("Controller#get")).isTrue();
+		assertThat(openAPI.containsOperationId("Controller#post")).isFalse();
+	}
+
+	@Test
+	void operationIdIndexReplacedPathItem() {
+		// given
+		OpenAPI openAPI = new OpenAPI();
+		openAPI.putPathItemObject("/test", createPathItem("Controller#get", null));
+
+		// when
+		openAPI.putPathItemObject("/test", createPathItem(null, "Controller#post"));
+
+		// then
+		assertThat(openAPI.containsOperationId("Controller#get")).isFalse();
+		assertThat(openAPI.containsOperationId("Controller#post")).isTrue();
+	}
+
+	@Test
+	void operationIdIndexSharedOperationId() {
+		// given
+		OpenAPI openAPI = new OpenAPI();
+		openAPI.putPathItemObject("/test", createPathItem("Controller#get", null));
+		openAPI.putPathItemObject("/other", createPathItem("Controller#get", null));
+
+		// when
+		openAPI.putPathItemObject("/test", createPathItem(null, "Controller#post"));
+
+		// then
+		assertThat(openAPI.containsOperationId("Controller#get")).isTrue();
+		assertThat(openAPI.findOperationPath("Controller#get")).contains("/other");
+		assertThat(openAPI.findOperationPath("Controller#post")).contains("/test");
+	}
+
+	@Test
+	void operationIdIndexDeserialized() throws JsonProcessingException {
+		// given
+		OpenAPI source = new OpenAPI();
+		source.putPathItemObject("/test", createPathItem("Controller#get", "Controller#post"));
+		ObjectMapper objectMapper = new ObjectMapper();
+
+		// when
+		OpenAPI openAPI = objectMapper.readValue(objectMapper.writeValueAsString(source), OpenAPI.class);
+
+		// then
+		assertThat(openAPI.containsOperationId("Controller#get")).isTrue();
+		assertThat(openAPI.findOperationPath("Controller#post")).contains("/test");
+	}
+
+	@Test
+	void operationIdIndexPathsAddedByGetter() {
+		// given
+		OpenAPI openAPI = new OpenAPI();
+		openAPI.putPathItemObject("/test", createPathItem("Controller#get", null));
+
+		// when
+		openAPI.getPaths().put("/other", createPathItem(null, "Controller#post"));
+
+		// then
+		assertThat(openAPI.findOperationPath("Controller#get")).contains("/test");
+		assertThat(openAPI.findOperationPath("Controller#post")).contains("/other");
+	}
+
+	private PathItemObject createPathItem(final String getOperationId, final String postOperationId) {
+		PathItemObject pathItemObject = new PathItemObject();
+		if (getOperationId != null) {
+			Operation operation = new Operation();
+			operation.setOperationId(getOperationId);
+			pathItemObject.setGet(operation);
+		}
+		if (postOperationId != null) {
+			Operation operation = new Operation();
+			operation.setOperationId(postOperationId);
+			pathItemObject.setPost(operation);
+		}
+		return pathItemObject;
+	}
+
+}
@@ -31,8 +31,12 @@ import javax.tools.*;
 import java.io.ByteArrayOutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
@@ -88,6 +92,64 @@ public class ProcessingUtilsExtension implements BeforeEachCallback {
 		return messager;
 	}
 
+	/**
+	 * Compiles the given source files and applies the evaluation to the elements of the first processing round, while
+	 * the doc comments of the sources are still available.
+	 *
+	 * @param evaluation the evaluation of the compiled elements
+	 * @param files the paths of the source files
+	 * @param <T> the type of the result
+	 * @return the result of the evaluation
+	 */
+	public <T> T evaluate(final Function<Elements, T> evaluation, final String... files) {
+		return evaluate((elements, types) -> evaluation.apply(elements), files);
+	}
+
+	/**
+	 * Compiles the given source files and applies the evaluation to the elements and types of the first processing
+	 * round.
+	 *
+	 * @param evaluation the evaluation of the compiled elements
+	 * @param files the paths of the source files
+	 * @param <T> the type of the result
+	 * @return the result of the evaluation
+	 * @see #evaluate(Function, String...)
+	 */
+	public <T> T evaluate(final BiFunction<Elements, Types, T> evaluation, final String... files) {
+		JavaCompiler systemJavaCompiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+		StandardJavaFileManager fileManager = systemJavaCompiler.getStandardFileManager(collector, Locale.US, StandardCharsets.UTF_8);
+
+		List<T> results = new ArrayList<>();
+		JavaCompiler.CompilationTask compilationTask = systemJavaCompiler.getTask(null, fileManager, collector, singletonList("-proc:only"), null,
+			fileManager.getJavaFileObjects(files));
+		compilationTask.setProcessors(singletonList(new AbstractProcessor() {
+
+			@Override
+			public SourceVersion getSupportedSourceVersion() {
+				return SourceVersion.latest();
+			}
+
+			@Override
+			public Set<String> getSupportedAnnotationTypes() {
+				return Stream.of("*").collect(toSet());
+			}
+
+			@Override
+			public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+				if (results.isEmpty()) {
+					results.add(evaluation.apply(processingEnv.getElementUtils(), processingEnv.getTypeUtils()));
+				}
+				return false;
+			}
+		}));
+
+		if (!compilationTask.call() || results.isEmpty()) {
+			throw new IllegalStateException("Compilation failed: " + collector.getDiagnostics());
+		}
+		return results.get(0);
+	}
+
 	private void javac() {
 		JavaCompiler systemJavaCompiler = ToolProvider.getSystemJavaCompiler();
 		DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
@@ -0,0 +1,209 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.operation;
+
+import com.github.chhorz.openapi.common.domain.Operation;
+import com.github.chhorz.openapi.common.domain.Parameter;
+import com.github.chhorz.openapi.common.domain.Parameter.In;
+import com.github.chhorz.openapi.common.domain.Response;
+import com.github.chhorz.openapi.common.operation.OperationParameters;
+import com.github.chhorz.openapi.common.operation.OperationPipeline;
+import com.github.chhorz.openapi.common.operation.ParameterAnnotationAdapter;
+import com.github.chhorz.openapi.common.operation.ParameterBinding;
+import com.github.chhorz.openapi.common.operation.ParameterKind;
+import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+import com.github.chhorz.openapi.common.test.extension.ProcessingUtilsExtension;
+import com.github.chhorz.openapi.common.util.LogUtils;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
+import com.github.chhorz.openapi.common.util.ResponseUtils;
+import com.github.chhorz.openapi.common.util.SchemaUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Optional;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OperationPipelineTest {
+
+	@RegisterExtension
+	ProcessingUtilsExtension extension = new ProcessingUtilsExtension();
+
+	private Elements elements;
+	private Types types;
+
+	private ProcessingContext processingContext;
+	private SchemaUtils schemaUtils;
+	private ResponseUtils responseUtils;
+
+	@BeforeEach
+	void setUpEach() {
+		ParserProperties parserProperties = new ParserProperties();
+		parserProperties.setLogLevel(LogUtils.DEBUG);
+
+		elements = extension.getElements();
+		types = extension.getTypes();
+
+		LogUtils logUtils = new LogUtils(extension.getMessager(), parserProperties);
+		processingContext = ProcessingContext.create(elements, types, parserProperties, logUtils);
+		schemaUtils = new SchemaUtils(processingContext, Collections.emptyList());
+		responseUtils = new ResponseUtils(processingContext, schemaUtils);
+	}
+
+	@Test
+	void testClassifyParameters() {
+		// given
+		CountingAdapter adapter = new CountingAdapter();
+		OperationPipeline pipeline = new OperationPipeline(processingContext, schemaUtils, responseUtils, adapter);
+
+		ExecutableElement regionMatches = getRegionMatches();
+
+		// when
+		OperationParameters parameters = pipeline.classifyParameters(regionMatches);
+
+		// then
+		assertThat(adapter.invocations).isEqualTo(5);
+
+		assertThat(parameters.get(ParameterKind.HEADER))
+			.hasSize(1)
+			.extracting(ParameterBinding::element)
+			.containsExactly(regionMatches.getParameters().get(0));
+		assertThat(parameters.get(ParameterKind.QUERY))
+			.hasSize(3)
+			.extracting(ParameterBinding::element)
+			.containsExactly(regionMatches.getParameters().get(1), regionMatches.getParameters().get(3),
+				regionMatches.getParameters().get(4));
+		assertThat(parameters.get(ParameterKind.PATH)).isEmpty();
+
+		assertThat(parameters.getRequestBody())
+			.map(ParameterBinding::element)
+			.containsSame(regionMatches.getParameters().get(2));
+		assertThat(parameters.isPageable()).isFalse();
+	}
+
+	@Test
+	void testPageableBoundParameter() {
+		// given
+		CountingAdapter adapter = new CountingAdapter() {
+			@Override
+			public boolean isPageable(final VariableElement variableElement) {
+				return TypeKind.DECLARED.equals(variableElement.asType().getKind());
+			}
+		};
+		OperationPipeline pipeline = new OperationPipeline(processingContext, schemaUtils, responseUtils, adapter);
+
+		ExecutableElement regionMatches = getRegionMatches();
+
+		// when
+		OperationParameters parameters = pipeline.classifyParameters(regionMatches);
+
+		// then
+		assertThat(parameters.isPageable()).isTrue();
+		assertThat(parameters.getRequestBody())
+			.map(ParameterBinding::element)
+			.containsSame(regionMatches.getParameters().get(2));
+	}
+
+	@Test
+	void testDeriveOperation() {
+		// given
+		OperationPipeline pipeline = new OperationPipeline(processingContext, schemaUtils, responseUtils, new CountingAdapter());
+
+		Parameter queryParameter = createParameter("query", In.QUERY);
+		Parameter firstPathParameter = createParameter("id", In.PATH);
+		Parameter secondPathParameter = createParameter("name", In.PATH);
+
+		Response response = new Response();
+		response.setDescription("ok");
+
+		Operation template = new Operation();
+		template.setSummary("summary");
+		template.setDeprecated(Boolean.TRUE);
+		template.addParameterObject(queryParameter);
+		template.putDefaultResponse(response);
+		template.addTag("tag");
+		template.setSecurity(new ArrayList<>());
+
+		// when
+		Operation first = pipeline.deriveOperation(template, "Resource#get", singletonList(firstPathParameter));
+		Operation second = pipeline.deriveOperation(template, "Resource#get_0001", singletonList(secondPathParameter));
+		first.addTag("other");
+
+		// then
+		assertThat(first)
+			.hasFieldOrPropertyWithValue("operationId", "Resource#get")
+			.hasFieldOrPropertyWithValue("summary", "summary")
+			.hasFieldOrPropertyWithValue("deprecated", Boolean.TRUE);
+		assertThat(first.getParameterObjects()).containsExactly(firstPathParameter, queryParameter);
+		assertThat(first.getResponses()).containsEntry("default", response);
+		assertThat(first.getTags()).containsExactly("tag", "other");
+		assertThat(first.getSecurity()).isNotNull().isEmpty();
+
+		assertThat(second)
+			.hasFieldOrPropertyWithValue("operationId", "Resource#get_0001");
+		assertThat(second.getParameterObjects()).containsExactly(secondPathParameter, queryParameter);
+		assertThat(second.getTags()).containsExactly("tag");
+
+		assertThat(template.getParameterObjects()).containsExactly(queryParameter);
+		assertThat(template.getOperationId()).isNull();
+	}
+
+	private ExecutableElement getRegionMatches() {
+		// String.regionMatches(boolean ignoreCase, int toffset, String other, int ooffset, int len)
+		return ElementFilter.methodsIn(elements.getTypeElement(String.class.getCanonicalName()).getEnclosedElements())
+			.stream()
+			.filter(method -> method.getSimpleName().contentEquals("regionMatches"))
+			.filter(method -> method.getParameters().size() == 5)
+			.findFirst()
+			.orElseThrow(IllegalStateException::new);
+	}
+
+	private Parameter createParameter(final String name, final In in) {
+		Parameter parameter = new Parameter();
+		parameter.setName(name);
+		parameter.setIn(in);
+		return parameter;
+	}
+
+	private static class CountingAdapter implements ParameterAnnotationAdapter {
+
+		private int invocations;
+
+		@Override
+		public Optional<ParameterBinding> bind(final VariableElement variableElement) {
+			invocations++;
+
+			TypeKind typeKind = variableElement.asType().getKind();
+			ParameterKind kind = TypeKind.BOOLEAN.equals(typeKind) ? ParameterKind.HEADER
+				: TypeKind.INT.equals(typeKind) ? ParameterKind.QUERY
+				: ParameterKind.BODY;
+			return Optional.of(new ParameterBinding(variableElement, kind, variableElement.getSimpleName().toString(),
+				Boolean.TRUE, null, null, false));
+		}
+	}
+
+}
@@ -0,0 +1,172 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.spi.mapping;
+
+import com.github.chhorz.openapi.common.domain.Schema;
+import com.github.chhorz.openapi.common.spi.mapping.ParsedSchemaRegistry;
+import com.github.chhorz.openapi.common.spi.mapping.TypeMirrorMapper;
+import com.github.chhorz.openapi.common.spi.mapping.TypeMirrorMapperDispatcher;
+import com.github.chhorz.openapi.common.test.extension.ProcessingUtilsExtension;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeMirrorMapperDispatcherTest {
+
+	@RegisterExtension
+	ProcessingUtilsExtension extension = new ProcessingUtilsExtension();
+
+	private Elements elements;
+	private Types types;
+
+	@BeforeEach
+	void setUpEach() {
+		elements = extension.getElements();
+		types = extension.getTypes();
+	}
+
+	@Test
+	void testMemoizedSelection() {
+		// given
+		CountingMapper primitiveMapper = new CountingMapper(EnumSet.of(TypeKind.INT), true, typeMirror -> true);
+		CountingMapper stringMapper = new CountingMapper(EnumSet.allOf(TypeKind.class), true,
+			typeMirror -> types.isSameType(typeMirror, getType(String.class)));
+		TypeMirrorMapperDispatcher dispatcher = new TypeMirrorMapperDispatcher(types, Arrays.asList(primitiveMapper, stringMapper));
+
+		// when
+		Optional<TypeMirrorMapper> first = dispatcher.findMapper(getType(String.class));
+		Optional<TypeMirrorMapper> second = dispatcher.findMapper(getType(String.class));
+		Optional<TypeMirrorMapper> integer = dispatcher.findMapper(types.getPrimitiveType(TypeKind.INT));
+
+		// then
+		assertThat(first).containsSame(stringMapper);
+		assertThat(second).containsSame(stringMapper);
+		assertThat(integer).containsSame(primitiveMapper);
+
+		assertThat(primitiveMapper.invocations).isEqualTo(1);
+		assertThat(stringMapper.invocations).isEqualTo(1);
+	}
+
+	@Test
+	void testMissingMapperIsMemoized() {
+		// given
+		CountingMapper mapper = new CountingMapper(EnumSet.allOf(TypeKind.class), true, typeMirror -> false);
+		TypeMirrorMapperDispatcher dispatcher = new TypeMirrorMapperDispatcher(types, Arrays.asList(mapper));
+
+		// when
+		Optional<TypeMirrorMapper> first = dispatcher.findMapper(getType(Map.class));
+		Optional<TypeMirrorMapper> second = dispatcher.findMapper(getType(Map.class));
+
+		// then
+		assertThat(first).isEmpty();
+		assertThat(second).isEmpty();
+		assertThat(mapper.invocations).isEqualTo(1);
+	}
+
+	@Test
+	void testNoMemoizationWithoutErasureBasedMappers() {
+		// given
+		CountingMapper customMapper = new CountingMapper(EnumSet.allOf(TypeKind.class), false, typeMirror -> false);
+		CountingMapper fallbackMapper = new CountingMapper(EnumSet.allOf(TypeKind.class), true, typeMirror -> true);
+		TypeMirrorMapperDispatcher dispatcher = new TypeMirrorMapperDispatcher(types, Arrays.asList(customMapper, fallbackMapper));
+
+		// when
+		dispatcher.findMapper(getType(String.class));
+		Optional<TypeMirrorMapper> typeMirrorMapper = dispatcher.findMapper(getType(String.class));
+
+		// then
+		assertThat(typeMirrorMapper).containsSame(fallbackMapper);
+		assertThat(customMapper.invocations).isEqualTo(2);
+		assertThat(fallbackMapper.invocations).isEqualTo(2);
+	}
+
+	@Test
+	void testClear() {
+		// given
+		CountingMapper mapper = new CountingMapper(EnumSet.allOf(TypeKind.class), true, typeMirror -> true);
+		TypeMirrorMapperDispatcher dispatcher = new TypeMirrorMapperDispatcher(types, Arrays.asList(mapper));
+
+		// when
+		dispatcher.findMapper(getType(String.class));
+		dispatcher.clear();
+		dispatcher.findMapper(getType(String.class));
+
+		// then
+		assertThat(mapper.invocations).isEqualTo(2);
+	}
+
+	private TypeMirror getType(final Class<?> clazz) {
+		return elements.getTypeElement(clazz.getCanonicalName()).asType();
+	}
+
+	private static class CountingMapper implements TypeMirrorMapper {
+
+		private final Set<TypeKind> supportedTypeKinds;
+		private final boolean erasureBased;
+		private final Predicate<TypeMirror> predicate;
+
+		private int invocations;
+
+		CountingMapper(final Set<TypeKind> supportedTypeKinds, final boolean erasureBased, final Predicate<TypeMirror> predicate) {
+			this.supportedTypeKinds = supportedTypeKinds;
+			this.erasureBased = erasureBased;
+			this.predicate = predicate;
+		}
+
+		@Override
+		public void setup(final ProcessingContext processingContext) {
+		}
+
+		@Override
+		public Set<TypeKind> getSupportedTypeKinds() {
+			return supportedTypeKinds;
+		}
+
+		@Override
+		public boolean isErasureBased() {
+			return erasureBased;
+		}
+
+		@Override
+		public boolean test(final TypeMirror typeMirror) {
+			invocations++;
+			return predicate.test(typeMirror);
+		}
+
+		@Override
+		public Map<TypeMirror, Schema> map(final TypeMirror typeMirror, final ParsedSchemaRegistry parsedSchemas) {
+			return Collections.singletonMap(typeMirror, new Schema());
+		}
+
+	}
+
+}
@@ -0,0 +1,188 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.spi.mapping;
+
+import com.github.chhorz.javadoc.JavaDocParser;
+import com.github.chhorz.openapi.common.domain.Schema;
+import com.github.chhorz.openapi.common.domain.Schema.Type;
+import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+import com.github.chhorz.openapi.common.spi.mapping.AbstractTypeMirrorMapper;
+import com.github.chhorz.openapi.common.spi.mapping.ParsedSchemaRegistry;
+import com.github.chhorz.openapi.common.spi.mapping.TypeMirrorMapper;
+import com.github.chhorz.openapi.common.test.extension.ProcessingUtilsExtension;
+import com.github.chhorz.openapi.common.util.LogUtils;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * Tests the adaption of mappers that implement the deprecated methods of {@link TypeMirrorMapper}.
+ *
+ * @author chhorz
+ */
+@SuppressWarnings("deprecation")
+class TypeMirrorMapperTest {
+
+	@RegisterExtension
+	ProcessingUtilsExtension extension = new ProcessingUtilsExtension();
+
+	private Elements elements;
+	private Types types;
+
+	@BeforeEach
+	void setUpEach() {
+		elements = extension.getElements();
+		types = extension.getTypes();
+	}
+
+	@Test
+	void testLegacySetup() {
+		// given
+		ParserProperties parserProperties = new ParserProperties();
+		ProcessingContext processingContext = ProcessingContext.create(elements, types, parserProperties,
+			new LogUtils(extension.getMessager(), parserProperties));
+		LegacyMapper mapper = new LegacyMapper();
+
+		// when
+		mapper.setup(processingContext);
+
+		// then
+		assertThat(mapper.elements).isSameAs(elements);
+		assertThat(mapper.parserProperties).isSameAs(parserProperties);
+		assertThat(mapper.typeMirrorMappers).isEqualTo(processingContext.getTypeMirrorMapperDispatcher().getTypeMirrorMappers());
+	}
+
+	@Test
+	void testLegacyMap() {
+		// given
+		ParsedSchemaRegistry parsedSchemas = new ParsedSchemaRegistry();
+		parsedSchemas.register(getType(String.class), new Schema());
+		LegacyMapper mapper = new LegacyMapper();
+
+		// when
+		Map<TypeMirror, Schema> schemaMap = mapper.map(getType(Integer.class), parsedSchemas);
+
+		// then
+		assertThat(schemaMap).containsOnlyKeys(getType(Integer.class));
+		assertThat(mapper.parsedSchemaMap).containsOnlyKeys(getType(String.class));
+	}
+
+	@Test
+	void testMapWithoutImplementation() {
+		// given
+		TypeMirrorMapper mapper = typeMirror -> true;
+
+		// when
+		Throwable throwable = catchThrowable(() -> mapper.map(getType(Integer.class), new ParsedSchemaRegistry()));
+
+		// then
+		assertThat(throwable)
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("map(TypeMirror, ParsedSchemaRegistry)");
+	}
+
+	@Test
+	void testLegacyAbstractMapper() {
+		// given
+		ParserProperties parserProperties = new ParserProperties();
+		ProcessingContext processingContext = ProcessingContext.create(elements, types, parserProperties,
+			new LogUtils(extension.getMessager(), parserProperties));
+		LegacyAbstractMapper mapper = new LegacyAbstractMapper();
+
+		// when
+		mapper.setup(processingContext);
+		Map<TypeMirror, Schema> schemaMap = mapper.map(getType(Integer.class), new ParsedSchemaRegistry());
+
+		// then
+		assertThat(mapper.legacySetup).isTrue();
+		assertThat(mapper.getParser()).isNotNull();
+		assertThat(schemaMap.values())
+			.extracting(Schema::getType)
+			.containsExactly(Type.INTEGER);
+	}
+
+	private TypeMirror getType(final Class<?> clazz) {
+		return elements.getTypeElement(clazz.getCanonicalName()).asType();
+	}
+
+	private static class LegacyMapper implements TypeMirrorMapper {
+
+		private Elements elements;
+		private ParserProperties parserProperties;
+		private List<TypeMirrorMapper> typeMirrorMappers;
+		private Map<TypeMirror, Schema> parsedSchemaMap;
+
+		@Override
+		public void setup(final Elements elements, final Types types, final LogUtils logUtils, final ParserProperties parserProperties,
+						  final List<TypeMirrorMapper> typeMirrorMappers) {
+			this.elements = elements;
+			this.parserProperties = parserProperties;
+			this.typeMirrorMappers = typeMirrorMappers;
+		}
+
+		@Override
+		public boolean test(final TypeMirror typeMirror) {
+			return true;
+		}
+
+		@Override
+		public Map<TypeMirror, Schema> map(final TypeMirror typeMirror, final Map<TypeMirror, Schema> parsedSchemaMap) {
+			this.parsedSchemaMap = new HashMap<>(parsedSchemaMap);
+			return singletonMap(typeMirror, new Schema());
+		}
+
+	}
+
+	private static class LegacyAbstractMapper extends AbstractTypeMirrorMapper {
+
+		private boolean legacySetup;
+
+		@Override
+		public void setup(final Elements elements, final Types types, final LogUtils logUtils, final ParserProperties parserProperties,
+						  final List<TypeMirrorMapper> typeMirrorMappers) {
+			legacySetup = this.elements == elements && this.parserProperties == parserProperties;
+		}
+
+		@Override
+		public boolean test(final TypeMirror typeMirror) {
+			return false;
+		}
+
+		@Override
+		public Map<TypeMirror, Schema> map(final TypeMirror typeMirror, final Map<TypeMirror, Schema> parsedSchemaMap) {
+			return recursion(typeMirror, parsedSchemaMap);
+		}
+
+		JavaDocParser getParser() {
+			return parser;
+		}
+
+	}
+
+}
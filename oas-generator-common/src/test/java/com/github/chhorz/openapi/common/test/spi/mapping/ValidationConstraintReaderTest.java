@@ -0,0 +1,136 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.spi.mapping;
+
+import com.github.chhorz.openapi.common.domain.Schema;
+import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+import com.github.chhorz.openapi.common.spi.mapping.ValidationConstraintReader;
+import com.github.chhorz.openapi.common.spi.mapping.ValidationConstraints;
+import com.github.chhorz.openapi.common.test.extension.ProcessingUtilsExtension;
+import com.github.chhorz.openapi.common.util.LogUtils;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
+import com.github.chhorz.openapi.common.util.SchemaUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ValidationConstraintReaderTest {
+
+	private static final String RESOURCE_FILE = "src/test/resources/validation/ValidatedResource.java";
+	private static final String RESOURCE = "com.github.chhorz.openapi.common.test.validation.ValidatedResource";
+
+	@RegisterExtension
+	ProcessingUtilsExtension extension = new ProcessingUtilsExtension();
+
+	@Test
+	void testJavaxConstraints() {
+		// when
+		Map<String, ValidationConstraints> constraints = readConstraints();
+
+		// then
+		assertThat(constraints.get("javaxSizeString"))
+			.extracting("minSize", "maxSize", "notEmpty")
+			.containsExactly(2, 10, false);
+		assertThat(constraints.get("javaxSizeList"))
+			.extracting("minSize", "maxSize", "notEmpty")
+			.containsExactly(1, 5, false);
+		assertThat(constraints.get("javaxNotEmptyString"))
+			.extracting("minSize", "maxSize", "notEmpty")
+			.containsExactly(null, null, true);
+		assertThat(constraints.get("javaxNotEmptyList"))
+			.extracting("minSize", "maxSize", "notEmpty")
+			.containsExactly(null, null, true);
+	}
+
+	@Test
+	void testJakartaConstraints() {
+		// when
+		Map<String, ValidationConstraints> constraints = readConstraints();
+
+		// then
+		assertThat(constraints.get("jakartaSizeString"))
+			.extracting("minSize", "maxSize", "notEmpty")
+			.containsExactly(2, null, false);
+		assertThat(constraints.get("jakartaSizeList"))
+			.extracting("minSize", "maxSize", "notEmpty")
+			.containsExactly(0, 5, false);
+		assertThat(constraints.get("jakartaNotEmptyString"))
+			.extracting("minSize", "maxSize", "notEmpty")
+			.containsExactly(null, null, true);
+		assertThat(constraints.get("jakartaNotEmptyList"))
+			.extracting("minSize", "maxSize", "notEmpty")
+			.containsExactly(null, null, true);
+	}
+
+	@Test
+	void testSizeConstraintsOfStringsAndCollections() {
+		// when
+		Map<String, Object> properties = extension.evaluate((elements, types) -> {
+			ParserProperties parserProperties = new ParserProperties();
+			LogUtils logUtils = new LogUtils(extension.getMessager(), parserProperties);
+			SchemaUtils schemaUtils = new SchemaUtils(ProcessingContext.create(elements, types, parserProperties, logUtils), Collections.emptyList());
+
+			TypeElement resource = elements.getTypeElement(RESOURCE);
+			return schemaUtils.createTypeMirrorSchemaMap(resource.asType()).get(resource.asType()).getProperties();
+		}, RESOURCE_FILE);
+
+		// then
+		assertThat(properties)
+			.hasSize(8)
+			.allSatisfy((name, property) -> assertThat(property).isInstanceOf(Schema.class));
+
+		assertThat(properties)
+			.extractingByKeys("javaxSizeString", "javaxNotEmptyString", "jakartaSizeString", "jakartaNotEmptyString")
+			.extracting("minLength", "maxLength", "minItems", "maxItems")
+			.containsExactly(tuple(2, 10, null, null),
+				tuple(1, null, null, null),
+				tuple(2, null, null, null),
+				tuple(1, null, null, null));
+
+		assertThat(properties)
+			.extractingByKeys("javaxSizeList", "javaxNotEmptyList", "jakartaSizeList", "jakartaNotEmptyList")
+			.extracting("minLength", "maxLength", "minItems", "maxItems")
+			.containsExactly(tuple(null, null, 1, 5),
+				tuple(null, null, 1, null),
+				tuple(null, null, 0, 5),
+				tuple(null, null, 1, null));
+	}
+
+	private Map<String, ValidationConstraints> readConstraints() {
+		return extension.evaluate(elements -> {
+			ValidationConstraintReader reader = new ValidationConstraintReader(elements);
+
+			Map<String, ValidationConstraints> constraints = new LinkedHashMap<>();
+			for (Element element : elements.getTypeElement(RESOURCE).getEnclosedElements()) {
+				if (ElementKind.FIELD.equals(element.getKind())) {
+					constraints.put(element.getSimpleName().toString(), reader.read(element));
+				}
+			}
+			return constraints;
+		}, RESOURCE_FILE);
+	}
+
+}
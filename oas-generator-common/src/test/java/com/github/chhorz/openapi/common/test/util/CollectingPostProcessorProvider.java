@@ -0,0 +1,64 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.util;
+
+import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+import com.github.chhorz.openapi.common.spi.OpenAPIPostProcessor;
+import com.github.chhorz.openapi.common.spi.PostProcessorProvider;
+import com.github.chhorz.openapi.common.spi.PostProcessorType;
+import com.github.chhorz.openapi.common.util.LogUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Provider of a post processor that collects the JSON content of the output file. The post processor is only
+ * registered for {@link PostProcessorType#JSON_STRING}, if the properties contain a post processor entry with the
+ * key {@value #KEY}.
+ *
+ * @author chhorz
+ */
+public class CollectingPostProcessorProvider implements PostProcessorProvider {
+
+	public static final String KEY = "collecting";
+
+	public static final List<String> CONTENTS = new CopyOnWriteArrayList<>();
+
+	@Override
+	public OpenAPIPostProcessor create(final LogUtils logUtils, final ParserProperties parserProperties) {
+		boolean enabled = parserProperties.getPostProcessor() != null && parserProperties.getPostProcessor().containsKey(KEY);
+		return new OpenAPIPostProcessor() {
+
+			@Override
+			public void execute(final String content, final PostProcessorType postProcessorType) {
+				CONTENTS.add(content);
+			}
+
+			@Override
+			public int getPostProcessorOrder() {
+				return 0;
+			}
+
+			@Override
+			public List<PostProcessorType> getPostProcessorType() {
+				return enabled ? Collections.singletonList(PostProcessorType.JSON_STRING) : Collections.emptyList();
+			}
+		};
+	}
+
+}
@@ -16,6 +16,7 @@
  */
 package com.github.chhorz.openapi.common.test.util;
 
+import com.github.chhorz.openapi.common.domain.Info;
 import com.github.chhorz.openapi.common.domain.OpenAPI;
 import com.github.chhorz.openapi.common.domain.Reference;
 import com.github.chhorz.openapi.common.domain.Schema;
@@ -23,10 +24,17 @@ import com.github.chhorz.openapi.common.domain.Schema.Format;
 import com.github.chhorz.openapi.common.domain.Schema.Type;
 import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
 import com.github.chhorz.openapi.common.util.FileUtils;
+import com.github.chhorz.openapi.common.util.LogUtils;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
@@ -205,4 +213,151 @@ public class FileUtilsTest {
 			.isNotNull()
 			.isEmpty();
 	}
+
+	@Test
+	void testReadSchemas() {
+		// given
+		ParserProperties properties = new ParserProperties();
+		properties.setSchemaDir("./src/test/resources");
+		properties.setSchemaFile("openapi-custom-schema");
+
+		FileUtils fileUtils = new FileUtils(null, properties);
+
+		// when
+		Optional<Map<String, Schema>> optionalSchemas = fileUtils.readSchemasFromFile();
+
+		// then
+		assertThat(optionalSchemas)
+			.isPresent();
+		assertThat(optionalSchemas.get())
+			.hasSize(2)
+			.containsKeys("Article", "Order");
+		assertThat(optionalSchemas.get().toString()).isEqualTo(schemaMap.toString());
+	}
+
+	@Test
+	void testReadSchemasFromYaml() {
+		// given
+		ParserProperties properties = new ParserProperties();
+		properties.setSchemaDir("./src/test/resources");
+		properties.setSchemaFile("openapi-custom-schema.yaml");
+
+		FileUtils fileUtils = new FileUtils(null, properties);
+
+		// when
+		Optional<Map<String, Schema>> optionalSchemas = fileUtils.readSchemasFromFile();
+
+		// then
+		assertThat(optionalSchemas)
+			.isPresent();
+		assertThat(optionalSchemas.get())
+			.hasSize(2)
+			.containsKeys("Article", "Order");
+		assertThat(optionalSchemas.get().toString()).isEqualTo(schemaMap.toString());
+	}
+
+	@Test
+	void testReadSchemasReturnsCopies() {
+		// given
+		ParserProperties properties = new ParserProperties();
+		properties.setSchemaDir("./src/test/resources");
+		properties.setSchemaFile("openapi-custom-schema.json");
+
+		FileUtils fileUtils = new FileUtils(null, properties);
+		Map<String, Schema> firstSchemas = fileUtils.readSchemasFromFile().orElseThrow();
+
+		// when
+		Map<String, Schema> schemas = fileUtils.readSchemasFromFile().orElseThrow();
+
+		// then
+		assertThat(schemas.get("Order"))
+			.isNotSameAs(firstSchemas.get("Order"))
+			.hasToString(firstSchemas.get("Order").toString());
+	}
+
+	@Test
+	void testReadSchemasInvalidPath() {
+		// given
+		ParserProperties properties = new ParserProperties();
+		properties.setSchemaFile("./src/test/resources/openapi-schema-unknown-file.json");
+
+		FileUtils fileUtils = new FileUtils(null, properties);
+
+		// when
+		Optional<Map<String, Schema>> optionalSchemas = fileUtils.readSchemasFromFile();
+
+		// then
+		assertThat(optionalSchemas)
+			.isEmpty();
+	}
+
+	@Test
+	void testWriteIfChanged(@TempDir final Path outputDir) throws IOException {
+		// given
+		Path file = outputDir.resolve("openapi.json");
+
+		// when
+		boolean initialWrite = FileUtils.writeIfChanged(file, outputStream -> outputStream.write("{}".getBytes(StandardCharsets.UTF_8)));
+		boolean unchangedWrite = FileUtils.writeIfChanged(file, outputStream -> outputStream.write("{}".getBytes(StandardCharsets.UTF_8)));
+		boolean changedWrite = FileUtils.writeIfChanged(file, outputStream -> outputStream.write("{ }".getBytes(StandardCharsets.UTF_8)));
+
+		// then
+		assertThat(initialWrite).isTrue();
+		assertThat(unchangedWrite).isFalse();
+		assertThat(changedWrite).isTrue();
+		assertThat(file).hasContent("{ }");
+		assertThat(outputDir).isDirectoryNotContaining("glob:**.tmp");
+	}
+
+	@Test
+	void testWriteToFileWithoutStringPostProcessor(@TempDir final Path outputDir) throws IOException {
+		// given
+		ParserProperties properties = createOutputProperties(outputDir, "json,yaml");
+		CollectingPostProcessorProvider.CONTENTS.clear();
+
+		// when
+		new FileUtils(new LogUtils(null, properties), properties).writeToFile(createOpenAPI());
+
+		// then
+		assertThat(Files.readString(outputDir.resolve("openapi.json"))).contains("\"title\" : \"Test\"");
+		assertThat(Files.readString(outputDir.resolve("openapi.yaml"))).contains("title:", "Test");
+		assertThat(CollectingPostProcessorProvider.CONTENTS).isEmpty();
+	}
+
+	@Test
+	void testWriteToFileWithStringPostProcessor(@TempDir final Path outputDir) throws IOException {
+		// given
+		ParserProperties properties = createOutputProperties(outputDir, "json,yaml");
+		Map<String, LinkedHashMap> postProcessor = new LinkedHashMap<>();
+		postProcessor.put(CollectingPostProcessorProvider.KEY, new LinkedHashMap<>());
+		properties.setPostProcessor(postProcessor);
+		CollectingPostProcessorProvider.CONTENTS.clear();
+
+		// when
+		new FileUtils(new LogUtils(null, properties), properties).writeToFile(createOpenAPI());
+
+		// then
+		assertThat(CollectingPostProcessorProvider.CONTENTS)
+			.containsExactly(Files.readString(outputDir.resolve("openapi.json")));
+		assertThat(outputDir.resolve("openapi.yaml")).isNotEmptyFile();
+	}
+
+	private static ParserProperties createOutputProperties(final Path outputDir, final String outputFormat) {
+		ParserProperties properties = new ParserProperties();
+		properties.setOutputDir(outputDir.toString());
+		properties.setOutputFile("openapi");
+		properties.setOutputFormat(outputFormat);
+		return properties;
+	}
+
+	private static OpenAPI createOpenAPI() {
+		Info info = new Info();
+		info.setTitle("Test");
+		info.setVersion("1.0.0");
+
+		OpenAPI openAPI = new OpenAPI();
+		openAPI.setInfo(info);
+		return openAPI;
+	}
+
 }
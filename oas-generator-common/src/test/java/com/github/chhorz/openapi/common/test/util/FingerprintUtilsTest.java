@@ -0,0 +1,180 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.util;
+
+import com.github.chhorz.openapi.common.domain.Operation;
+import com.github.chhorz.openapi.common.domain.PathItemObject;
+import com.github.chhorz.openapi.common.domain.Reference;
+import com.github.chhorz.openapi.common.domain.Schema;
+import com.github.chhorz.openapi.common.domain.Schema.Type;
+import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
+import com.github.chhorz.openapi.common.test.extension.ProcessingUtilsExtension;
+import com.github.chhorz.openapi.common.util.FingerprintUtils;
+import com.github.chhorz.openapi.common.util.FingerprintUtils.FingerprintIndex;
+import com.github.chhorz.openapi.common.util.FingerprintUtils.OperationLocation;
+import com.github.chhorz.openapi.common.util.FingerprintUtils.TypeFingerprint;
+import com.github.chhorz.openapi.common.util.LogUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.lang.model.element.TypeElement;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FingerprintUtilsTest {
+
+	private static final String FIXTURES = "src/test/resources/fingerprint/";
+	private static final String CONTROLLER = "com.github.chhorz.openapi.common.test.fingerprint.FingerprintController";
+
+	@RegisterExtension
+	ProcessingUtilsExtension extension = new ProcessingUtilsExtension();
+
+	@TempDir
+	Path outputDir;
+
+	@Test
+	void testFingerprintIsStable() {
+		// when
+		List<String> first = createFingerprintAndSignature(FIXTURES + "FingerprintResource.java");
+		List<String> second = createFingerprintAndSignature(FIXTURES + "FingerprintResource.java");
+
+		// then
+		assertThat(first)
+			.isEqualTo(second)
+			.allSatisfy(hash -> assertThat(hash).hasSize(64));
+	}
+
+	@Test
+	void testDocumentationChangeOfReferencedType() {
+		// when
+		List<String> original = createFingerprintAndSignature(FIXTURES + "FingerprintResource.java");
+		List<String> changed = createFingerprintAndSignature(FIXTURES + "doc/FingerprintResource.java");
+
+		// then
+		assertThat(changed.get(0)).isNotEqualTo(original.get(0));
+		assertThat(changed.get(1)).isEqualTo(original.get(1));
+	}
+
+	@Test
+	void testFieldChangeOfReferencedType() {
+		// when
+		List<String> original = createFingerprintAndSignature(FIXTURES + "FingerprintResource.java");
+		List<String> changed = createFingerprintAndSignature(FIXTURES + "field/FingerprintResource.java");
+
+		// then
+		assertThat(changed.get(0)).isNotEqualTo(original.get(0));
+		assertThat(changed.get(1)).isNotEqualTo(original.get(1));
+	}
+
+	@Test
+	void testIndexRoundTrip() {
+		// given
+		ParserProperties properties = new ParserProperties();
+		properties.setOutputDir(outputDir.toString());
+
+		FingerprintUtils fingerprintUtils = createFingerprintUtils(properties);
+
+		TypeFingerprint typeFingerprint = new TypeFingerprint("fingerprint", "signature",
+			asList(new OperationLocation("/test", "get"), new OperationLocation("/test", "post")));
+
+		// when
+		fingerprintUtils.writeIndex(new FingerprintIndex("context", Collections.singletonMap("com.example.Controller", typeFingerprint)));
+		Optional<FingerprintIndex> index = fingerprintUtils.readIndex();
+
+		// then
+		assertThat(index)
+			.isPresent()
+			.get()
+			.isEqualTo(new FingerprintIndex("context", Collections.singletonMap("com.example.Controller", typeFingerprint)));
+	}
+
+	@Test
+	void testMissingIndex() {
+		// given
+		ParserProperties properties = new ParserProperties();
+		properties.setOutputDir(outputDir.toString());
+
+		FingerprintUtils fingerprintUtils = createFingerprintUtils(properties);
+
+		// when
+		Optional<FingerprintIndex> index = fingerprintUtils.readIndex();
+
+		// then
+		assertThat(index).isNotPresent();
+	}
+
+	@Test
+	void testFindSchemaReferences() {
+		// given
+		FingerprintUtils fingerprintUtils = createFingerprintUtils(new ParserProperties());
+
+		Schema schema = new Schema();
+		schema.setType(Type.OBJECT);
+		schema.putProperty("article", new Reference("#/components/schemas/Article"));
+		schema.putProperty("customer", new Reference("#/components/schemas/Customer"));
+
+		// when / then
+		assertThat(fingerprintUtils.findSchemaReferences(schema))
+			.containsExactlyInAnyOrder("Article", "Customer");
+	}
+
+	@Test
+	void testOperationMethods() {
+		// given
+		Operation operation = new Operation();
+		operation.setOperationId("Controller#test");
+
+		PathItemObject pathItemObject = new PathItemObject();
+		FingerprintUtils.setOperation(pathItemObject, "get", operation);
+		FingerprintUtils.setOperation(pathItemObject, "head", operation);
+
+		// when / then
+		assertThat(FingerprintUtils.getOperationMethods(pathItemObject, "Controller#test"))
+			.containsExactly("get", "head");
+		assertThat(FingerprintUtils.getOperation(pathItemObject, "post"))
+			.isNull();
+	}
+
+	@Test
+	void testCreateHash() {
+		assertThat(FingerprintUtils.createHash("a", "b"))
+			.isEqualTo(FingerprintUtils.createHash("a", "b"))
+			.isNotEqualTo(FingerprintUtils.createHash("a", "c"))
+			.hasSize(64);
+	}
+
+	private FingerprintUtils createFingerprintUtils(final ParserProperties properties) {
+		return new FingerprintUtils(extension.getElements(), properties, new LogUtils(extension.getMessager(), properties));
+	}
+
+	private List<String> createFingerprintAndSignature(final String resourceFile) {
+		ParserProperties properties = new ParserProperties();
+		LogUtils logUtils = new LogUtils(extension.getMessager(), properties);
+		return extension.evaluate(elements -> {
+			FingerprintUtils fingerprintUtils = new FingerprintUtils(elements, properties, logUtils);
+			TypeElement controller = elements.getTypeElement(CONTROLLER);
+			return asList(fingerprintUtils.createFingerprint(controller), fingerprintUtils.createSignature(controller));
+		}, FIXTURES + "FingerprintController.java", resourceFile);
+	}
+
+}
@@ -0,0 +1,89 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.util;
+
+import com.github.chhorz.openapi.common.util.GenerationMetrics;
+import com.github.chhorz.openapi.common.util.GenerationMetrics.MetricsReport;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GenerationMetricsTest {
+
+	@Test
+	void testCounters() {
+		// given
+		GenerationMetrics metrics = new GenerationMetrics(true);
+
+		// when
+		metrics.increment(GenerationMetrics.COUNTER_TYPES_MAPPED);
+		metrics.add(GenerationMetrics.COUNTER_TYPES_MAPPED, 2);
+		metrics.set(GenerationMetrics.COUNTER_SCHEMAS, 5);
+		metrics.set(GenerationMetrics.COUNTER_SCHEMAS, 7);
+
+		// then
+		assertThat(metrics.getCounter(GenerationMetrics.COUNTER_TYPES_MAPPED)).isEqualTo(3);
+		assertThat(metrics.getCounter(GenerationMetrics.COUNTER_SCHEMAS)).isEqualTo(7);
+		assertThat(metrics.getCounter(GenerationMetrics.COUNTER_OPERATIONS)).isZero();
+	}
+
+	@Test
+	void testTimers() {
+		// given
+		GenerationMetrics metrics = new GenerationMetrics(true);
+
+		// when
+		try (GenerationMetrics.Timer outer = metrics.startTimer(GenerationMetrics.PHASE_OPERATIONS)) {
+			try (GenerationMetrics.Timer inner = metrics.startTimer(GenerationMetrics.PHASE_TYPE_MAPPING)) {
+				metrics.increment(GenerationMetrics.COUNTER_TYPES_MAPPED);
+			}
+			try (GenerationMetrics.Timer inner = metrics.startTimer(GenerationMetrics.PHASE_TYPE_MAPPING)) {
+				metrics.increment(GenerationMetrics.COUNTER_TYPES_MAPPED);
+			}
+		}
+		MetricsReport report = metrics.createReport("processor");
+
+		// then
+		assertThat(report.processor()).isEqualTo("processor");
+		assertThat(report.phases())
+			.containsOnlyKeys(GenerationMetrics.PHASE_OPERATIONS, GenerationMetrics.PHASE_TYPE_MAPPING);
+		assertThat(report.phases().get(GenerationMetrics.PHASE_TYPE_MAPPING).invocations()).isEqualTo(2);
+		assertThat(report.phases().get(GenerationMetrics.PHASE_OPERATIONS).invocations()).isEqualTo(1);
+		assertThat(report.phases().get(GenerationMetrics.PHASE_OPERATIONS).durationMs())
+			.isGreaterThanOrEqualTo(report.phases().get(GenerationMetrics.PHASE_TYPE_MAPPING).durationMs());
+		assertThat(report.counters())
+			.containsEntry(GenerationMetrics.COUNTER_TYPES_MAPPED, 2L);
+	}
+
+	@Test
+	void testDisabled() {
+		// given
+		GenerationMetrics metrics = GenerationMetrics.disabled();
+
+		// when
+		try (GenerationMetrics.Timer timer = metrics.startTimer(GenerationMetrics.PHASE_JAVADOC)) {
+			metrics.increment(GenerationMetrics.COUNTER_JAVADOCS_PARSED);
+		}
+		MetricsReport report = metrics.createReport("processor");
+
+		// then
+		assertThat(metrics.isEnabled()).isFalse();
+		assertThat(report.phases()).isEmpty();
+		assertThat(report.counters()).isEmpty();
+	}
+
+}
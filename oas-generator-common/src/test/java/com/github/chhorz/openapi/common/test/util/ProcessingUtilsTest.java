@@ -31,7 +31,9 @@ import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -103,4 +105,28 @@ public class ProcessingUtilsTest {
 		assertThat(typeMirror.getKind())
 				.isEqualTo(TypeKind.ARRAY);
 	}
+
+	@Test
+	void testCachedAssignability() {
+		// given
+		TypeMirror stringType = elements.getTypeElement(String.class.getCanonicalName()).asType();
+		TypeMirror stringList = types.getDeclaredType(elements.getTypeElement(ArrayList.class.getCanonicalName()), stringType);
+		TypeMirror doubleList = types.getDeclaredType(elements.getTypeElement(ArrayList.class.getCanonicalName()),
+			elements.getTypeElement(Double.class.getCanonicalName()).asType());
+		ProcessingUtils otherProcessingUtils = new ProcessingUtils(elements, types, null);
+
+		// when
+		boolean stringListAssignable = processingUtils.isAssignableTo(stringList, List.class);
+		boolean doubleListAssignable = otherProcessingUtils.isAssignableTo(doubleList, List.class);
+		boolean mapAssignable = processingUtils.isAssignableTo(stringList, Map.class);
+		processingUtils.clearCache();
+		boolean assignableAfterClear = otherProcessingUtils.isAssignableTo(stringList, List.class);
+
+		// then
+		assertThat(stringListAssignable).isTrue();
+		assertThat(doubleListAssignable).isTrue();
+		assertThat(mapAssignable).isFalse();
+		assertThat(assignableAfterClear).isTrue();
+		assertThat(processingUtils.isSameType(stringType, String.class)).isTrue();
+	}
 }
@@ -26,8 +26,11 @@ import com.github.chhorz.openapi.common.javadoc.ResponseTag;
 import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
 import com.github.chhorz.openapi.common.test.extension.ProcessingUtilsExtension;
 import com.github.chhorz.openapi.common.test.util.resources.ClassA;
+import com.github.chhorz.openapi.common.test.util.resources.ClassB;
 import com.github.chhorz.openapi.common.util.LogUtils;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
 import com.github.chhorz.openapi.common.util.ResponseUtils;
+import com.github.chhorz.openapi.common.util.SchemaUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -68,7 +71,8 @@ class ResponseUtilsTest {
 		this.elements = extension.getElements();
 		this.types = extension.getTypes();
 
-		responseUtils = new ResponseUtils(elements, types, parserProperties, logUtils);
+		ProcessingContext processingContext = ProcessingContext.create(elements, types, parserProperties, logUtils);
+		responseUtils = new ResponseUtils(processingContext, new SchemaUtils(processingContext, Collections.emptyList()));
 	}
 
 	@Test
@@ -263,6 +267,35 @@ class ResponseUtilsTest {
 				.hasToString("Reference [$ref=#/components/schemas/ClassA]");
 	}
 
+	@Test
+	void testSimpleResponseTypeOutsideOfOperation(){
+		// given
+		ResponseTag r1 = new ResponseTag();
+		r1.putValue("statusCode", "200");
+		r1.putValue("responseType", "ClassA");
+
+		JavaDoc javaDoc = new JavaDoc("", "", singletonList(r1));
+		String[] produces = new String[]{"application/json"};
+		String description = "";
+
+		// ClassA is known from a previous operation of the same round
+		responseUtils.fromTypeMirror(elements.getTypeElement(ClassA.class.getCanonicalName()).asType(), produces, description);
+
+		Map<TypeMirror, Schema> typeMap = new HashMap<>();
+		typeMap.put(elements.getTypeElement(ClassB.class.getCanonicalName()).asType(), null);
+
+		OpenAPI openAPI = createOpenAPI();
+
+		// when
+		Map<String, Response> responses = responseUtils.initializeFromJavadoc(javaDoc, openAPI, produces, description, typeMap);
+
+		// then
+		assertThat(responses)
+				.containsOnlyKeys("200");
+		assertThat(responses.get("200").getContent())
+				.isNullOrEmpty();
+	}
+
 	@Test
 	@Disabled
 	void testListResponseType(){
@@ -25,6 +25,7 @@ import com.github.chhorz.openapi.common.test.extension.ProcessingUtilsExtension;
 import com.github.chhorz.openapi.common.test.github.GitHubIssue;
 import com.github.chhorz.openapi.common.test.util.resources.*;
 import com.github.chhorz.openapi.common.util.LogUtils;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
 import com.github.chhorz.openapi.common.util.SchemaUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -66,7 +67,7 @@ class SchemaUtilsTest {
 		elements = extension.getElements();
 		types = extension.getTypes();
 
-		schemaUtils = new SchemaUtils(elements, types, parserProperties, new LogUtils(null, parserProperties));
+		schemaUtils = new SchemaUtils(ProcessingContext.create(elements, types, parserProperties, new LogUtils(null, parserProperties)), Collections.emptyList());
 	}
 
 	@Test
@@ -111,6 +112,26 @@ class SchemaUtilsTest {
 				"InterfaceA", "InterfaceB", "InterfaceC");
 	}
 
+	@Test
+	void parsePackagesReturnsNewSchemas() {
+		// given
+		List<String> packages = singletonList("com.github.chhorz.openapi.common.test.util.resources");
+		Map<String, Schema> firstSchemaMap = schemaUtils.parsePackages(packages);
+		firstSchemaMap.get("ClassA").setDescription("changed");
+
+		// when
+		Map<String, Schema> schemaMap = schemaUtils.parsePackages(packages);
+
+		// then
+		assertThat(schemaMap)
+			.isNotSameAs(firstSchemaMap)
+			.containsOnlyKeys(firstSchemaMap.keySet());
+		assertThat(schemaMap.get("ClassA"))
+			.isNotSameAs(firstSchemaMap.get("ClassA"));
+		assertThat(schemaMap.get("ClassA").getDescription())
+			.isNotEqualTo("changed");
+	}
+
 	@Test
 	void primitiveTest() {
 		// given
@@ -640,4 +661,23 @@ class SchemaUtilsTest {
 			.contains(Type.STRING, Format.DATE_TIME);
 	}
 
+	@Test
+	void cachedSchemaTest() {
+		// given
+		TypeMirror dateType = elements.getTypeElement(Date.class.getCanonicalName()).asType();
+
+		// when
+		Map<TypeMirror, Schema> firstSchemaMap = schemaUtils.createTypeMirrorSchemaMap(dateType);
+		firstSchemaMap.get(dateType).setDefaultValue("2020-01-01T00:00:00Z");
+		Map<TypeMirror, Schema> secondSchemaMap = schemaUtils.createTypeMirrorSchemaMap(dateType);
+
+		// then
+		assertThat(secondSchemaMap)
+			.hasSize(1)
+			.containsKeys(dateType)
+			.extracting(map -> map.get(dateType))
+			.extracting("type", "format", "defaultValue")
+			.containsExactly(Type.STRING, Format.DATE_TIME, null);
+	}
+
 }
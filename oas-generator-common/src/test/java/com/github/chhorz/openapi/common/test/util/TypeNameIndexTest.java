@@ -0,0 +1,138 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.util;
+
+import com.github.chhorz.openapi.common.domain.Schema;
+import com.github.chhorz.openapi.common.test.extension.ProcessingUtilsExtension;
+import com.github.chhorz.openapi.common.test.util.resources.ClassA;
+import com.github.chhorz.openapi.common.test.util.resources.ClassB;
+import com.github.chhorz.openapi.common.util.TypeNameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeNameIndexTest {
+
+	@RegisterExtension
+	ProcessingUtilsExtension extension = new ProcessingUtilsExtension();
+
+	private Elements elements;
+	private Types types;
+
+	private TypeNameIndex typeNameIndex;
+
+	@BeforeEach
+	void setUpEach() {
+		elements = extension.getElements();
+		types = extension.getTypes();
+
+		typeNameIndex = new TypeNameIndex();
+	}
+
+	@Test
+	void testFindBySimpleName() {
+		// given
+		TypeMirror classA = elements.getTypeElement(ClassA.class.getCanonicalName()).asType();
+		TypeMirror listOfClassB = types.getDeclaredType(elements.getTypeElement(List.class.getCanonicalName()),
+			elements.getTypeElement(ClassB.class.getCanonicalName()).asType());
+
+		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
+		schemaMap.put(classA, createSchema(Schema.Type.OBJECT));
+		schemaMap.put(listOfClassB, createSchema(Schema.Type.ARRAY));
+		schemaMap.put(types.getPrimitiveType(TypeKind.INT), createSchema(Schema.Type.INTEGER));
+
+		// when
+		typeNameIndex.register(schemaMap);
+
+		// then
+		assertThat(typeNameIndex.find("classA"))
+			.containsExactly(classA);
+		assertThat(typeNameIndex.find("int"))
+			.hasSize(1);
+		assertThat(typeNameIndex.find("List"))
+			.isEmpty();
+		assertThat(typeNameIndex.findArray("ClassB"))
+			.containsExactly(listOfClassB);
+		assertThat(typeNameIndex.findArray("ClassA"))
+			.isEmpty();
+	}
+
+	@Test
+	void testFindArrayType() {
+		// given
+		TypeMirror classAArray = types.getArrayType(elements.getTypeElement(ClassA.class.getCanonicalName()).asType());
+
+		// when
+		typeNameIndex.register(Map.of(classAArray, createSchema(Schema.Type.ARRAY)));
+
+		// then
+		assertThat(typeNameIndex.find("ClassA"))
+			.isEmpty();
+		assertThat(typeNameIndex.findArray("ClassA"))
+			.containsExactly(classAArray);
+	}
+
+	@Test
+	void testAmbiguousSimpleName() {
+		// given
+		TypeMirror utilDate = elements.getTypeElement("java.util.Date").asType();
+		TypeMirror sqlDate = elements.getTypeElement("java.sql.Date").asType();
+
+		Map<TypeMirror, Schema> schemaMap = new LinkedHashMap<>();
+		schemaMap.put(utilDate, createSchema(Schema.Type.STRING));
+		schemaMap.put(sqlDate, createSchema(Schema.Type.STRING));
+
+		// when
+		typeNameIndex.register(schemaMap);
+		typeNameIndex.register(Map.of(utilDate, createSchema(Schema.Type.STRING)));
+
+		// then
+		assertThat(typeNameIndex.find("Date"))
+			.containsExactly(utilDate, sqlDate);
+	}
+
+	@Test
+	void testClear() {
+		// given
+		TypeMirror classA = elements.getTypeElement(ClassA.class.getCanonicalName()).asType();
+		typeNameIndex.register(Map.of(classA, createSchema(Schema.Type.OBJECT)));
+
+		// when
+		typeNameIndex.clear();
+
+		// then
+		assertThat(typeNameIndex.find("ClassA"))
+			.isEmpty();
+	}
+
+	private Schema createSchema(final Schema.Type type) {
+		Schema schema = new Schema();
+		schema.setType(type);
+		return schema;
+	}
+
+}
@@ -0,0 +1,47 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.common.test.validation;
+
+import java.util.List;
+
+public class ValidatedResource {
+
+	@javax.validation.constraints.Size(min = 2, max = 10)
+	public String javaxSizeString;
+
+	@javax.validation.constraints.Size(min = 1, max = 5)
+	public List<String> javaxSizeList;
+
+	@javax.validation.constraints.NotEmpty
+	public String javaxNotEmptyString;
+
+	@javax.validation.constraints.NotEmpty
+	public List<String> javaxNotEmptyList;
+
+	@jakarta.validation.constraints.Size(min = 2)
+	public String jakartaSizeString;
+
+	@jakarta.validation.constraints.Size(max = 5)
+	public List<String> jakartaSizeList;
+
+	@jakarta.validation.constraints.NotEmpty
+	public String jakartaNotEmptyString;
+
+	@jakarta.validation.constraints.NotEmpty
+	public List<String> jakartaNotEmptyList;
+
+}
@@ -17,37 +17,38 @@
 package com.github.chhorz.openapi.jaxrs;
 
 import com.github.chhorz.javadoc.JavaDoc;
-import com.github.chhorz.javadoc.tags.ParamTag;
-import com.github.chhorz.javadoc.tags.ReturnTag;
 import com.github.chhorz.openapi.common.OpenAPIProcessor;
 import com.github.chhorz.openapi.common.annotation.OpenAPISchema;
 import com.github.chhorz.openapi.common.domain.*;
-import com.github.chhorz.openapi.common.domain.Parameter.In;
-import com.github.chhorz.openapi.common.domain.Schema.Type;
-import com.github.chhorz.openapi.common.util.TagUtils;
+import com.github.chhorz.openapi.common.operation.OperationParameters;
+import com.github.chhorz.openapi.common.operation.OperationPipeline;
+import com.github.chhorz.openapi.jaxrs.util.JaxRSParameterAnnotationAdapter;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
-import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
 import javax.ws.rs.*;
 import java.lang.annotation.Annotation;
 import java.util.*;
 import java.util.stream.Stream;
 
-import static com.github.chhorz.openapi.common.util.ComponentUtils.convertSchemaMap;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
 public class JaxRSOpenApiProcessor extends OpenAPIProcessor {
 
+	private OperationPipeline operationPipeline;
+
 	@Override
 	public synchronized void init(final ProcessingEnvironment processingEnv) {
 		init(processingEnv, singletonList(javax.ws.rs.core.Response.class));
 
+		operationPipeline = new OperationPipeline(processingContext, schemaUtils, responseUtils,
+			new JaxRSParameterAnnotationAdapter());
+
 		openApi = initializeFromProperties(propertyLoader);
 	}
 
@@ -70,43 +71,26 @@ public class JaxRSOpenApiProcessor extends OpenAPIProcessor {
 					.forEach(openApi.getComponents()::putAllSchemas);
 			}
 
-			annotations.stream()
+			List<ExecutableElement> operationMethods = annotations.stream()
 				.flatMap(annotation -> roundEnv.getElementsAnnotatedWith(annotation).stream())
 				.filter(element -> element instanceof ExecutableElement)
 				.map(ExecutableElement.class::cast)
-				// .peek(e -> System.out.println(e))
-				.forEach(this::mapOperationMethod);
-
-			openApi.getComponents().putAllSchemas(schemaUtils.parsePackages(parserProperties.getSchemaPackages()));
-
-			if (parserProperties.getSchemaFile() != null) {
-				readOpenApiFile(parserProperties)
-					.ifPresent(schemaFile -> openApi.getComponents().putAllParsedSchemas(schemaFile.getComponents().getSchemas()));
-			}
-
-			TagUtils tagUtils = new TagUtils(propertyLoader);
-			List<String> tags = new ArrayList<>();
-			openApi.getPaths().values()
-				.stream()
-				.map(tagUtils::getAllTags)
-				.flatMap(Collection::stream)
-				.forEach(tags::add);
+				.collect(toList());
 
-			tags.stream()
-				.distinct()
-				.map(tagUtils::createTag)
-				.forEach(openApi::addTag);
+			mapOperationMethods(operationMethods, this::mapOperationMethod);
 
 			if (roundEnv.processingOver()) {
-				runPostProcessors(parserProperties, openApi);
+				completeGeneration();
 			}
+
+			clearRoundCaches();
 		} else {
 			logUtils.logError("Execution disabled via properties");
 		}
 		return false;
 	}
 
-	private void mapOperationMethod(final ExecutableElement executableElement) {
+	private void mapOperationMethod(final ExecutableElement executableElement, final JavaDoc javaDoc) {
 		if (exclude(executableElement)) {
 			logUtils.logInfo("Skipping method: %s (excluded with @OpenAPIExclusion)", getOperationId(executableElement));
 			return;
@@ -114,7 +98,6 @@ public class JaxRSOpenApiProcessor extends OpenAPIProcessor {
 			logUtils.logDebug("Parsing method: %s", getOperationId(executableElement));
 		}
 
-		JavaDoc javaDoc = javaDocParser.parse(elements.getDocComment(executableElement));
 		com.github.chhorz.openapi.common.annotation.OpenAPI openApiAnnotation = executableElement
 			.getAnnotation(com.github.chhorz.openapi.common.annotation.OpenAPI.class);
 
@@ -130,92 +113,28 @@ public class JaxRSOpenApiProcessor extends OpenAPIProcessor {
 		}
 		String path = sb.toString();
 
-		Operation operation = new Operation();
-		operation.setSummary(javaDoc.getSummary());
-		operation.setDescription(javaDoc.getDescription());
-		operation.setOperationId(getOperationId(executableElement, openApi));
-		operation.setDeprecated(executableElement.getAnnotation(Deprecated.class) != null);
-
-		List<ParamTag> tags = javaDoc.getTags(ParamTag.class);
-
-		operation.addParameterObjects(executableElement.getParameters()
-				.stream()
-				.filter(variableElement -> variableElement.getAnnotation(PathParam.class) != null)
-				.map(v -> mapPathVariable(path, v, tags))
-				.collect(toList()));
-
-		operation.addParameterObjects(executableElement.getParameters()
-				.stream()
-				.filter(variableElement -> variableElement.getAnnotation(QueryParam.class) != null)
-				.map(v -> mapRequestParam(v, tags))
-				.collect(toList()));
-
-		operation.addParameterObjects(executableElement.getParameters()
-				.stream()
-				.filter(variableElement -> variableElement.getAnnotation(HeaderParam.class) != null)
-				.map(v -> mapRequestHeader(v, tags))
-				.collect(toList()));
+		OperationParameters operationParameters = operationPipeline.classifyParameters(executableElement);
 
-		VariableElement requestBody = executableElement.getParameters()
-				.stream()
-				.filter(variableElement -> variableElement.getAnnotation(PathParam.class) == null)
-				.filter(variableElement -> variableElement.getAnnotation(QueryParam.class) == null)
-				.filter(variableElement -> variableElement.getAnnotation(HeaderParam.class) == null)
-				.findFirst()
-				.orElse(null);
+		Operation operation = operationPipeline.createOperation(executableElement, javaDoc, getOperationId(executableElement, openApi));
+		operationPipeline.addParameters(operation, operationParameters, path, javaDoc);
 
-		if (requestBody != null) {
-			RequestBody r = new RequestBody();
+		Consumes consumes = executableElement.getAnnotation(Consumes.class);
+		operationPipeline.addRequestBody(operation, operationParameters, javaDoc, consumes != null ? consumes.value() : null,
+			openApi.getComponents());
 
-			javaDoc.getTags(ParamTag.class)
-				.stream()
-				.filter(tag -> requestBody.toString().equals(tag.getParamName()))
-				.findFirst()
-				.ifPresent(parameter -> r.setDescription(parameter.getParamDescription()));
-
-			r.setRequired(Boolean.TRUE);
-
-			MediaType mediaType = schemaUtils.createMediaType(requestBody.asType());
-			Consumes consumes = executableElement.getAnnotation(Consumes.class);
-			if (consumes != null) {
-				for (String c : consumes.value()) {
-					r.putContent(c, mediaType);
-				}
-			} else {
-				r.putContent("*/*", mediaType);
-			}
-
-			openApi.getComponents().putAllSchemas(schemaUtils.createStringSchemaMap(requestBody.asType()));
-
-			operation.setRequestBodyObject(r);
-		}
-
-		String returnTag = "";
-		List<ReturnTag> returnTags = javaDoc.getTags(ReturnTag.class);
-		if (returnTags.size() == 1) {
-			returnTag = returnTags.get(0).getDescription();
-		}
+		String returnTag = operationPipeline.getReturnDescription(javaDoc);
 
 		TypeMirror returnType = executableElement.getReturnType();
-		Map<TypeMirror, Schema> schemaMap = schemaUtils.createTypeMirrorSchemaMap(returnType);
+		Map<TypeMirror, Schema> schemaMap = new HashMap<>(schemaUtils.createTypeMirrorSchemaMap(returnType));
 		schemaMap.putAll(schemaUtils.createSchemasFromDocComment(javaDoc));
 		Schema schema = schemaMap.get(returnType);
 
 		Produces produces = executableElement.getAnnotation(Produces.class);
-		if (produces != null) {
-			if (Type.OBJECT.equals(schema.getType()) || Type.ENUM.equals(schema.getType())) {
-				Response response = responseUtils.fromTypeMirror(returnType, produces.value(), returnTag);
-				response.setDescription(returnTag);
-				operation.putDefaultResponse(response);
-			} else {
-				Response response = responseUtils.fromSchema(schema, produces.value(), returnTag);
-				response.setDescription(returnTag);
-				operation.putDefaultResponse(response);
-				schemaMap.remove(returnType);
-			}
+		if (produces != null && schema != null) {
+			operation.putDefaultResponse(operationPipeline.createResponse(returnType, schema, produces.value(), returnTag, schemaMap));
 		}
 
-		openApi.getComponents().putAllSchemas(convertSchemaMap(schemaMap));
+		operationPipeline.addComponentSchemas(openApi.getComponents(), schemaMap);
 
 		getTags(javaDoc, openApiAnnotation).forEach(operation::addTag);
 		operation.setSecurity(getSecurityInformation(executableElement, openApi, javaDoc, openApiAnnotation));
@@ -240,83 +159,4 @@ public class JaxRSOpenApiProcessor extends OpenAPIProcessor {
 		}
 		openApi.putPathItemObject(path, pathItemObject);
 	}
-
-	private Parameter mapPathVariable(final String path, final VariableElement variableElement,
-			final List<ParamTag> parameterDocs) {
-		PathParam pathParam = variableElement.getAnnotation(PathParam.class);
-
-		Optional<ParamTag> parameterDescription = parameterDocs.stream()
-				.filter(tag -> tag.getParamName().equalsIgnoreCase(pathParam.value()))
-				.findFirst();
-
-		Parameter parameter = new Parameter();
-		parameter.setAllowEmptyValue(Boolean.FALSE);
-		parameter.setDeprecated(variableElement.getAnnotation(Deprecated.class) != null);
-		parameter.setDescription(parameterDescription.isPresent() ? parameterDescription.get().getParamDescription() : "");
-		parameter.setIn(In.PATH);
-		parameter.setName(pathParam.value());
-		parameter.setRequired(Boolean.TRUE);
-
-		Map<TypeMirror, Schema> map = schemaUtils.createTypeMirrorSchemaMap(variableElement.asType());
-		Schema schema = map.get(variableElement.asType());
-
-		parameter.setSchema(schema);
-
-		return parameter;
-	}
-
-	private Parameter mapRequestParam(final VariableElement variableElement, final List<ParamTag> parameterDocs) {
-		QueryParam queryParam = variableElement.getAnnotation(QueryParam.class);
-
-		Optional<ParamTag> parameterDescription = parameterDocs.stream()
-				.filter(tag -> tag.getParamName().equalsIgnoreCase(queryParam.value()))
-				.findFirst();
-
-		Parameter parameter = new Parameter();
-//		parameter.setAllowEmptyValue();
-		parameter.setDeprecated(variableElement.getAnnotation(Deprecated.class) != null);
-		parameter.setDescription(parameterDescription.isPresent() ? parameterDescription.get().getParamDescription() : "");
-		parameter.setIn(In.QUERY);
-		parameter.setName(queryParam.value());
-//		parameter.setRequired(variableElement.getAnnotation(DefaultValue.class) == null);
-
-		Schema schema = schemaUtils.createTypeMirrorSchemaMap(variableElement.asType())
-				.get(variableElement.asType());
-
-		if (variableElement.getAnnotation(DefaultValue.class) != null) {
-			DefaultValue defaultValue = variableElement.getAnnotation(DefaultValue.class);
-			schema.setDefaultValue(defaultValue.value());
-		}
-		parameter.setSchema(schema);
-
-		return parameter;
-	}
-
-	private Parameter mapRequestHeader(final VariableElement variableElement, final List<ParamTag> parameterDocs) {
-		HeaderParam headerParam = variableElement.getAnnotation(HeaderParam.class);
-
-		Optional<ParamTag> parameterDescription = parameterDocs.stream()
-				.filter(tag -> tag.getParamName().equalsIgnoreCase(headerParam.value()))
-				.findFirst();
-
-		// TODO handle MultiValueMap
-
-		Parameter parameter = new Parameter();
-//		parameter.setAllowEmptyValue();
-		parameter.setDeprecated(variableElement.getAnnotation(Deprecated.class) != null);
-		parameter.setDescription(parameterDescription.isPresent() ? parameterDescription.get().getParamDescription() : "");
-		parameter.setIn(In.HEADER);
-		parameter.setName(headerParam.value());
-//		parameter.setRequired(variableElement.getAnnotation(DefaultValue.class) == null);
-
-		Schema schema = schemaUtils.createTypeMirrorSchemaMap(variableElement.asType())
-				.get(variableElement.asType());
-		if (variableElement.getAnnotation(DefaultValue.class) != null) {
-			DefaultValue defaultValue = variableElement.getAnnotation(DefaultValue.class);
-			schema.setDefaultValue(defaultValue.value());
-		}
-		parameter.setSchema(schema);
-
-		return parameter;
-	}
 }
@@ -0,0 +1,79 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.jaxrs.util;
+
+import com.github.chhorz.openapi.common.operation.ParameterAnnotationAdapter;
+import com.github.chhorz.openapi.common.operation.ParameterBinding;
+import com.github.chhorz.openapi.common.operation.ParameterKind;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.QueryParam;
+import java.util.Optional;
+
+/**
+ * Classifies the parameters of JAX-RS resource methods. A parameter without a path, query or header annotation is
+ * documented as request body.
+ *
+ * @author chhorz
+ */
+public class JaxRSParameterAnnotationAdapter implements ParameterAnnotationAdapter {
+
+	private static final String PATH_PARAM = PathParam.class.getName();
+	private static final String QUERY_PARAM = QueryParam.class.getName();
+	private static final String HEADER_PARAM = HeaderParam.class.getName();
+	private static final String DEFAULT_VALUE = DefaultValue.class.getName();
+	private static final String DEPRECATED = Deprecated.class.getName();
+
+	@Override
+	public Optional<ParameterBinding> bind(final VariableElement variableElement) {
+		String annotation = null;
+		boolean defaultValue = false;
+		boolean deprecated = false;
+		for (AnnotationMirror annotationMirror : variableElement.getAnnotationMirrors()) {
+			String annotationName = ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().toString();
+			if (DEPRECATED.equals(annotationName)) {
+				deprecated = true;
+			} else if (DEFAULT_VALUE.equals(annotationName)) {
+				defaultValue = true;
+			} else if (annotation == null && (PATH_PARAM.equals(annotationName) || QUERY_PARAM.equals(annotationName)
+				|| HEADER_PARAM.equals(annotationName))) {
+				annotation = annotationName;
+			}
+		}
+
+		if (PATH_PARAM.equals(annotation)) {
+			return Optional.of(new ParameterBinding(variableElement, ParameterKind.PATH,
+				variableElement.getAnnotation(PathParam.class).value(), Boolean.TRUE, Boolean.FALSE, null, deprecated));
+		} else if (QUERY_PARAM.equals(annotation)) {
+			return Optional.of(new ParameterBinding(variableElement, ParameterKind.QUERY,
+				variableElement.getAnnotation(QueryParam.class).value(), null, null,
+				defaultValue ? variableElement.getAnnotation(DefaultValue.class).value() : null, deprecated));
+		} else if (HEADER_PARAM.equals(annotation)) {
+			return Optional.of(new ParameterBinding(variableElement, ParameterKind.HEADER,
+				variableElement.getAnnotation(HeaderParam.class).value(), null, null,
+				defaultValue ? variableElement.getAnnotation(DefaultValue.class).value() : null, deprecated));
+		}
+		return Optional.of(new ParameterBinding(variableElement, ParameterKind.BODY,
+			variableElement.getSimpleName().toString(), Boolean.TRUE, null, null, deprecated));
+	}
+
+}
@@ -63,11 +63,15 @@ public class SchemaOpenApiProcessor extends OpenAPIProcessor {
 				});
 			}
 
-			openApi.getComponents().putAllSchemas(schemaUtils.parsePackages(parserProperties.getSchemaPackages()));
-
 			if (roundEnv.processingOver()) {
+				// the configured packages are complete in the last round
+				openApi.getComponents().putAllSchemas(schemaUtils.parsePackages(parserProperties.getSchemaPackages()));
+
 				runPostProcessors(parserProperties, openApi);
+				awaitPostProcessors(openApi);
 			}
+
+			clearRoundCaches();
 		} else {
 			logUtils.logError("Execution disabled via properties");
 		}
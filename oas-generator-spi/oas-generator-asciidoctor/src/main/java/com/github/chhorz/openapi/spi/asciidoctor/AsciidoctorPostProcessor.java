@@ -17,31 +17,50 @@
 package com.github.chhorz.openapi.spi.asciidoctor;
 
 import com.github.chhorz.openapi.common.domain.OpenAPI;
+import com.github.chhorz.openapi.common.domain.PathItemObject;
 import com.github.chhorz.openapi.common.properties.domain.ParserProperties;
 import com.github.chhorz.openapi.common.spi.OpenAPIPostProcessor;
 import com.github.chhorz.openapi.common.spi.PostProcessorType;
+import com.github.chhorz.openapi.common.util.FileUtils;
+import com.github.chhorz.openapi.common.util.GenerationMetrics;
 import com.github.chhorz.openapi.common.util.LogUtils;
-import freemarker.core.PlainTextOutputFormat;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
-import freemarker.template.TemplateExceptionHandler;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.util.Collections.singletonList;
 
 /**
  * The Asciidoctor post processor that used the Freemarker template engine to
  * convert the internal OpenAPI domain object into an Asciidoctor file.
+ * <p>
+ * The templates are rendered on background threads, the rendered files are
+ * available after {@link #awaitCompletion()} returned. If the output is split
+ * by tags, the paths of every tag are rendered in parallel into a separate file
+ * that is included by the main file.
+ * <p>
+ * The rendered files must contain the final OpenAPI domain object, but post
+ * processors with a lower order are executed after this post processor and may
+ * still change it. The rendering is therefore started by
+ * {@link #awaitCompletion()}, which is called after all post processors were
+ * executed.
  *
  * @author chhorz
  */
@@ -49,14 +68,25 @@ public class AsciidoctorPostProcessor implements OpenAPIPostProcessor {
 
 	private static final int POST_PROCESSOR_ORDER = 0;
 
+	private static final String PHASE_TEMPLATE_LOADING = "asciidoctor.templateLoading";
+	private static final String PHASE_RENDERING = "asciidoctor.rendering";
+
+	private static final String ADOC_EXTENSION = ".adoc";
+
 	private final AsciidoctorProperties asciidoctorProperties;
 	private final LogUtils logUtils;
+	private final boolean skipUnchangedFiles;
 
 	private final Configuration freemarkerConfiguration;
 
+	private final List<PendingRendering> pendingRenderings = new ArrayList<>();
+	private final List<RenderingTask> renderingTasks = new ArrayList<>();
+	private ExecutorService executorService;
+
 	/**
-	 * Instantiation of the Asciidoctor post processor and configuration of
-	 * the Freemarker template engine.
+	 * Instantiation of the Asciidoctor post processor. The configuration of
+	 * the Freemarker template engine is shared by all post processors with
+	 * the same template settings.
 	 *
 	 * @param logUtils the oas-generator internal logging utils class
 	 * @param parserProperties the complete parser properties
@@ -66,64 +96,166 @@ public class AsciidoctorPostProcessor implements OpenAPIPostProcessor {
 			.orElse(new AsciidoctorProperties());
 
 		this.logUtils = logUtils.configureWithComponent("[Asciidoctor]");
+		this.skipUnchangedFiles = parserProperties.getSkipUnchangedFiles();
 
-		final boolean logTemplateExceptions = asciidoctorProperties.getExceptionLogging();
-		final boolean localizedLookup = asciidoctorProperties.getLocalizedLookup();
-
-		freemarkerConfiguration = new Configuration(Configuration.VERSION_2_3_28);
-		freemarkerConfiguration.setOutputFormat(PlainTextOutputFormat.INSTANCE);
-		freemarkerConfiguration.setLocalizedLookup(localizedLookup);
-		freemarkerConfiguration.setDefaultEncoding("UTF-8");
-		freemarkerConfiguration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
-		freemarkerConfiguration.setLogTemplateExceptions(logTemplateExceptions);
-		freemarkerConfiguration.setClassForTemplateLoading(AsciidoctorPostProcessor.class, "/");
+		this.freemarkerConfiguration = FreemarkerConfigurations.getConfiguration(asciidoctorProperties);
 	}
 
 	/**
 	 * {@inheritDoc}
+	 * <p>
+	 * Only the templates are loaded, the files are rendered by {@link #awaitCompletion()} when all other post
+	 * processors were executed.
 	 */
 	@Override
 	public void execute(final OpenAPI openApi) {
 		logUtils.logInfo("AsciidoctorPostProcessor | Start");
 
 		final String templatePath = asciidoctorProperties.getTemplatePath();
+		final boolean splitByTag = asciidoctorProperties.getSplitByTag();
+
+		Template template = loadTemplate(templatePath, asciidoctorProperties.getTemplateFile());
+		Template tagTemplate = splitByTag ? loadTemplate(templatePath, asciidoctorProperties.getTagTemplateFile()) : null;
+		if (template == null || (splitByTag && tagTemplate == null)) {
+			return;
+		}
+
+		pendingRenderings.add(new PendingRendering(openApi, template, tagTemplate));
+	}
+
+	private void startRendering(final PendingRendering pendingRendering) {
+		final OpenAPI openApi = pendingRendering.openApi();
+		final Template template = pendingRendering.template();
+		final Template tagTemplate = pendingRendering.tagTemplate();
+
 		final String templateFile = asciidoctorProperties.getTemplateFile();
+		final String tagTemplateFile = asciidoctorProperties.getTagTemplateFile();
 		final String outputPath = asciidoctorProperties.getOutputPath();
 		final String outputFile = asciidoctorProperties.getOutputFile();
 
-		try {
-			Template template = freemarkerConfiguration.getTemplate(String.format("%s/%s", templatePath, templateFile));
+		AsciidoctorViewModel viewModel = new AsciidoctorViewModel(openApi);
 
-			Path outputFilePath = Paths.get(outputPath, outputFile);
-			File asciidoctorfile = outputFilePath.toFile();
-			logUtils.logDebug("AsciidoctorPostProcessor | Filepath: " + asciidoctorfile.getAbsolutePath());
+		Map<Path, RenderingJob> renderingJobs = new LinkedHashMap<>();
+		Map<String, Object> templateVariables = prepareTemplateVariables(openApi, viewModel);
 
-			if (!Files.exists(outputFilePath)){
-				try {
-					Files.createDirectories(outputFilePath.getParent());
-					Files.createFile(outputFilePath);
+		if (tagTemplate != null) {
+			Map<String, String> tagFiles = new LinkedHashMap<>();
+			Map<String, Map<String, PathItemObject>> pathsByTag = viewModel.getPathsByTag();
+			pathsByTag.forEach((tag, paths) -> {
+				if (tag != null) {
+					String tagFile = createTagFileName(outputFile, tag);
+					tagFiles.put(tag, tagFile);
 
-					asciidoctorfile = outputFilePath.toFile();
-				} catch (IOException e) {
-					logUtils.logError("Could not create output file", e);
+					Map<String, Object> tagTemplateVariables = prepareTemplateVariables(openApi, viewModel);
+					tagTemplateVariables.put("tag", tag);
+					tagTemplateVariables.put("paths", paths);
+					renderingJobs.put(Paths.get(outputPath, tagFile), new RenderingJob(tagTemplate, tagTemplateFile, tagTemplateVariables));
 				}
-			}
+			});
+
+			templateVariables.put("tag_files", tagFiles);
+			templateVariables.put("untagged_paths", pathsByTag.getOrDefault(null, new LinkedHashMap<>()));
+		}
+		renderingJobs.put(Paths.get(outputPath, outputFile), new RenderingJob(template, templateFile, templateVariables));
 
-			FileWriter fileWriter = new FileWriter(asciidoctorfile);
+		if (executorService == null) {
+			int threads = Math.min(Runtime.getRuntime().availableProcessors(), renderingJobs.size());
+			executorService = Executors.newFixedThreadPool(threads, runnable -> {
+				Thread thread = new Thread(runnable, "oas-generator-asciidoctor");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+
+		// the messager of the compiler is not thread-safe, so the rendering threads must not log
+		renderingJobs.forEach((outputFilePath, renderingJob) -> {
+			logUtils.logDebug("AsciidoctorPostProcessor | Filepath: " + outputFilePath.toAbsolutePath());
+			renderingTasks.add(new RenderingTask(outputFilePath, renderingJob.templateFile(),
+				executorService.submit(() -> render(renderingJob, outputFilePath))));
+		});
+	}
 
-			template.process(prepareTemplateVariables(openApi), fileWriter);
+	private Template loadTemplate(final String templatePath, final String templateFile) {
+		try (GenerationMetrics.Timer timer = logUtils.getMetrics().startTimer(PHASE_TEMPLATE_LOADING)) {
+			return freemarkerConfiguration.getTemplate(String.format("%s/%s", templatePath, templateFile));
 		} catch (IOException e) {
 			logUtils.logError(String.format("Could not load template=%s", templateFile), e);
-		} catch (TemplateException e) {
-			logUtils.logError(String.format("Error while templating %s", templateFile), e);
+			return null;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Renders the files of the final OpenAPI domain object in the background, waits until all files are rendered
+	 * and reports the results.
+	 */
+	@Override
+	public void awaitCompletion() {
+		pendingRenderings.forEach(this::startRendering);
+		pendingRenderings.clear();
+
+		try {
+			for (RenderingTask renderingTask : renderingTasks) {
+				try {
+					if (!renderingTask.result().get()) {
+						logUtils.logInfo("AsciidoctorPostProcessor | Skipped writing of unchanged file %s", renderingTask.outputFile().toAbsolutePath());
+					}
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof TemplateException) {
+						logUtils.logError(String.format("Error while templating %s", renderingTask.templateFile()), (TemplateException) e.getCause());
+					} else if (e.getCause() instanceof IOException) {
+						logUtils.logError(String.format("Could not write file %s", renderingTask.outputFile().toAbsolutePath()), (IOException) e.getCause());
+					} else {
+						logUtils.logError("Rendering of %s failed: %s", renderingTask.outputFile().toAbsolutePath(), e.getCause());
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logUtils.logError("Rendering of the Asciidoctor files was interrupted", e);
+		} finally {
+			renderingTasks.clear();
+			if (executorService != null) {
+				executorService.shutdownNow();
+				executorService = null;
+			}
 		}
 
 		logUtils.logInfo("AsciidoctorPostProcessor | Finish");
 	}
 
-	private Map<String, Object> prepareTemplateVariables(final OpenAPI openAPI){
+	private boolean render(final RenderingJob renderingJob, final Path outputFilePath) throws IOException, TemplateException {
+		try (GenerationMetrics.Timer timer = logUtils.getMetrics().startTimer(PHASE_RENDERING)) {
+			if (skipUnchangedFiles) {
+				return FileUtils.writeIfChanged(outputFilePath, outputStream -> {
+					Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+					renderingJob.template().process(renderingJob.templateVariables(), writer);
+					writer.flush();
+				});
+			}
+
+			Files.createDirectories(outputFilePath.toAbsolutePath().getParent());
+			try (Writer writer = Files.newBufferedWriter(outputFilePath, StandardCharsets.UTF_8)) {
+				renderingJob.template().process(renderingJob.templateVariables(), writer);
+			}
+			return true;
+		}
+	}
+
+	private String createTagFileName(final String outputFile, final String tag) {
+		String baseName = outputFile.endsWith(ADOC_EXTENSION)
+			? outputFile.substring(0, outputFile.length() - ADOC_EXTENSION.length())
+			: outputFile;
+		return String.format("%s-%s%s", Paths.get(baseName).getFileName(), tag.replaceAll("[^A-Za-z0-9_.-]", "_"), ADOC_EXTENSION);
+	}
+
+	private Map<String, Object> prepareTemplateVariables(final OpenAPI openAPI, final AsciidoctorViewModel viewModel){
 		Map<String, Object> templateVariables = new HashMap<>();
 		templateVariables.put("openapi", openAPI);
+		templateVariables.put("reference_anchors", viewModel.getReferenceAnchors());
+		templateVariables.put("reference_names", viewModel.getReferenceNames());
+		templateVariables.put("required_properties", viewModel.getRequiredProperties());
 		templateVariables.put("standalone", asciidoctorProperties.getStandaloneFile());
 		templateVariables.put("attribute_icons", asciidoctorProperties.getAsciidoctorAttributes().getIcons());
 		return templateVariables;
@@ -144,4 +276,13 @@ public class AsciidoctorPostProcessor implements OpenAPIPostProcessor {
 	public List<PostProcessorType> getPostProcessorType() {
 		return singletonList(PostProcessorType.DOMAIN_OBJECT);
 	}
+
+	private record PendingRendering(OpenAPI openApi, Template template, Template tagTemplate) {
+	}
+
+	private record RenderingJob(Template template, String templateFile, Map<String, Object> templateVariables) {
+	}
+
+	private record RenderingTask(Path outputFile, String templateFile, Future<Boolean> result) {
+	}
 }
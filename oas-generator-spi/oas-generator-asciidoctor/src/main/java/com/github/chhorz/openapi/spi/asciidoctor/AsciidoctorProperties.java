@@ -33,11 +33,14 @@ import static java.util.Collections.emptyMap;
  *     asciidoctor:
  *       logTemplateExceptions: true
  *       templateLocalizedLookup: false
+ *       templateCacheSize: 20
  *       templatePath: /freemarker
  *       templateFile: openapi.ftlh
  *       outputPath: ./target/openapi
  *       outputFile: /openapi.adoc
  *       standaloneFile: true
+ *       splitByTag: false
+ *       tagTemplateFile: openapi-tag.ftlh
  *       attributes:
  *         icons: image
  * </pre>
@@ -48,12 +51,15 @@ public  class AsciidoctorProperties extends AbstractPostProcessorProperties {
 
 	private static final boolean DEFAULT_EXCEPTION_LOGGING = true;
 	private static final boolean DEFAULT_LOCALIZED_LOOKUP = false;
+	private static final int DEFAULT_TEMPLATE_CACHE_SIZE = 20;
 	private static final String DEFAULT_TEMPLATE_PATH = "/freemarker";
 	private static final String DEFAULT_TEMPLATE_NAME = "openapi.ftlh";
 
 	private static final String DEFAULT_OUTPUT_PATH = "./target/openapi";
 	private static final String DEFAULT_OUTPUT_FILE = "openapi.adoc";
 	private static final boolean DEFAULT_STANDALONE_FILE = true;
+	private static final boolean DEFAULT_SPLIT_BY_TAG = false;
+	private static final String DEFAULT_TAG_TEMPLATE_NAME = "openapi-tag.ftlh";
 
 	public AsciidoctorProperties(){
 		super(emptyMap());
@@ -71,6 +77,10 @@ public  class AsciidoctorProperties extends AbstractPostProcessorProperties {
 		return getBoolean("templateLocalizedLookup", DEFAULT_LOCALIZED_LOOKUP);
 	}
 
+	public int getTemplateCacheSize() {
+		return getInteger("templateCacheSize", DEFAULT_TEMPLATE_CACHE_SIZE);
+	}
+
 	public String getTemplatePath() {
 		return getString("templatePath", DEFAULT_TEMPLATE_PATH);
 	}
@@ -91,6 +101,14 @@ public  class AsciidoctorProperties extends AbstractPostProcessorProperties {
 		return getBoolean("standaloneFile", DEFAULT_STANDALONE_FILE);
 	}
 
+	public boolean getSplitByTag() {
+		return getBoolean("splitByTag", DEFAULT_SPLIT_BY_TAG);
+	}
+
+	public String getTagTemplateFile() {
+		return getString("tagTemplateFile", DEFAULT_TAG_TEMPLATE_NAME);
+	}
+
 	public AsciidoctorAttributes getAsciidoctorAttributes(){
 		return getObject("attributes", AsciidoctorAttributes.class).orElse(new AsciidoctorAttributes());
 	}
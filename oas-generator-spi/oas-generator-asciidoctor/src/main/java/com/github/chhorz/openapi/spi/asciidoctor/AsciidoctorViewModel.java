@@ -0,0 +1,157 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.spi.asciidoctor;
+
+import com.github.chhorz.openapi.common.domain.Components;
+import com.github.chhorz.openapi.common.domain.OpenAPI;
+import com.github.chhorz.openapi.common.domain.Operation;
+import com.github.chhorz.openapi.common.domain.PathItemObject;
+import com.github.chhorz.openapi.common.domain.Reference;
+import com.github.chhorz.openapi.common.domain.Schema;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Indexed view of an {@link OpenAPI} object for the Freemarker templates. The view is built once before the rendering
+ * starts, so the templates look up prepared values instead of computing them for every occurrence:
+ * <ul>
+ *     <li>the anchors and display names of all component references</li>
+ *     <li>the required properties of all component schemas</li>
+ *     <li>the paths grouped by the first tag of their operations</li>
+ * </ul>
+ * The view is read-only after its creation and can be shared by rendering threads.
+ *
+ * @author chhorz
+ */
+final class AsciidoctorViewModel {
+
+	private final Map<String, String> referenceAnchors = new HashMap<>();
+	private final Map<String, String> referenceNames = new HashMap<>();
+	private final Map<String, Map<String, Boolean>> requiredProperties = new HashMap<>();
+	private final Map<String, Map<String, PathItemObject>> pathsByTag = new LinkedHashMap<>();
+
+	/**
+	 * Creates the view of the given OpenAPI object.
+	 *
+	 * @param openAPI the generated OpenAPI domain object
+	 */
+	AsciidoctorViewModel(final OpenAPI openAPI) {
+		Components components = openAPI.getComponents();
+		if (components != null) {
+			if (components.getSchemas() != null) {
+				components.getSchemas().forEach((schemaName, schema) -> {
+					addReference(Reference.forSchema(schemaName));
+					addRequiredProperties(schemaName, schema);
+				});
+			}
+			if (components.getRequestBodies() != null) {
+				components.getRequestBodies().keySet()
+					.forEach(requestBodyName -> addReference(Reference.forRequestBody(requestBodyName)));
+			}
+		}
+
+		if (openAPI.getPaths() != null) {
+			openAPI.getPaths().forEach((path, pathItem) -> {
+				addOperation(path, pathItem, pathItem.getGet(), PathItemObject::setGet);
+				addOperation(path, pathItem, pathItem.getPut(), PathItemObject::setPut);
+				addOperation(path, pathItem, pathItem.getPost(), PathItemObject::setPost);
+				addOperation(path, pathItem, pathItem.getDelete(), PathItemObject::setDelete);
+				addOperation(path, pathItem, pathItem.getOptions(), PathItemObject::setOptions);
+				addOperation(path, pathItem, pathItem.getHead(), PathItemObject::setHead);
+				addOperation(path, pathItem, pathItem.getPatch(), PathItemObject::setPatch);
+				addOperation(path, pathItem, pathItem.getTrace(), PathItemObject::setTrace);
+			});
+		}
+	}
+
+	/**
+	 * Returns the anchors of all component references, e.g. {@code components_schemas_ArticleResource} for
+	 * {@code #/components/schemas/ArticleResource}.
+	 *
+	 * @return the anchors by reference
+	 */
+	Map<String, String> getReferenceAnchors() {
+		return referenceAnchors;
+	}
+
+	/**
+	 * Returns the display names of all component references, e.g. {@code ArticleResource} for
+	 * {@code #/components/schemas/ArticleResource}.
+	 *
+	 * @return the display names by reference
+	 */
+	Map<String, String> getReferenceNames() {
+		return referenceNames;
+	}
+
+	/**
+	 * Returns the required properties of all component schemas. The inner map contains the names of the required
+	 * properties, so the templates can check a property with a single lookup.
+	 *
+	 * @return the required properties by schema name
+	 */
+	Map<String, Map<String, Boolean>> getRequiredProperties() {
+		return requiredProperties;
+	}
+
+	/**
+	 * Returns all paths grouped by the first tag of their operations. An operation with multiple tags is only contained
+	 * in the group of its first tag, so the anchors of the operations are unique. Operations without a tag are grouped
+	 * with the key {@code null}.
+	 *
+	 * @return the paths by tag
+	 */
+	Map<String, Map<String, PathItemObject>> getPathsByTag() {
+		return pathsByTag;
+	}
+
+	private void addReference(final Reference reference) {
+		// the same transformations as the clean_ref and clean_ref_name macros
+		String anchor = reference.get$ref().replace("/", "_").substring(2);
+		referenceAnchors.put(reference.get$ref(), anchor);
+		referenceNames.put(reference.get$ref(), reference.get$ref().replace("/", "_").substring(anchor.lastIndexOf('_') + 3));
+	}
+
+	private void addRequiredProperties(final String schemaName, final Schema schema) {
+		if (schema.getRequired() != null) {
+			Map<String, Boolean> requiredPropertyNames = new HashMap<>();
+			schema.getRequired().forEach(propertyName -> requiredPropertyNames.put(propertyName, Boolean.TRUE));
+			requiredProperties.put(schemaName, requiredPropertyNames);
+		}
+	}
+
+	private void addOperation(final String path, final PathItemObject pathItem, final Operation operation,
+							  final BiConsumer<PathItemObject, Operation> operationSetter) {
+		if (operation != null) {
+			String tag = operation.getTags() != null && !operation.getTags().isEmpty() ? operation.getTags().get(0) : null;
+			PathItemObject taggedPathItem = pathsByTag.computeIfAbsent(tag, key -> new LinkedHashMap<>())
+				.computeIfAbsent(path, key -> copyPathItem(pathItem));
+			operationSetter.accept(taggedPathItem, operation);
+		}
+	}
+
+	private PathItemObject copyPathItem(final PathItemObject pathItem) {
+		PathItemObject copy = new PathItemObject();
+		copy.setSummary(pathItem.getSummary());
+		copy.setDescription(pathItem.getDescription());
+		return copy;
+	}
+
+}
@@ -0,0 +1,73 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.spi.asciidoctor;
+
+import freemarker.cache.MruCacheStorage;
+import freemarker.core.PlainTextOutputFormat;
+import freemarker.template.Configuration;
+import freemarker.template.TemplateExceptionHandler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JVM-wide registry of the Freemarker configurations of the Asciidoctor post processor. All post processors with the
+ * same template settings share one configuration and therefore its template cache, so the templates are parsed only
+ * once per compiler JVM, e.g. for all modules of a multi-module build.
+ * <p>
+ * The template cache of a configuration is keyed by the template name and checks the last-modified date of a cached
+ * template before it is reused. The most recently used templates are strongly referenced, the remaining templates
+ * are softly referenced and may be dropped under memory pressure.
+ *
+ * @author chhorz
+ */
+final class FreemarkerConfigurations {
+
+	private static final Map<ConfigurationKey, Configuration> CONFIGURATIONS = new ConcurrentHashMap<>();
+
+	private FreemarkerConfigurations() {
+	}
+
+	/**
+	 * Returns the shared configuration for the template settings of the given properties. A configuration must not be
+	 * modified after its creation.
+	 *
+	 * @param asciidoctorProperties the properties of the post processor
+	 * @return the shared Freemarker configuration
+	 */
+	static Configuration getConfiguration(final AsciidoctorProperties asciidoctorProperties) {
+		ConfigurationKey configurationKey = new ConfigurationKey(asciidoctorProperties.getLocalizedLookup(),
+			asciidoctorProperties.getExceptionLogging(), asciidoctorProperties.getTemplateCacheSize());
+		return CONFIGURATIONS.computeIfAbsent(configurationKey, FreemarkerConfigurations::createConfiguration);
+	}
+
+	private static Configuration createConfiguration(final ConfigurationKey configurationKey) {
+		Configuration freemarkerConfiguration = new Configuration(Configuration.VERSION_2_3_28);
+		freemarkerConfiguration.setOutputFormat(PlainTextOutputFormat.INSTANCE);
+		freemarkerConfiguration.setLocalizedLookup(configurationKey.localizedLookup());
+		freemarkerConfiguration.setDefaultEncoding("UTF-8");
+		freemarkerConfiguration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+		freemarkerConfiguration.setLogTemplateExceptions(configurationKey.logTemplateExceptions());
+		freemarkerConfiguration.setClassForTemplateLoading(AsciidoctorPostProcessor.class, "/");
+		freemarkerConfiguration.setCacheStorage(new MruCacheStorage(configurationKey.templateCacheSize(), Integer.MAX_VALUE));
+		return freemarkerConfiguration;
+	}
+
+	private record ConfigurationKey(boolean localizedLookup, boolean logTemplateExceptions, int templateCacheSize) {
+	}
+
+}
@@ -64,6 +64,7 @@ class AsciidoctorPostProcessorTest {
 
 		// when
 		processor.execute(openApi);
+		processor.awaitCompletion();
 
 		// then
 		Path outputPath = Paths.get("target", "generated-test-docs", "embedded", "openapi.adoc");
@@ -90,6 +91,7 @@ class AsciidoctorPostProcessorTest {
 
 		// when
 		processor.execute(openApi);
+		processor.awaitCompletion();
 
 		// then
 		Path outputPath = Paths.get("target", "generated-test-docs", "minimal", "openapi.adoc");
@@ -130,6 +132,7 @@ class AsciidoctorPostProcessorTest {
 
 		// when
 		processor.execute(openApi);
+		processor.awaitCompletion();
 
 		// then
 		Path outputPath = Paths.get("target", "generated-test-docs", "security", "openapi.adoc");
@@ -217,6 +220,7 @@ class AsciidoctorPostProcessorTest {
 
 		// when
 		processor.execute(openApi);
+		processor.awaitCompletion();
 
 		// then
 		Path outputPath = Paths.get("target", "generated-test-docs", "enumeration", "openapi.adoc");
@@ -424,6 +428,7 @@ class AsciidoctorPostProcessorTest {
 
 		// when
 		processor.execute(openApi);
+		processor.awaitCompletion();
 
 		// then
 		Path outputPath = Paths.get("target", "generated-test-docs", "full", "openapi.adoc");
@@ -448,6 +453,7 @@ class AsciidoctorPostProcessorTest {
 		processor = createAsciidoctorPostProcessor("/minimal", false, "images");
 
 		processor.execute(openApi);
+		processor.awaitCompletion();
 
 		Path result = Paths.get("target/generated-test-docs/minimal/openapi.adoc");
 		List<String> lines = Files.readAllLines(result, StandardCharsets.UTF_8);
@@ -456,6 +462,32 @@ class AsciidoctorPostProcessorTest {
 			.isEqualTo("== Some Title");
 	}
 
+	@Test
+	void shouldRenderChangesOfLaterPostProcessors() throws IOException {
+		// given
+		Info info = new Info();
+		info.setTitle("Some Title");
+		info.setVersion("1.2.3-SNAPSHOT");
+
+		OpenAPI openApi = new OpenAPI();
+		openApi.setOpenapi("3.0.3");
+		openApi.setInfo(info);
+
+		processor = createAsciidoctorPostProcessor("/minimal", false, "images");
+
+		// when
+		processor.execute(openApi);
+		info.setTitle("Changed Title");
+		processor.awaitCompletion();
+
+		// then
+		Path result = Paths.get("target/generated-test-docs/minimal/openapi.adoc");
+		List<String> lines = Files.readAllLines(result, StandardCharsets.UTF_8);
+		assertThat(lines)
+			.element(0)
+			.isEqualTo("== Changed Title");
+	}
+
 	@Test
 	void shouldWriteDescriptionIntoEmbeddedDocument() throws IOException {
 		Info info = new Info();
@@ -470,6 +502,7 @@ class AsciidoctorPostProcessorTest {
 		processor = createAsciidoctorPostProcessor("/minimal", false, "images");
 
 		processor.execute(openApi);
+		processor.awaitCompletion();
 
 		Path result = Paths.get("target/generated-test-docs/minimal/openapi.adoc");
 		List<String> lines = Files.readAllLines(result, StandardCharsets.UTF_8);
@@ -497,6 +530,7 @@ class AsciidoctorPostProcessorTest {
 		processor = createAsciidoctorPostProcessor("/minimal", false, "images");
 
 		processor.execute(openApi);
+		processor.awaitCompletion();
 
 		Path result = Paths.get("target/generated-test-docs/minimal/openapi.adoc");
 		List<String> lines = Files.readAllLines(result, StandardCharsets.UTF_8);
@@ -524,6 +558,7 @@ class AsciidoctorPostProcessorTest {
 		processor = createAsciidoctorPostProcessor("/minimal", false, "images");
 
 		processor.execute(openApi);
+		processor.awaitCompletion();
 
 		Path result = Paths.get("target/generated-test-docs/minimal/openapi.adoc");
 		List<String> lines = Files.readAllLines(result, StandardCharsets.UTF_8);
@@ -536,6 +571,74 @@ class AsciidoctorPostProcessorTest {
 			.contains("And sometimes, crates.", atIndex(4));
 	}
 
+	@Test
+	void testSplitByTagAsciidoctorPostProcessor() throws IOException {
+		// given
+		Info info = new Info();
+		info.setTitle("Test Service");
+		info.setVersion("1.2.3-SNAPSHOT");
+
+		Operation getArticles = new Operation();
+		getArticles.setOperationId("ArticleController#getArticles");
+		getArticles.addTag("Articles");
+
+		Operation getOrders = new Operation();
+		getOrders.setOperationId("OrderController#getOrders");
+		getOrders.addTag("Order Management");
+		getOrders.addTag("Articles");
+
+		Operation getHealth = new Operation();
+		getHealth.setOperationId("HealthController#getHealth");
+
+		PathItemObject articles = new PathItemObject();
+		articles.setGet(getArticles);
+
+		PathItemObject orders = new PathItemObject();
+		orders.setGet(getOrders);
+
+		PathItemObject health = new PathItemObject();
+		health.setGet(getHealth);
+
+		OpenAPI openApi = new OpenAPI();
+		openApi.setOpenapi("3.1.0");
+		openApi.setInfo(info);
+		openApi.putPathItemObject("/articles", articles);
+		openApi.putPathItemObject("/orders", orders);
+		openApi.putPathItemObject("/health", health);
+
+		LinkedHashMap<String, Object> propertyMap = new LinkedHashMap<>();
+		propertyMap.put("outputPath", "target/generated-test-docs/split");
+		propertyMap.put("splitByTag", "true");
+
+		ParserProperties parserProperties = new ParserProperties();
+		parserProperties.setPostProcessor(Collections.singletonMap("asciidoctor", propertyMap));
+
+		processor = new AsciidoctorPostProcessor(logUtils, parserProperties);
+
+		// when
+		processor.execute(openApi);
+		processor.awaitCompletion();
+
+		// then
+		Path outputPath = Paths.get("target", "generated-test-docs", "split", "openapi.adoc");
+		Path articlesPath = Paths.get("target", "generated-test-docs", "split", "openapi-Articles.adoc");
+		Path ordersPath = Paths.get("target", "generated-test-docs", "split", "openapi-Order_Management.adoc");
+
+		assertThat(outputPath).exists();
+		assertThat(articlesPath).exists();
+		assertThat(ordersPath).exists();
+
+		assertThat(Files.readAllLines(outputPath))
+			.contains("include::openapi-Articles.adoc[]", "include::openapi-Order_Management.adoc[]", "=== /health")
+			.doesNotContain("=== /articles", "=== /orders");
+		assertThat(Files.readAllLines(articlesPath))
+			.contains("=== /articles")
+			.doesNotContain("=== /orders", "=== /health");
+		assertThat(Files.readAllLines(ordersPath))
+			.contains("=== /orders")
+			.doesNotContain("=== /articles", "=== /health");
+	}
+
 	private void compareFiles(Path reference, Path output) {
 		try {
 			List<String> referenceLines = Files.readAllLines(reference);
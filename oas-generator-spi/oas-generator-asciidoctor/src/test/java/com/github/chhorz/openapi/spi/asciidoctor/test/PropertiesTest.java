@@ -57,6 +57,7 @@ class PropertiesTest {
 
 		assertThat(asciidoctorProperties.getStandaloneFile()).isFalse();
 		assertThat(asciidoctorProperties.getLocalizedLookup()).isFalse();
+		assertThat(asciidoctorProperties.getTemplateCacheSize()).isEqualTo(20);
 		assertThat(asciidoctorProperties.getTemplatePath()).isEqualTo("/freemarker");
 		assertThat(asciidoctorProperties.getTemplateFile()).isEqualTo("openapi.ftlh");
 		assertThat(asciidoctorProperties.getOutputPath()).isEqualTo("./target/openapi");
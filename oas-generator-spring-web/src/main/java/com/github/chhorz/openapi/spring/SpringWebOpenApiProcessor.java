@@ -17,18 +17,16 @@
 package com.github.chhorz.openapi.spring;
 
 import com.github.chhorz.javadoc.JavaDoc;
-import com.github.chhorz.javadoc.tags.ParamTag;
-import com.github.chhorz.javadoc.tags.ReturnTag;
 import com.github.chhorz.openapi.common.OpenAPIProcessor;
 import com.github.chhorz.openapi.common.annotation.OpenAPISchema;
 import com.github.chhorz.openapi.common.domain.*;
-import com.github.chhorz.openapi.common.util.TagUtils;
+import com.github.chhorz.openapi.common.operation.OperationParameters;
+import com.github.chhorz.openapi.common.operation.OperationPipeline;
+import com.github.chhorz.openapi.common.operation.ParameterKind;
 import com.github.chhorz.openapi.spring.util.AliasUtils;
-import com.github.chhorz.openapi.spring.util.ParameterUtils;
 import com.github.chhorz.openapi.spring.util.PathItemUtils;
-import org.springframework.data.domain.Pageable;
+import com.github.chhorz.openapi.spring.util.SpringParameterAnnotationAdapter;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.processing.ProcessingEnvironment;
@@ -37,29 +35,36 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import java.lang.annotation.Annotation;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static com.github.chhorz.openapi.common.util.ComponentUtils.convertSchemaMap;
-import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 
 public class SpringWebOpenApiProcessor extends OpenAPIProcessor {
 
     private AliasUtils aliasUtils;
-    private ParameterUtils parameterUtils;
+    private OperationPipeline operationPipeline;
 
-    private List<TypeMirror> exceptionHandlerReturntypes = new ArrayList<>();
+	/**
+	 * The qualified names of all types with exception handlers. Only names are kept across rounds, the handler methods
+	 * are resolved again in each round.
+	 */
+	private final Set<String> exceptionHandlerTypes = new TreeSet<>();
+	private Map<TypeMirror, Schema> exceptionHandlerSchemaMap = new HashMap<>();
+	private TypeMirror defaultExceptionHandlerReturntype;
 
     @Override
     public synchronized void init(final ProcessingEnvironment processingEnv) {
     	init(processingEnv, singletonList(ResponseEntity.class));
 
 		aliasUtils = new AliasUtils();
-		parameterUtils = new ParameterUtils(schemaUtils, processingUtils, aliasUtils);
+		operationPipeline = new OperationPipeline(processingContext, schemaUtils, responseUtils,
+			new SpringParameterAnnotationAdapter(processingContext, aliasUtils));
 
         openApi = initializeFromProperties(propertyLoader);
     }
@@ -90,13 +95,14 @@ public class SpringWebOpenApiProcessor extends OpenAPIProcessor {
 					.map(schemaUtils::createStringSchemaMap)
 					.forEach(openApi.getComponents()::putAllSchemas);
 
-				exceptionHandlerReturntypes = exceptionHandler.stream()
-					.filter(element -> element instanceof ExecutableElement)
-					.map(ExecutableElement.class::cast)
-					.map(ExecutableElement::getReturnType)
-					.map(type -> processingUtils.removeEnclosingType(type, ResponseEntity.class)[0])
-					.collect(toList());
+				exceptionHandler.stream()
+					.map(Element::getEnclosingElement)
+					.filter(element -> element instanceof TypeElement)
+					.map(element -> ((TypeElement) element).getQualifiedName().toString())
+					.forEach(exceptionHandlerTypes::add);
 			}
+			// exception handlers of the previous generation may not be part of an incremental compilation
+			exceptionHandlerTypes.addAll(getPreviousFingerprintDependencies());
 
 			Set<? extends Element> openApiSchemaClasses = roundEnv.getElementsAnnotatedWith(OpenAPISchema.class);
 			if (openApiSchemaClasses != null && !openApiSchemaClasses.isEmpty()) {
@@ -109,42 +115,74 @@ public class SpringWebOpenApiProcessor extends OpenAPIProcessor {
 					.forEach(openApi.getComponents()::putAllSchemas);
 			}
 
-			annotations.stream()
+			List<ExecutableElement> operationMethods = annotations.stream()
 				.flatMap(annotation -> roundEnv.getElementsAnnotatedWith(annotation).stream())
 				.filter(element -> element instanceof ExecutableElement)
 				.map(ExecutableElement.class::cast)
-				.forEach(this::mapOperationMethod);
-
-			openApi.getComponents().putAllSchemas(schemaUtils.parsePackages(parserProperties.getSchemaPackages()));
+				.collect(toList());
 
-			if (parserProperties.getSchemaFile() != null) {
-				readOpenApiFile(parserProperties)
-					.ifPresent(schemaFile -> openApi.getComponents().putAllParsedSchemas(schemaFile.getComponents().getSchemas()));
+			if (!operationMethods.isEmpty()) {
+				initializeExceptionHandlerSchemas();
 			}
-
-			TagUtils tagUtils = new TagUtils(propertyLoader);
-			List<String> tags = new ArrayList<>();
-			openApi.getPaths().values()
-				.stream()
-				.map(tagUtils::getAllTags)
-				.flatMap(Collection::stream)
-				.forEach(tags::add);
-
-			tags.stream()
-				.distinct()
-				.map(tagUtils::createTag)
-				.forEach(openApi::addTag);
+			mapOperationMethods(operationMethods, this::mapOperationMethod);
 
 			if (roundEnv.processingOver()) {
-				runPostProcessors(parserProperties, openApi);
+				completeGeneration();
 			}
+
+			clearRoundCaches();
 		} else {
 			logUtils.logError("Execution disabled via properties");
 		}
 		return false;
 	}
 
-    private void mapOperationMethod(final ExecutableElement executableElement) {
+	/**
+	 * Resolves the return types of all exception handler methods and creates their schemas. The default error
+	 * response is determined from them as well. This has to be done once per round, because type mirrors must not be
+	 * reused across rounds and the result is shared by all operations of the round.
+	 */
+	private void initializeExceptionHandlerSchemas() {
+		List<TypeMirror> exceptionHandlerReturntypes = new ArrayList<>();
+		for (Iterator<String> iterator = exceptionHandlerTypes.iterator(); iterator.hasNext(); ) {
+			TypeElement typeElement = elements.getTypeElement(iterator.next());
+			if (typeElement == null) {
+				// the type was deleted
+				iterator.remove();
+			} else {
+				ElementFilter.methodsIn(typeElement.getEnclosedElements())
+					.stream()
+					.filter(executableElement -> executableElement.getAnnotation(ExceptionHandler.class) != null)
+					.map(ExecutableElement::getReturnType)
+					.map(type -> processingUtils.removeEnclosingType(type, ResponseEntity.class)[0])
+					.forEach(exceptionHandlerReturntypes::add);
+			}
+		}
+
+		exceptionHandlerSchemaMap = new HashMap<>();
+		exceptionHandlerReturntypes.stream()
+			.map(schemaUtils::createTypeMirrorSchemaMap)
+			.forEach(exceptionHandlerSchemaMap::putAll);
+
+		// a default response is only used if all exception handlers return the same type
+		Map<String, TypeMirror> distinctReturnTypes = exceptionHandlerReturntypes.stream()
+			.filter(returnTypeMirror -> !schemaUtils.isVoidType(returnTypeMirror))
+			.collect(Collectors.toMap(TypeMirror::toString, Function.identity(), (first, second) -> first, LinkedHashMap::new));
+		defaultExceptionHandlerReturntype = distinctReturnTypes.size() == 1 ? distinctReturnTypes.values().iterator().next() : null;
+	}
+
+	/**
+	 * The exception handlers contribute the error responses of all operations, so a reused operation is only valid
+	 * for unchanged exception handlers.
+	 *
+	 * @return the names of all types with exception handlers
+	 */
+	@Override
+	protected Set<String> getFingerprintDependencies() {
+		return exceptionHandlerTypes;
+	}
+
+    private void mapOperationMethod(final ExecutableElement executableElement, final JavaDoc javaDoc) {
     	if (exclude(executableElement)) {
 			logUtils.logInfo("Skipping method: %s (excluded with @OpenAPIExclusion)", getOperationId(executableElement));
 			return;
@@ -152,7 +190,6 @@ public class SpringWebOpenApiProcessor extends OpenAPIProcessor {
 			logUtils.logDebug("Parsing method: %s", getOperationId(executableElement));
 		}
 
-        JavaDoc javaDoc = javaDocParser.parse(elements.getDocComment(executableElement));
 		com.github.chhorz.openapi.common.annotation.OpenAPI openApiAnnotation = executableElement
 			.getAnnotation(com.github.chhorz.openapi.common.annotation.OpenAPI.class);
 
@@ -178,198 +215,40 @@ public class SpringWebOpenApiProcessor extends OpenAPIProcessor {
 				urlPaths.add("/");
 			}
 
+			OperationParameters operationParameters = operationPipeline.classifyParameters(executableElement);
+
+			RequestMethod[] requestMethods = requestMapping.method();
+
+			// everything except the path parameters and the operation id is independent of the path and request method
+			Operation operationTemplate = requestMethods.length == 0 ? null
+				: createOperationTemplate(executableElement, javaDoc, openApiAnnotation, requestMapping, operationParameters);
+
             for (String path : urlPaths) {
                 logUtils.logInfo("Parsing path: %s", path);
-                String cleanedPath = path;
 
 				String operationId = getOperationId(executableElement, openApi);
 
-                RequestMethod[] requestMethods = requestMapping.method();
-
                 if (requestMethods.length == 0) {
                     logUtils.logError("No request method defined. operationId=%s", operationId);
                 }
 
-                for (RequestMethod requestMethod : requestMethods) {
-                    Operation operation = new Operation();
-                    operation.setSummary(javaDoc.getSummary());
-                    operation.setDescription(javaDoc.getDescription());
-                    operation.setOperationId(operationId);
-                    operation.setDeprecated(executableElement.getAnnotation(Deprecated.class) != null);
-
-                    List<ParamTag> paramTags = javaDoc.getTags(ParamTag.class);
-
-                    operation.addParameterObjects(executableElement.getParameters()
-                            .stream()
-                            .filter(variableElement -> variableElement.getAnnotation(PathVariable.class) != null)
-                            .map(v -> parameterUtils.mapPathVariable(path, v, paramTags))
-                            .collect(toList()));
-
-                    List<String> removals = operation.getParameterObjects()
-                            .stream()
-                            .map(Parameter::getSchema)
-                            .map(Schema::getPattern)
-                            .filter(Objects::nonNull)
-                            .collect(toList());
-
-                    for (String string : removals) {
-                        cleanedPath = cleanedPath.replace(":" + string, "");
-                    }
+                List<Parameter> pathParameters = operationPipeline.createParameters(operationParameters, ParameterKind.PATH,
+                        path, javaDoc);
 
-                    operation.addParameterObjects(executableElement.getParameters()
-                            .stream()
-                            .filter(variableElement -> variableElement.getAnnotation(RequestParam.class) != null)
-                            .map(v -> parameterUtils.mapRequestParam(v, paramTags))
-                            .collect(toList()));
-
-                    operation.addParameterObjects(executableElement.getParameters()
-                            .stream()
-                            .filter(variableElement -> variableElement.getAnnotation(RequestHeader.class) != null)
-                            .map(v -> parameterUtils.mapRequestHeader(v, paramTags))
-                            .collect(toList()));
-
-                    executableElement.getParameters()
-                            .stream()
-                            .filter(variableElement -> variableElement.getAnnotation(RequestBody.class) != null)
-                            .findFirst()
-                            .ifPresent(requestBody -> {
-								com.github.chhorz.openapi.common.domain.RequestBody r = new com.github.chhorz.openapi.common.domain.RequestBody();
-
-								javaDoc.getTags(ParamTag.class)
-									.stream()
-									.filter(tag -> requestBody.toString().equals(tag.getParamName()))
-									.findFirst()
-									.ifPresent(parameter -> r.setDescription(parameter.getParamDescription()));
-
-								if (processingUtils.isAssignableTo(requestBody.asType(), Optional.class)) {
-									r.setRequired(false);
-								} else {
-									RequestBody requestBodyAnnotation = requestBody.getAnnotation(RequestBody.class);
-									r.setRequired(requestBodyAnnotation.required());
-								}
-
-								MediaType mediaType = schemaUtils.createMediaType(requestBody.asType());
-								if (requestMapping.consumes().length == 0) {
-									r.putContent("*/*", mediaType);
-								} else {
-									for (String consumes : requestMapping.consumes()) {
-										r.putContent(consumes, mediaType);
-									}
-								}
-
-								openApi.getComponents().putAllSchemas(schemaUtils.createStringSchemaMap(requestBody.asType()));
-
-								operation.setRequestBodyObject(r);
-							});
-
-                    if (isClassAvailable("org.springframework.data.domain.Pageable")) {
-						executableElement.getParameters()
-							.stream()
-							.filter(variableElement -> processingUtils.isAssignableTo(variableElement.asType(), Pageable.class))
-							.findAny()
-							.ifPresent(variableElement -> {
-								Schema primitiveIntSchema = new Schema();
-								primitiveIntSchema.setType(Schema.Type.INTEGER);
-								primitiveIntSchema.setFormat(Schema.Format.INT32);
-
-								Schema stringSchema = new Schema();
-								stringSchema.setType(Schema.Type.STRING);
-
-								// see PageableHandlerMethodArgumentResolverSupport.java
-								Parameter sizeParameter = new Parameter();
-								sizeParameter.setIn(Parameter.In.QUERY);
-								sizeParameter.setDescription("Requested page size");
-								sizeParameter.setName("size");
-								sizeParameter.setRequired(false);
-								sizeParameter.setDeprecated(false);
-								sizeParameter.setSchema(primitiveIntSchema);
-
-								Parameter pageParameter = new Parameter();
-								pageParameter.setIn(Parameter.In.QUERY);
-								pageParameter.setDescription("Requested page number");
-								pageParameter.setName("page");
-								pageParameter.setRequired(false);
-								pageParameter.setDeprecated(false);
-								pageParameter.setSchema(primitiveIntSchema);
-
-								// see SortHandlerMethodArgumentResolverSupport.java
-								Parameter sortParameter = new Parameter();
-								sortParameter.setIn(Parameter.In.QUERY);
-								sortParameter.setDescription("Requested sort attribute and order");
-								sortParameter.setName("sort");
-								sortParameter.setRequired(false);
-								sortParameter.setDeprecated(false);
-								sortParameter.setSchema(stringSchema);
-
-								operation.addParameterObjects(asList(sizeParameter, pageParameter, sortParameter));
-							});
-					}
-
-                    String returnTag = "";
-                    List<ReturnTag> returnTags = javaDoc.getTags(ReturnTag.class);
-                    if (returnTags.size() == 1) {
-                        returnTag = returnTags.get(0).getDescription();
-                    }
-
-                    // use return type of method as default response
-                    TypeMirror returnType = processingUtils.removeEnclosingType(executableElement.getReturnType(), ResponseEntity.class)[0];
-                    Map<TypeMirror, Schema> schemaMap = schemaUtils.createTypeMirrorSchemaMap(returnType);
-                    Map<TypeMirror, Schema> exceptionSchemaMap = new HashMap<>();
-					exceptionHandlerReturntypes.stream()
-						.map(schemaUtils::createTypeMirrorSchemaMap)
-						.forEach(exceptionSchemaMap::putAll);
-
-
-                    Map<TypeMirror, Schema> combinedMap = new HashMap<>(schemaMap);
-                    combinedMap.putAll(exceptionSchemaMap);
-					combinedMap.putAll(schemaUtils.createSchemasFromDocComment(javaDoc));
-                    Map<String, Response> responses = responseUtils.initializeFromJavadoc(javaDoc, openApiAnnotation,
-						requestMapping.produces(), returnTag, combinedMap);
-
-                    if (exceptionHandlerReturntypes.stream()
-							.filter(returnTypeMirror -> !schemaUtils.isVoidType(returnTypeMirror))
-							.map(TypeMirror::toString)
-							.distinct()
-							.count() == 1
-						&& !responses.isEmpty()) {
-                        // use return type of ExceptionHandler as default response
-                        Schema exceptionSchema = exceptionSchemaMap.get(exceptionHandlerReturntypes.get(0));
-                        if (Schema.Type.OBJECT.equals(exceptionSchema.getType()) || Schema.Type.ENUM.equals(exceptionSchema.getType())) {
-                            operation.putDefaultResponse(responseUtils.fromTypeMirror(exceptionHandlerReturntypes.get(0), requestMapping.produces(), returnTag));
-                        } else {
-                            operation.putDefaultResponse(responseUtils.fromSchema(exceptionSchema, requestMapping.produces(), returnTag));
-                            schemaMap.remove(exceptionHandlerReturntypes.get(0));
-                        }
-                    } else {
-                        Schema schema = schemaMap.get(returnType);
-						if (schema != null && responses.isEmpty()) {
-                            if (Schema.Type.OBJECT.equals(schema.getType()) || Schema.Type.ENUM.equals(schema.getType())) {
-                                operation.putDefaultResponse(responseUtils.fromTypeMirror(returnType, requestMapping.produces(), returnTag));
-                            } else {
-                                operation.putDefaultResponse(responseUtils.fromSchema(schema, requestMapping.produces(), returnTag));
-                                schemaMap.remove(returnType);
-                            }
-                        }
-                    }
-
-                    openApi.getComponents().putAllSchemas(convertSchemaMap(combinedMap.entrySet()
-                            .stream()
-							.filter(entry -> !processingUtils.isAssignableTo(entry.getKey(), Void.class))
-                            .filter(entry -> !Schema.Type.ARRAY.equals(entry.getValue().getType()))
-                            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue))));
-
-                    responses.forEach(operation::putResponse);
-
-                    // according to the specification at least one response is required
-                    if (operation.getResponses() == null || operation.getResponses().isEmpty()) {
-                    	logUtils.logError("No response status defined for operation: %s", operation.getOperationId());
-                        Response response = new Response();
-                        response.setDescription("");
-                        operation.putDefaultResponse(response);
-                    }
+                String cleanedPath = path;
+                List<String> removals = pathParameters
+                        .stream()
+                        .map(Parameter::getSchema)
+                        .map(Schema::getPattern)
+                        .filter(Objects::nonNull)
+                        .collect(toList());
+
+                for (String string : removals) {
+                    cleanedPath = cleanedPath.replace(":" + string, "");
+                }
 
-					getTags(javaDoc, openApiAnnotation).forEach(operation::addTag);
-					operation.setSecurity(getSecurityInformation(executableElement, openApi, javaDoc, openApiAnnotation));
+                for (RequestMethod requestMethod : requestMethods) {
+                    Operation operation = operationPipeline.deriveOperation(operationTemplate, operationId, pathParameters);
 
                     PathItemObject pathItemObject = new PathItemObject();
                     switch (requestMethod) {
@@ -413,4 +292,55 @@ public class SpringWebOpenApiProcessor extends OpenAPIProcessor {
         }
     }
 
+	private Operation createOperationTemplate(final ExecutableElement executableElement, final JavaDoc javaDoc,
+		final com.github.chhorz.openapi.common.annotation.OpenAPI openApiAnnotation, final RequestMapping requestMapping,
+		final OperationParameters operationParameters) {
+		Operation operation = operationPipeline.createOperation(executableElement, javaDoc, getOperationId(executableElement));
+
+		List<Parameter> parameters = new ArrayList<>(operationPipeline.createParameters(operationParameters, ParameterKind.QUERY, null, javaDoc));
+		parameters.addAll(operationPipeline.createParameters(operationParameters, ParameterKind.HEADER, null, javaDoc));
+		parameters.addAll(operationPipeline.createPageableParameters(operationParameters));
+		operation.addParameterObjects(parameters);
+
+		operationPipeline.addRequestBody(operation, operationParameters, javaDoc, requestMapping.consumes(),
+			openApi.getComponents());
+
+		String returnTag = operationPipeline.getReturnDescription(javaDoc);
+
+		// use return type of method as default response
+		TypeMirror returnType = processingUtils.removeEnclosingType(executableElement.getReturnType(), ResponseEntity.class)[0];
+		Map<TypeMirror, Schema> schemaMap = schemaUtils.createTypeMirrorSchemaMap(returnType);
+
+		Map<TypeMirror, Schema> combinedMap = new HashMap<>(schemaMap);
+		combinedMap.putAll(exceptionHandlerSchemaMap);
+		combinedMap.putAll(schemaUtils.createSchemasFromDocComment(javaDoc));
+		Map<String, Response> responses = responseUtils.initializeFromJavadoc(javaDoc, openApiAnnotation,
+			requestMapping.produces(), returnTag, combinedMap);
+
+		if (defaultExceptionHandlerReturntype != null && !responses.isEmpty()) {
+			// use return type of ExceptionHandler as default response
+			Schema exceptionSchema = exceptionHandlerSchemaMap.get(defaultExceptionHandlerReturntype);
+			operation.putDefaultResponse(operationPipeline.createResponse(defaultExceptionHandlerReturntype,
+				exceptionSchema, requestMapping.produces(), returnTag, schemaMap));
+		} else {
+			Schema schema = schemaMap.get(returnType);
+			if (schema != null && responses.isEmpty()) {
+				operation.putDefaultResponse(operationPipeline.createResponse(returnType, schema,
+					requestMapping.produces(), returnTag, schemaMap));
+			}
+		}
+
+		operationPipeline.addComponentSchemas(openApi.getComponents(), combinedMap);
+
+		responses.forEach(operation::putResponse);
+
+		// according to the specification at least one response is required
+		operationPipeline.ensureResponse(operation);
+
+		getTags(javaDoc, openApiAnnotation).forEach(operation::addTag);
+		operation.setSecurity(getSecurityInformation(executableElement, openApi, javaDoc, openApiAnnotation));
+
+		return operation;
+	}
+
 }
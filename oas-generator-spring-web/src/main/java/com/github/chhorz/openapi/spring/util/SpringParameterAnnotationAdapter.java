@@ -0,0 +1,170 @@
+/**
+ *
+ *    Copyright 2018-2020 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.spring.util;
+
+import com.github.chhorz.openapi.common.OpenAPIProcessor;
+import com.github.chhorz.openapi.common.domain.Parameter;
+import com.github.chhorz.openapi.common.domain.Schema;
+import com.github.chhorz.openapi.common.operation.ParameterAnnotationAdapter;
+import com.github.chhorz.openapi.common.operation.ParameterBinding;
+import com.github.chhorz.openapi.common.operation.ParameterKind;
+import com.github.chhorz.openapi.common.util.ProcessingContext;
+import com.github.chhorz.openapi.common.util.ProcessingUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Classifies the parameters of Spring Web handler methods.
+ *
+ * @author chhorz
+ */
+public class SpringParameterAnnotationAdapter implements ParameterAnnotationAdapter {
+
+	private static final String PATH_VARIABLE = PathVariable.class.getName();
+	private static final String REQUEST_PARAM = RequestParam.class.getName();
+	private static final String REQUEST_HEADER = RequestHeader.class.getName();
+	private static final String REQUEST_BODY = RequestBody.class.getName();
+	private static final String DEPRECATED = Deprecated.class.getName();
+
+	private final ProcessingUtils processingUtils;
+	private final AliasUtils aliasUtils;
+	private final boolean pageableAvailable;
+
+	public SpringParameterAnnotationAdapter(final ProcessingContext processingContext, final AliasUtils aliasUtils) {
+		this.processingUtils = processingContext.getProcessingUtils();
+		this.aliasUtils = aliasUtils;
+		this.pageableAvailable = OpenAPIProcessor.isClassAvailable("org.springframework.data.domain.Pageable");
+	}
+
+	@Override
+	public Optional<ParameterBinding> bind(final VariableElement variableElement) {
+		String annotation = null;
+		boolean deprecated = false;
+		for (AnnotationMirror annotationMirror : variableElement.getAnnotationMirrors()) {
+			String annotationName = ((TypeElement) annotationMirror.getAnnotationType().asElement()).getQualifiedName().toString();
+			if (DEPRECATED.equals(annotationName)) {
+				deprecated = true;
+			} else if (annotation == null && (PATH_VARIABLE.equals(annotationName) || REQUEST_PARAM.equals(annotationName)
+				|| REQUEST_HEADER.equals(annotationName) || REQUEST_BODY.equals(annotationName))) {
+				annotation = annotationName;
+			}
+		}
+
+		final String defaultName = variableElement.getSimpleName().toString();
+		if (PATH_VARIABLE.equals(annotation)) {
+			PathVariable pathVariable = variableElement.getAnnotation(PathVariable.class);
+			return Optional.of(new ParameterBinding(variableElement, ParameterKind.PATH,
+				aliasUtils.getValue(pathVariable, PathVariable::name, PathVariable::value, defaultName),
+				pathVariable.required() && !isOptional(variableElement), Boolean.FALSE, null, deprecated));
+		} else if (REQUEST_PARAM.equals(annotation)) {
+			RequestParam requestParam = variableElement.getAnnotation(RequestParam.class);
+			String defaultValue = getDefaultValue(requestParam.defaultValue());
+			return Optional.of(new ParameterBinding(variableElement, ParameterKind.QUERY,
+				aliasUtils.getValue(requestParam, RequestParam::name, RequestParam::value, defaultName),
+				requestParam.required() && !isOptional(variableElement), defaultValue != null, defaultValue, deprecated));
+		} else if (REQUEST_HEADER.equals(annotation)) {
+			// TODO handle MultiValueMap
+			RequestHeader requestHeader = variableElement.getAnnotation(RequestHeader.class);
+			String defaultValue = getDefaultValue(requestHeader.defaultValue());
+			return Optional.of(new ParameterBinding(variableElement, ParameterKind.HEADER,
+				aliasUtils.getValue(requestHeader, RequestHeader::name, RequestHeader::value, defaultName),
+				requestHeader.required() && !isOptional(variableElement), defaultValue != null, defaultValue, deprecated));
+		} else if (REQUEST_BODY.equals(annotation)) {
+			RequestBody requestBody = variableElement.getAnnotation(RequestBody.class);
+			return Optional.of(new ParameterBinding(variableElement, ParameterKind.BODY, defaultName,
+				requestBody.required() && !isOptional(variableElement), null, null, deprecated));
+		}
+		return Optional.empty();
+	}
+
+	@Override
+	public boolean isPageable(final VariableElement variableElement) {
+		return pageableAvailable && processingUtils.isAssignableTo(variableElement.asType(), Pageable.class);
+	}
+
+	@Override
+	public Optional<String> getPathPattern(final String path, final String name) {
+		Pattern pathVariablePattern = Pattern.compile(".*\\{" + name + ":([^{}]+)}.*");
+		Matcher pathVariableMatcher = pathVariablePattern.matcher(path);
+		if (pathVariableMatcher.matches()) {
+			return Optional.ofNullable(pathVariableMatcher.group(1));
+		} else {
+			return Optional.empty();
+		}
+	}
+
+	@Override
+	public List<Parameter> createPageableParameters() {
+		Schema primitiveIntSchema = new Schema();
+		primitiveIntSchema.setType(Schema.Type.INTEGER);
+		primitiveIntSchema.setFormat(Schema.Format.INT32);
+
+		Schema stringSchema = new Schema();
+		stringSchema.setType(Schema.Type.STRING);
+
+		// see PageableHandlerMethodArgumentResolverSupport.java
+		Parameter sizeParameter = new Parameter();
+		sizeParameter.setIn(Parameter.In.QUERY);
+		sizeParameter.setDescription("Requested page size");
+		sizeParameter.setName("size");
+		sizeParameter.setRequired(false);
+		sizeParameter.setDeprecated(false);
+		sizeParameter.setSchema(primitiveIntSchema);
+
+		Parameter pageParameter = new Parameter();
+		pageParameter.setIn(Parameter.In.QUERY);
+		pageParameter.setDescription("Requested page number");
+		pageParameter.setName("page");
+		pageParameter.setRequired(false);
+		pageParameter.setDeprecated(false);
+		pageParameter.setSchema(primitiveIntSchema);
+
+		// see SortHandlerMethodArgumentResolverSupport.java
+		Parameter sortParameter = new Parameter();
+		sortParameter.setIn(Parameter.In.QUERY);
+		sortParameter.setDescription("Requested sort attribute and order");
+		sortParameter.setName("sort");
+		sortParameter.setRequired(false);
+		sortParameter.setDeprecated(false);
+		sortParameter.setSchema(stringSchema);
+
+		return asList(sizeParameter, pageParameter, sortParameter);
+	}
+
+	private boolean isOptional(final VariableElement variableElement) {
+		return processingUtils.isAssignableTo(variableElement.asType(), Optional.class);
+	}
+
+	private String getDefaultValue(final String defaultValue) {
+		return ValueConstants.DEFAULT_NONE.equals(defaultValue) ? null : defaultValue;
+	}
+
+}
@@ -0,0 +1,94 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.spring.test;
+
+import com.github.chhorz.openapi.common.domain.Tag;
+import com.github.chhorz.openapi.common.test.AbstractProcessorTest;
+import com.github.chhorz.openapi.spring.SpringWebOpenApiProcessor;
+import com.github.chhorz.openapi.spring.test.github.controller.GitHubIssue051;
+import com.github.chhorz.openapi.spring.test.github.resources.Resource;
+import com.jayway.jsonpath.DocumentContext;
+import org.junit.jupiter.api.Test;
+
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests that the generation is only completed in the last processing round.
+ *
+ * @author chhorz
+ */
+class DeferredGenerationTest extends AbstractProcessorTest {
+
+	@Test
+	void testCompleteGenerationInLastRound() {
+		// given
+		RecordingProcessor processor = new RecordingProcessor();
+
+		// when
+		testCompilation(processor, createConfigFileOption("oas-generator-deferred.yml"), GitHubIssue051.class, Resource.class);
+
+		// then
+		assertThat(processor.rounds)
+			.extracting(Round::processingOver, Round::paths, Round::tags)
+			.containsExactly(tuple(false, 2, 0),
+				tuple(true, 2, 2));
+		assertThat(processor.completions).containsExactly(true);
+
+		DocumentContext documentContext = createJsonPathDocumentContext("target/oas-deferred/openapi.json");
+		assertThat(documentContext.read("$.tags[*].name", List.class))
+			.containsExactly("another_test", "test");
+	}
+
+	private record Round(boolean processingOver, int paths, int tags) {
+	}
+
+	/**
+	 * Records the state of the OpenAPI object after each round and the rounds in which the generation was completed.
+	 */
+	private static final class RecordingProcessor extends SpringWebOpenApiProcessor {
+
+		private final List<Round> rounds = new ArrayList<>();
+		private final List<Boolean> completions = new ArrayList<>();
+
+		private boolean processingOver;
+
+		@Override
+		public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+			processingOver = roundEnv.processingOver();
+			boolean result = super.process(annotations, roundEnv);
+
+			List<Tag> tags = openApi.getTags();
+			rounds.add(new Round(processingOver, openApi.getPaths().size(), tags != null ? tags.size() : 0));
+			return result;
+		}
+
+		@Override
+		protected void completeGeneration() {
+			completions.add(processingOver);
+			super.completeGeneration();
+		}
+
+	}
+
+}
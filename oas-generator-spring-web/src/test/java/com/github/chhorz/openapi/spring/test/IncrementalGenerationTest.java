@@ -0,0 +1,97 @@
+/**
+ *
+ *    Copyright 2018-2021 the original author or authors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *         https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.github.chhorz.openapi.spring.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.chhorz.openapi.common.test.AbstractProcessorTest;
+import com.github.chhorz.openapi.spring.SpringWebOpenApiProcessor;
+import com.github.chhorz.openapi.spring.test.controller.ArticleController;
+import com.github.chhorz.openapi.spring.test.controller.HelloWorldController;
+import com.github.chhorz.openapi.spring.test.controller.resource.Article;
+import com.jayway.jsonpath.DocumentContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the reuse of operations of types that are not presented to the processor in an incremental compilation.
+ *
+ * @author chhorz
+ */
+class IncrementalGenerationTest extends AbstractProcessorTest {
+
+	private static final String CONFIG_FILE = "oas-generator-incremental.yml";
+
+	private static final Path OUTPUT_FILE = Paths.get("target/oas-incremental/openapi.json");
+	private static final Path INDEX_FILE = Paths.get("target/oas-incremental/openapi.fingerprints.json");
+
+	@BeforeEach
+	void deletePreviousGeneration() throws IOException {
+		Files.deleteIfExists(OUTPUT_FILE);
+		Files.deleteIfExists(INDEX_FILE);
+	}
+
+	@Test
+	void testRestoreUnprocessedTypes() {
+		// given
+		testCompilation(new SpringWebOpenApiProcessor(), createConfigFileOption(CONFIG_FILE),
+			ArticleController.class, Article.class, HelloWorldController.class);
+
+		// when
+		testCompilation(new SpringWebOpenApiProcessor(), createConfigFileOption(CONFIG_FILE), HelloWorldController.class);
+
+		// then
+		assertThat(INDEX_FILE).exists();
+
+		DocumentContext documentContext = createJsonPathDocumentContext(OUTPUT_FILE.toString());
+		assertThat(documentContext.read("$.paths", Map.class))
+			.containsOnlyKeys("/articles", "/articles/{id}", "/hello");
+		assertThat(documentContext.read("$.paths['/articles/{id}'].get.operationId", String.class))
+			.isEqualTo("ArticleController#getArticle");
+		assertThat(documentContext.read("$.components.schemas", Map.class))
+			.containsKey("Article");
+	}
+
+	@Test
+	void testRemoveTypesWithChangedSignature() throws IOException {
+		// given
+		testCompilation(new SpringWebOpenApiProcessor(), createConfigFileOption(CONFIG_FILE),
+			ArticleController.class, Article.class, HelloWorldController.class);
+
+		ObjectMapper objectMapper = new ObjectMapper();
+		ObjectNode index = (ObjectNode) objectMapper.readTree(INDEX_FILE.toFile());
+		((ObjectNode) index.path("types").path(ArticleController.class.getName())).put("signature", "changed");
+		objectMapper.writeValue(INDEX_FILE.toFile(), index);
+
+		// when
+		testCompilation(new SpringWebOpenApiProcessor(), createConfigFileOption(CONFIG_FILE), HelloWorldController.class);
+
+		// then
+		DocumentContext documentContext = createJsonPathDocumentContext(OUTPUT_FILE.toString());
+		assertThat(documentContext.read("$.paths", Map.class))
+			.containsOnlyKeys("/hello");
+	}
+
+}